@@ -37,8 +37,17 @@ project.afterEvaluate {
             create<MavenPublication>("libraryProject") {
                 groupId = "com.github.iamgerryshom"
                 artifactId = "CheckersBoardView"
-                version = "local-version-2.1.7"
+                version = "local-version-3.0.0"
                 artifact(layout.buildDirectory.file("outputs/aar/${project.name}-release.aar"))
+
+                // the aar is added by hand so the engine it is built on has to be listed by hand too
+                pom.withXml {
+                    val dependency = asNode().appendNode("dependencies").appendNode("dependency")
+                    dependency.appendNode("groupId", "com.github.iamgerryshom")
+                    dependency.appendNode("artifactId", "CheckersEngine")
+                    dependency.appendNode("version", version)
+                    dependency.appendNode("scope", "compile")
+                }
             }
         }
         repositories {
@@ -56,10 +65,16 @@ project.afterEvaluate {
     tasks.named("publishLibraryProjectPublicationToMavenRepository") {
         dependsOn(tasks.named("bundleReleaseAar"))
     }
+    tasks.named("publishLibraryProjectPublicationToMavenLocal") {
+        dependsOn(tasks.named("bundleReleaseAar"))
+    }
 }
 
 dependencies {
 
+    // the public api of the view hands out engine types
+    api(project(":CheckersEngine"))
+
     implementation ("com.squareup.retrofit2:converter-gson:2.5.0")
 
     implementation(libs.appcompat)
@@ -1,33 +1,100 @@
 package com.gerryshom.checkersboardview.ai.algorithm;
 
-import android.os.Handler;
-import android.os.Looper;
-
-import com.gerryshom.checkersboardview.ai.model.GameTree;
+import com.gerryshom.checkersboardview.ai.book.OpeningBook;
+import com.gerryshom.checkersboardview.ai.engine.EngineService;
+import com.gerryshom.checkersboardview.ai.engine.SearchHandle;
+import com.gerryshom.checkersboardview.ai.model.SearchStatistics;
+import com.gerryshom.checkersboardview.ai.table.TranspositionTable;
 import com.gerryshom.checkersboardview.board.model.CheckersBoard;
 import com.gerryshom.checkersboardview.movement.model.MoveSequence;
 
-import java.util.concurrent.Executors;
-
 public class MiniMax {
 
+    /**
+     * engine used by the static searches. kept for the whole process so positions searched on earlier turns are remembered
+     */
+    private static final EngineService engineService = new EngineService();
+
+    /**
+     * called on the main thread with the move the computer plays.
+     * not called when the search is cancelled or the computer has no move
+     */
     public interface SearchListener {
         void onComplete(final MoveSequence moveSequence);
+
+        /**
+         * the same as onComplete with how hard the engine worked for the move. the engine calls this one,
+         * by default it forwards to onComplete
+         */
+        default void onComplete(final MoveSequence moveSequence, final SearchStatistics statistics) {
+            onComplete(moveSequence);
+        }
+
+        /**
+         * called on the main thread every time a search with a time budget completes a depth
+         * @param statistics counts of every depth completed so far
+         */
+        default void onProgress(final SearchStatistics statistics) {
+        }
     }
 
-    public static void searchOptimalMoveSequence(final CheckersBoard originalCheckersBoard, final int depth, final SearchListener listener) {
+    public static SearchHandle searchOptimalMoveSequence(final CheckersBoard originalCheckersBoard, final int depth, final SearchListener listener) {
+        return engineService.searchOptimalMoveSequence(originalCheckersBoard, depth, listener);
+    }
 
-        Executors.newSingleThreadExecutor().execute(()->{
-            final CheckersBoard clonedCheckersBoard = originalCheckersBoard.deepClone();
+    /**
+     * @param transpositionTable table used by the search instead of the shared one
+     */
+    public static SearchHandle searchOptimalMoveSequence(final CheckersBoard originalCheckersBoard, final int depth,
+                                                         final TranspositionTable transpositionTable, final SearchListener listener) {
+        return engineService.searchOptimalMoveSequence(originalCheckersBoard, depth, transpositionTable, listener);
+    }
 
-            new Handler(Looper.getMainLooper()).post(
-                    ()->listener.onComplete(
-                            new GameTree(clonedCheckersBoard, depth).build().getOptimalNode().getMoveSequence()
-                    )
-            );
-        });
+    /**
+     * searches deeper and deeper until the think time derived from the board's GameFlowRule runs out
+     */
+    public static SearchHandle searchOptimalMoveSequence(final CheckersBoard originalCheckersBoard, final SearchListener listener) {
+        return searchOptimalMoveSequenceWithinBudget(
+                originalCheckersBoard, IterativeDeepening.budgetMillisFor(originalCheckersBoard.getGameFlowRule()), listener
+        );
+    }
 
+    /**
+     * searches deeper and deeper until the budget runs out and plays the best move of the deepest completed depth
+     * @param budgetMillis wall clock time the search may take
+     */
+    public static SearchHandle searchOptimalMoveSequenceWithinBudget(final CheckersBoard originalCheckersBoard, final long budgetMillis,
+                                                                     final SearchListener listener) {
+        return engineService.searchOptimalMoveSequenceWithinBudget(originalCheckersBoard, budgetMillis, listener);
     }
 
+    /**
+     * sets how many threads a search is split over. 1 searches on a single thread
+     */
+    public static void setWorkerCount(final int workerCount) {
+        engineService.setWorkerCount(workerCount);
+    }
+
+    public static int getWorkerCount() {
+        return engineService.getWorkerCount();
+    }
+
+    /**
+     * book the searches play from before they build a game tree. null always searches
+     */
+    public static void setOpeningBook(final OpeningBook openingBook) {
+        engineService.setOpeningBook(openingBook);
+    }
+
+    public static OpeningBook getOpeningBook() {
+        return engineService.getOpeningBook();
+    }
+
+    /**
+     * engine the static searches run on
+     */
+    public static EngineService getEngineService() {
+        return engineService;
+    }
 
 }
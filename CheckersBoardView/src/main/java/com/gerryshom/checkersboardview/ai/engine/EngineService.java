@@ -0,0 +1,537 @@
+package com.gerryshom.checkersboardview.ai.engine;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+
+import com.gerryshom.checkersboardview.ai.algorithm.IterativeDeepening;
+import com.gerryshom.checkersboardview.ai.algorithm.MiniMax;
+import com.gerryshom.checkersboardview.ai.book.OpeningBook;
+import com.gerryshom.checkersboardview.ai.enums.SearchMode;
+import com.gerryshom.checkersboardview.ai.enums.TreeRetention;
+import com.gerryshom.checkersboardview.ai.heuristic.DefaultEvaluator;
+import com.gerryshom.checkersboardview.ai.heuristic.Evaluator;
+import com.gerryshom.checkersboardview.ai.model.GameTree;
+import com.gerryshom.checkersboardview.ai.model.Node;
+import com.gerryshom.checkersboardview.ai.model.SearchStatistics;
+import com.gerryshom.checkersboardview.ai.table.TranspositionEntry;
+import com.gerryshom.checkersboardview.ai.table.TranspositionTable;
+import com.gerryshom.checkersboardview.ai.tablebase.Tablebase;
+import com.gerryshom.checkersboardview.board.model.BitBoard;
+import com.gerryshom.checkersboardview.board.model.CheckersBoard;
+import com.gerryshom.checkersboardview.movement.model.BitMove;
+import com.gerryshom.checkersboardview.movement.model.MoveList;
+import com.gerryshom.checkersboardview.movement.model.MoveSequence;
+import com.gerryshom.checkersboardview.player.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * owns the threads the computer thinks on.
+ * searches run one at a time on a single search thread which splits them over a ForkJoinPool of workers.
+ * every thread runs at background priority so the ui thread keeps drawing smoothly while the computer thinks.
+ *
+ * with pondering enabled the engine keeps searching during the other player's turn, assuming they play the reply
+ * the search expected. if they do, that work is reused, otherwise it is thrown away.
+ *
+ * the threads are created by start (or by the first search) and released by stop.
+ * the transposition table survives a stop so a restarted engine still remembers earlier turns.
+ * shutdown releases everything for good
+ */
+public class EngineService {
+
+    /**
+     * one core is left for the ui thread
+     */
+    public static final int DEFAULT_WORKER_COUNT = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+    public static final long DEFAULT_MAX_PONDER_MILLIS = 10_000;
+
+    private static final ThreadFactory SEARCH_THREAD_FACTORY = runnable -> {
+        final Thread thread = new Thread(() -> {
+            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+            runnable.run();
+        }, "checkers-search");
+        thread.setDaemon(true);
+        return thread;
+    };
+
+    private final TranspositionTable transpositionTable;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    // read by the search thread when a search starts
+    private volatile Tablebase tablebase;
+    private volatile OpeningBook openingBook;
+    private volatile Evaluator evaluator = DefaultEvaluator.getInstance();
+    // the engine only reads the optimal node and the reply after it
+    private volatile TreeRetention treeRetention = TreeRetention.PRINCIPAL_VARIATION;
+    private final Random random = new Random();
+
+    private int workerCount = DEFAULT_WORKER_COUNT;
+    private ExecutorService searchExecutor;
+    private ForkJoinPool forkJoinPool;
+    private boolean shutdown;
+
+    // cancelled by stop so searches started before it never call back
+    private final List<SearchHandle> runningSearchHandles = new ArrayList<>();
+
+    private boolean ponderingEnabled;
+    private long maxPonderMillis = DEFAULT_MAX_PONDER_MILLIS;
+    private PonderSearch ponderSearch;
+
+    public EngineService() {
+        this(new TranspositionTable());
+    }
+
+    /**
+     * @param transpositionTable table kept between the searches of this engine
+     */
+    public EngineService(final TranspositionTable transpositionTable) {
+        this.transpositionTable = transpositionTable;
+    }
+
+    /**
+     * creates the search threads. does nothing if they are already running
+     */
+    public synchronized void start() {
+        if(shutdown) throw new RuntimeException("EngineService has been shut down");
+        if(searchExecutor != null) return;
+
+        searchExecutor = Executors.newSingleThreadExecutor(SEARCH_THREAD_FACTORY);
+        if(workerCount > 1) {
+            forkJoinPool = new ForkJoinPool(workerCount, BackgroundWorkerThread::new, null, false);
+        }
+    }
+
+    /**
+     * releases the search threads. a search that is still running is abandoned and never calls back.
+     * the engine can be started again
+     */
+    public synchronized void stop() {
+        for(SearchHandle searchHandle : runningSearchHandles) searchHandle.cancel();
+        runningSearchHandles.clear();
+        ponderSearch = null;
+
+        if(searchExecutor != null) {
+            searchExecutor.shutdownNow();
+            searchExecutor = null;
+        }
+        if(forkJoinPool != null) {
+            forkJoinPool.shutdownNow();
+            forkJoinPool = null;
+        }
+    }
+
+    /**
+     * stops the engine and forgets everything it learned. the engine cannot be started again
+     */
+    public synchronized void shutdown() {
+        stop();
+        shutdown = true;
+        transpositionTable.clear();
+    }
+
+    public synchronized boolean isRunning() {
+        return searchExecutor != null;
+    }
+
+    public synchronized boolean isShutdown() {
+        return shutdown;
+    }
+
+    /**
+     * sets how many threads a search is split over. 1 searches on the search thread alone
+     * @param workerCount number of threads. a running engine is restarted, cancelling the search it is running
+     */
+    public synchronized void setWorkerCount(final int workerCount) {
+        if(workerCount < 1) throw new IllegalArgumentException("workerCount must be at least 1");
+        if(workerCount == this.workerCount) return;
+
+        this.workerCount = workerCount;
+        if(isRunning()) {
+            stop();
+            start();
+        }
+    }
+
+    public synchronized int getWorkerCount() {
+        return workerCount;
+    }
+
+    public TranspositionTable getTranspositionTable() {
+        return transpositionTable;
+    }
+
+    public Tablebase getTablebase() {
+        return tablebase;
+    }
+
+    /**
+     * endgame tables the searches look positions with few pieces up in. null searches them like any other position
+     */
+    public void setTablebase(final Tablebase tablebase) {
+        this.tablebase = tablebase;
+    }
+
+    public Evaluator getEvaluator() {
+        return evaluator;
+    }
+
+    /**
+     * replaces the evaluator the searches score positions with. the transposition table is cleared
+     * since the scores it remembers were given by the old evaluator
+     */
+    public void setEvaluator(final Evaluator evaluator) {
+        if(evaluator == this.evaluator) return;
+        this.evaluator = evaluator;
+        transpositionTable.clear();
+    }
+
+    public TreeRetention getTreeRetention() {
+        return treeRetention;
+    }
+
+    /**
+     * which of the searched nodes the trees of the engine keep. FULL keeps every node until the tree is dropped
+     */
+    public void setTreeRetention(final TreeRetention treeRetention) {
+        this.treeRetention = treeRetention;
+    }
+
+    public OpeningBook getOpeningBook() {
+        return openingBook;
+    }
+
+    /**
+     * book the searches play from while the game is still in a position it knows. null always searches
+     */
+    public void setOpeningBook(final OpeningBook openingBook) {
+        this.openingBook = openingBook;
+    }
+
+    /**
+     * searches the board to a fixed depth and hands the best move to the listener on the main thread
+     * @return handle that cancels the search
+     */
+    public SearchHandle searchOptimalMoveSequence(final CheckersBoard originalCheckersBoard, final int depth,
+                                                  final MiniMax.SearchListener listener) {
+        return searchOptimalMoveSequence(originalCheckersBoard, depth, transpositionTable, listener);
+    }
+
+    /**
+     * @param transpositionTable table used instead of the one of the engine
+     * @return handle that cancels the search
+     */
+    public SearchHandle searchOptimalMoveSequence(final CheckersBoard originalCheckersBoard, final int depth,
+                                                  final TranspositionTable transpositionTable, final MiniMax.SearchListener listener) {
+        stopPondering();
+
+        return submit(originalCheckersBoard, (checkersBoard, forkJoinPool, searchHandle) -> {
+            transpositionTable.newSearch();
+            return new GameTree(checkersBoard, depth, SearchMode.MAKE_UNMAKE)
+                    .setTranspositionTable(transpositionTable)
+                    .setForkJoinPool(forkJoinPool)
+                    .setSearchHandle(searchHandle)
+                    .setTablebase(tablebase)
+                    .setEvaluator(evaluator)
+                    .setTreeRetention(treeRetention)
+                    .build();
+        }, listener);
+    }
+
+    /**
+     * searches deeper and deeper until the budget runs out and hands the best move to the listener on the main thread.
+     * when the board is the position the engine has been pondering, the time already spent pondering counts towards the budget
+     * @param budgetMillis wall clock time the search may take
+     * @return handle that cancels the search
+     */
+    public SearchHandle searchOptimalMoveSequenceWithinBudget(final CheckersBoard originalCheckersBoard, final long budgetMillis,
+                                                              final MiniMax.SearchListener listener) {
+        final PonderSearch ponderSearch = takePonderSearch();
+
+        if(ponderSearch == null || !ponderSearch.position.isSamePosition(originalCheckersBoard.toBitBoard(Player.computer().getId()))) {
+            return submit(originalCheckersBoard, (checkersBoard, forkJoinPool, searchHandle) ->
+                    searchWithinBudget(checkersBoard, budgetMillis, forkJoinPool, searchHandle, listener), listener);
+        }
+
+        // the other player made the expected move
+        final long remainingMillis = budgetMillis - ponderSearch.getElapsedMillis();
+
+        return submit(originalCheckersBoard, (checkersBoard, forkJoinPool, searchHandle) -> {
+            // runs after the ponder search has stopped since they share the search thread
+            final GameTree ponderedGameTree = ponderSearch.iterativeDeepening.getCompletedGameTree();
+
+            if(remainingMillis <= 0 && ponderedGameTree != null && ponderedGameTree.getOptimalNode() != null) {
+                final Node optimalNode = ponderedGameTree.getOptimalNode();
+                optimalNode.setMoveSequence(BitMove.toMoveSequence(optimalNode.getMove(), ponderSearch.position, checkersBoard));
+                return ponderedGameTree;
+            }
+
+            // the table still holds everything pondering searched so the early depths are almost free
+            return searchWithinBudget(checkersBoard, remainingMillis > 0 ? remainingMillis : budgetMillis,
+                    forkJoinPool, searchHandle, listener);
+        }, listener);
+    }
+
+    /**
+     * iterative deepening search that reports every completed depth to the listener on the main thread
+     */
+    private GameTree searchWithinBudget(final CheckersBoard checkersBoard, final long budgetMillis,
+                                        final ForkJoinPool forkJoinPool, final SearchHandle searchHandle,
+                                        final MiniMax.SearchListener listener) {
+        return new IterativeDeepening(checkersBoard, budgetMillis)
+                .setTranspositionTable(transpositionTable)
+                .setForkJoinPool(forkJoinPool)
+                .setSearchHandle(searchHandle)
+                .setTablebase(tablebase)
+                .setEvaluator(evaluator)
+                .setTreeRetention(treeRetention)
+                .setProgressListener(statistics -> mainHandler.post(() -> {
+                    if(!searchHandle.isCancelled()) listener.onProgress(statistics);
+                }))
+                .search();
+    }
+
+    /**
+     * runs the search on the search thread. a position the opening book knows is not searched at all.
+     * the listener is not called if the search is cancelled, the engine is stopped or the computer has no move to play.
+     * once a searched move is delivered the engine starts pondering if it is enabled
+     */
+    private SearchHandle submit(final CheckersBoard originalCheckersBoard, final Search search, final MiniMax.SearchListener listener) {
+        // cloned on the calling thread so the ui can keep changing the original
+        final CheckersBoard clonedCheckersBoard = originalCheckersBoard.deepClone();
+        final SearchHandle searchHandle = new SearchHandle();
+
+        synchronized (this) {
+            start();
+
+            final ForkJoinPool forkJoinPool = this.forkJoinPool;
+            runningSearchHandles.add(searchHandle);
+
+            searchExecutor.execute(() -> {
+                final long start = System.nanoTime();
+                GameTree gameTree = null;
+                MoveSequence moveSequence = null;
+                try {
+                    if(!searchHandle.isCancelled()) moveSequence = findBookMoveSequence(clonedCheckersBoard);
+                    if(moveSequence == null && !searchHandle.isCancelled()) {
+                        gameTree = search.run(clonedCheckersBoard, forkJoinPool, searchHandle);
+                        moveSequence = optimalMoveSequenceOf(gameTree);
+                    }
+                } catch (CancellationException | RejectedExecutionException e) {
+                    // the workers were released by stop
+                    if(!searchHandle.isCancelled()) throw e;
+                } finally {
+                    removeRunningSearchHandle(searchHandle);
+                }
+
+                if(moveSequence == null || searchHandle.isCancelled()) return;
+
+                final BitBoard ponderPosition = isPonderingEnabled() && gameTree != null
+                        ? predictPonderPosition(gameTree, clonedCheckersBoard.toBitBoard(Player.computer().getId()))
+                        : null;
+
+                final SearchStatistics statistics;
+                if(gameTree != null) {
+                    statistics = gameTree.getStatistics();
+                } else {
+                    statistics = new SearchStatistics();
+                    statistics.setBookMove(true);
+                    statistics.setElapsedNanos(System.nanoTime() - start);
+                }
+
+                final MoveSequence playedMoveSequence = moveSequence;
+                mainHandler.post(() -> {
+                    // checked again on the main thread where cancel is called
+                    if(!searchHandle.complete()) return;
+                    listener.onComplete(playedMoveSequence, statistics);
+
+                    if(ponderPosition != null) startPondering(ponderPosition);
+                });
+            });
+        }
+
+        return searchHandle;
+    }
+
+    private synchronized void removeRunningSearchHandle(final SearchHandle searchHandle) {
+        runningSearchHandles.remove(searchHandle);
+    }
+
+    /**
+     * @return a move the opening book has for the computer or null if the book does not know the position
+     */
+    private MoveSequence findBookMoveSequence(final CheckersBoard checkersBoard) {
+        final OpeningBook openingBook = this.openingBook;
+        if(openingBook == null) return null;
+
+        final BitBoard position = checkersBoard.toBitBoard(Player.computer().getId());
+        final long move = openingBook.probe(position, random);
+
+        return move == 0 ? null : BitMove.toMoveSequence(move, position, checkersBoard);
+    }
+
+    /**
+     * @return the move sequence of the optimal node or null if the search was cancelled or there was no move
+     */
+    private static MoveSequence optimalMoveSequenceOf(final GameTree gameTree) {
+        if(gameTree == null || !gameTree.isComplete() || gameTree.getOptimalNode() == null) return null;
+        return gameTree.getOptimalNode().getMoveSequence();
+    }
+
+    /**
+     * plays the computer's move and the reply the search expects from the other player.
+     * the reply is the best move of the computer's optimal node, or the move the table remembers when that node was cut short
+     * @param rootPosition position the game tree was searched from
+     * @return the position the computer expects to move in next or null if there is no expected reply
+     */
+    private BitBoard predictPonderPosition(final GameTree gameTree, final BitBoard rootPosition) {
+        final Node optimalNode = gameTree.getOptimalNode();
+
+        final BitBoard position = new BitBoard(rootPosition);
+        position.makeMove(optimalNode.getMove());
+
+        long reply = optimalNode.getOptimalNode() != null ? optimalNode.getOptimalNode().getMove() : 0;
+
+        final TranspositionEntry entry = new TranspositionEntry();
+        if(reply == 0 && transpositionTable.probe(position.getHash(), entry)) reply = entry.getMove();
+
+        if(reply == 0) return null;
+
+        // a table move can come from another position with the same key
+        final MoveList moveList = new MoveList();
+        position.generateMoves(moveList);
+
+        for(int i = 0; i < moveList.size(); i++) {
+            if(moveList.get(i) == reply) {
+                position.makeMove(reply);
+                return position;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * searches the expected position on the search thread until the other player moves,
+     * the ponder time runs out or pondering is stopped
+     */
+    private synchronized void startPondering(final BitBoard position) {
+        if(!ponderingEnabled || searchExecutor == null) return;
+
+        stopPondering();
+
+        final PonderSearch ponderSearch = new PonderSearch(position, new IterativeDeepening(position, maxPonderMillis)
+                .setTranspositionTable(transpositionTable)
+                .setForkJoinPool(forkJoinPool)
+                .setTablebase(tablebase)
+                .setEvaluator(evaluator)
+                .setTreeRetention(treeRetention));
+        ponderSearch.iterativeDeepening.setSearchHandle(ponderSearch.searchHandle);
+
+        this.ponderSearch = ponderSearch;
+        runningSearchHandles.add(ponderSearch.searchHandle);
+
+        searchExecutor.execute(() -> {
+            try {
+                if(!ponderSearch.searchHandle.isCancelled()) ponderSearch.iterativeDeepening.search();
+            } catch (CancellationException | RejectedExecutionException e) {
+                if(!ponderSearch.searchHandle.isCancelled()) throw e;
+            } finally {
+                removeRunningSearchHandle(ponderSearch.searchHandle);
+            }
+        });
+    }
+
+    /**
+     * stops pondering and throws its work away
+     */
+    public synchronized void stopPondering() {
+        final PonderSearch ponderSearch = takePonderSearch();
+        if(ponderSearch != null) ponderSearch.searchHandle.cancel();
+    }
+
+    /**
+     * stops pondering and hands over the ponder search so a hit can reuse it
+     */
+    private synchronized PonderSearch takePonderSearch() {
+        final PonderSearch ponderSearch = this.ponderSearch;
+        this.ponderSearch = null;
+        if(ponderSearch != null) ponderSearch.searchHandle.cancel();
+        return ponderSearch;
+    }
+
+    public synchronized boolean isPondering() {
+        return ponderSearch != null;
+    }
+
+    public synchronized boolean isPonderingEnabled() {
+        return ponderingEnabled;
+    }
+
+    /**
+     * lets the engine think about its next move while the other player thinks about theirs.
+     * costs battery since the workers stay busy during the other player's turn
+     */
+    public synchronized void setPonderingEnabled(final boolean ponderingEnabled) {
+        this.ponderingEnabled = ponderingEnabled;
+        if(!ponderingEnabled) stopPondering();
+    }
+
+    public synchronized long getMaxPonderMillis() {
+        return maxPonderMillis;
+    }
+
+    /**
+     * @param maxPonderMillis longest the engine ponders before it goes idle. 0 ponders until the other player moves
+     */
+    public synchronized void setMaxPonderMillis(final long maxPonderMillis) {
+        this.maxPonderMillis = maxPonderMillis;
+    }
+
+    private interface Search {
+        GameTree run(final CheckersBoard checkersBoard, final ForkJoinPool forkJoinPool, final SearchHandle searchHandle);
+    }
+
+    /**
+     * a search of the position the engine expects to move in next
+     */
+    private static class PonderSearch {
+        private final BitBoard position;
+        private final IterativeDeepening iterativeDeepening;
+        private final SearchHandle searchHandle = new SearchHandle();
+        private final long startNanos = System.nanoTime();
+
+        private PonderSearch(final BitBoard position, final IterativeDeepening iterativeDeepening) {
+            this.position = position;
+            this.iterativeDeepening = iterativeDeepening;
+        }
+
+        private long getElapsedMillis() {
+            return (System.nanoTime() - startNanos) / 1_000_000L;
+        }
+    }
+
+    private static class BackgroundWorkerThread extends ForkJoinWorkerThread {
+
+        private BackgroundWorkerThread(final ForkJoinPool pool) {
+            super(pool);
+            setName("checkers-search-worker-" + getPoolIndex());
+        }
+
+        @Override
+        protected void onStart() {
+            super.onStart();
+            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+        }
+    }
+}
@@ -1,18 +1,28 @@
 package com.gerryshom.checkersboardview.board.handler;
 
 import android.animation.ValueAnimator;
-import android.graphics.Point;
 import android.graphics.PointF;
 import android.os.Handler;
+import android.os.Looper;
 import android.view.animation.AccelerateDecelerateInterpolator;
 
+import com.gerryshom.checkersboardview.ai.algorithm.IterativeDeepening;
 import com.gerryshom.checkersboardview.ai.algorithm.MiniMax;
+import com.gerryshom.checkersboardview.ai.book.OpeningBook;
+import com.gerryshom.checkersboardview.ai.engine.EngineService;
+import com.gerryshom.checkersboardview.ai.engine.SearchHandle;
+import com.gerryshom.checkersboardview.ai.enums.TreeRetention;
+import com.gerryshom.checkersboardview.ai.heuristic.Evaluator;
+import com.gerryshom.checkersboardview.ai.model.SearchStatistics;
+import com.gerryshom.checkersboardview.ai.tablebase.Tablebase;
 import com.gerryshom.checkersboardview.board.model.CheckersBoard;
+import com.gerryshom.checkersboardview.board.model.RowCol;
 import com.gerryshom.checkersboardview.highlights.Highlight;
 import com.gerryshom.checkersboardview.landingSpot.LandingSpot;
 import com.gerryshom.checkersboardview.listener.move.MoveSequenceListener;
 import com.gerryshom.checkersboardview.listener.capture.PieceCapturedListener;
 import com.gerryshom.checkersboardview.listener.playerswitch.PlayerSwitchedListener;
+import com.gerryshom.checkersboardview.listener.search.SearchStatisticsListener;
 import com.gerryshom.checkersboardview.listener.win.WinListener;
 import com.gerryshom.checkersboardview.movement.model.Move;
 import com.gerryshom.checkersboardview.movement.model.MoveSequence;
@@ -23,6 +33,7 @@ import com.gerryshom.checkersboardview.rules.model.CaptureRule;
 import com.gerryshom.checkersboardview.rules.model.GameFlowRule;
 import com.gerryshom.checkersboardview.rules.model.KingPieceRule;
 import com.gerryshom.checkersboardview.rules.model.NormalPieceRule;
+import com.gerryshom.checkersboardview.sync.BoardPatch;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -32,6 +43,15 @@ public class BoardHandler {
 
     private long movementDurationMillis = 250L;
 
+    // 0 lets the computer derive its think time from the GameFlowRule
+    private long searchBudgetMillis;
+
+    private EngineService engineService = new EngineService();
+    private SearchHandle searchHandle;
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable computerMoveRunnable = this::searchComputerMove;
+
     private CheckersBoard checkersBoard;
     private final List<LandingSpot> landingSpots = new ArrayList<>();
     private final List<Highlight> highlights = new ArrayList<>();
@@ -42,6 +62,7 @@ public class BoardHandler {
     private final List<PieceCapturedListener> pieceCapturedListeners = new ArrayList<>();
     private final List<PlayerSwitchedListener> playerSwitchedListeners = new ArrayList<>();
     private final List<WinListener> winListeners = new ArrayList<>();
+    private final List<SearchStatisticsListener> searchStatisticsListeners = new ArrayList<>();
 
     private Player localPlayer;
     private Player opponentPlayer;
@@ -121,8 +142,8 @@ public class BoardHandler {
     private void handleMove(final float touchX, final float touchY) {
         if (touchedPiece == null) return;
 
-        final Point newRowCol = checkersBoard.calculateRowColByXAndY(touchX, touchY);
-        final PointF newCenterXY = checkersBoard.calculateCenterXYByRowAndCol(newRowCol.x, newRowCol.y);
+        final RowCol newRowCol = checkersBoard.calculateRowColByXAndY(touchX, touchY);
+        final PointF newCenterXY = calculateCenterXYByRowAndCol(newRowCol.x, newRowCol.y);
 
         final Move move = buildMove(
                 touchedPiece.getId(),
@@ -199,15 +220,14 @@ public class BoardHandler {
 
         moves.add(move);
 
-        touchedPiece.setRow(move.getToRow());
-        touchedPiece.setCol(move.getToCol());
+        checkersBoard.movePiece(touchedPiece, move.getToRow(), move.getToCol());
 
         final List<Piece> possibleCaptures = new ArrayList<>();
 
         if(move.isCapture()) {
 
             final Piece capturedPiece = checkersBoard.findPieceById(move.getCapturedPieceId());
-            checkersBoard.getPieces().remove(capturedPiece);
+            checkersBoard.removePiece(capturedPiece);
 
             if(!pieceCapturedListeners.isEmpty()) {
                 for(PieceCapturedListener pieceCapturedListener : pieceCapturedListeners) {
@@ -257,16 +277,7 @@ public class BoardHandler {
         }
 
         if(checkersBoard.getOpponent().getId().equals(Player.computer().getId())) {
-            new Handler().postDelayed(()->{
-
-                MiniMax.searchOptimalMoveSequence(checkersBoard, 5, new MiniMax.SearchListener() {
-                    @Override
-                    public void onComplete(MoveSequence moveSequence) {
-                        playOpponentMoveSequence(moveSequence);
-                    }
-                });
-
-            }, 350);
+            handler.postDelayed(computerMoveRunnable, 350);
         }
 
         moves.clear();
@@ -342,11 +353,118 @@ public class BoardHandler {
         this.movementDurationMillis = movementDurationMillis;
     }
 
+    private void searchComputerMove() {
+        final long budgetMillis = searchBudgetMillis > 0
+                ? searchBudgetMillis
+                : IterativeDeepening.budgetMillisFor(checkersBoard.getGameFlowRule());
+
+        searchHandle = engineService.searchOptimalMoveSequenceWithinBudget(checkersBoard, budgetMillis, new MiniMax.SearchListener() {
+            @Override
+            public void onComplete(MoveSequence moveSequence) {
+                searchHandle = null;
+                playOpponentMoveSequence(moveSequence);
+            }
+
+            @Override
+            public void onComplete(MoveSequence moveSequence, SearchStatistics statistics) {
+                for(SearchStatisticsListener searchStatisticsListener : new ArrayList<>(searchStatisticsListeners)) {
+                    searchStatisticsListener.onSearchCompleted(statistics);
+                }
+                onComplete(moveSequence);
+            }
+        });
+    }
+
+    /**
+     * stops the computer from thinking about its move. the move is never played
+     */
+    public void cancelSearch() {
+        handler.removeCallbacks(computerMoveRunnable);
+        engineService.stopPondering();
+
+        if(searchHandle != null) {
+            searchHandle.cancel();
+            searchHandle = null;
+        }
+    }
+
+    /**
+     * creates the threads the computer thinks on
+     */
+    public void startEngine() {
+        engineService.start();
+    }
+
+    /**
+     * releases the threads the computer thinks on. the next computer move starts them again
+     */
+    public void stopEngine() {
+        cancelSearch();
+        engineService.stop();
+    }
+
+    public EngineService getEngineService() {
+        return engineService;
+    }
+
+    /**
+     * replaces the engine the computer thinks on, for example to share one engine between several boards
+     */
+    public void setEngineService(final EngineService engineService) {
+        if(engineService == null) throw new RuntimeException("EngineService cannot be null");
+        cancelSearch();
+        this.engineService = engineService;
+    }
+
+    /**
+     * sets how long the computer may think about its move
+     * @param searchBudgetMillis think time in milliseconds. 0 derives it from the GameFlowRule
+     */
+    public void setSearchBudgetMillis(final long searchBudgetMillis) {
+        this.searchBudgetMillis = searchBudgetMillis;
+    }
+
+    /**
+     * lets the computer think during the local player's turn about the reply it expects
+     */
+    public void setPonderingEnabled(final boolean ponderingEnabled) {
+        engineService.setPonderingEnabled(ponderingEnabled);
+    }
+
+    /**
+     * endgame tables the computer plays positions with few pieces from
+     */
+    public void setTablebase(final Tablebase tablebase) {
+        engineService.setTablebase(tablebase);
+    }
+
+    /**
+     * scores the positions the computer searches
+     */
+    public void setEvaluator(final Evaluator evaluator) {
+        engineService.setEvaluator(evaluator);
+    }
+
+    /**
+     * which of the positions the computer searched are kept in memory while it thinks
+     */
+    public void setTreeRetention(final TreeRetention treeRetention) {
+        engineService.setTreeRetention(treeRetention);
+    }
+
+    /**
+     * book the computer plays its opening moves from instead of searching them
+     */
+    public void setOpeningBook(final OpeningBook openingBook) {
+        engineService.setOpeningBook(openingBook);
+    }
+
     public void clearListeners() {
         clearMoveSequenceListeners();
         clearWinListeners();
         clearPieceCapturedListeners();
         clearPlayerSwitchedListeners();
+        clearSearchStatisticsListeners();
     }
 
     public void clearMoveSequenceListeners() {
@@ -365,6 +483,14 @@ public class BoardHandler {
         playerSwitchedListeners.clear();
     }
 
+    public void clearSearchStatisticsListeners() {
+        searchStatisticsListeners.clear();
+    }
+
+    public void removeSearchStatisticsListener(final SearchStatisticsListener searchStatisticsListener) {
+        searchStatisticsListeners.remove(searchStatisticsListener);
+    }
+
     public void removeMoveSequenceListener(final MoveSequenceListener moveSequenceListener) {
         moveSequenceListeners.remove(moveSequenceListener);
     }
@@ -393,6 +519,42 @@ public class BoardHandler {
         recursivelyPlayOpponentMoveSequence(moveSequence, 0);
     }
 
+    /**
+     * brings the board up to date after a reconnect without setting it up again.
+     * the pieces jump to their squares without an animation and the selected piece is let go
+     * @param boardPatch patch from the version the board is at, for example one read with BinaryCodec.
+     * a RuntimeException is thrown if the board is at another version, set the whole board up again then
+     */
+    public void applyPatch(final BoardPatch boardPatch) {
+        if(checkersBoard == null) throw new RuntimeException("CheckersBoard has not been set yet");
+
+        cancelSearch();
+
+        final List<Piece> capturedPieces = boardPatch.applyTo(checkersBoard);
+
+        if(touchedPiece != null) touchedPiece.setSelected(false);
+        touchedPiece = null;
+        capturing = false;
+        moves.clear();
+        landingSpots.clear();
+        highlights.clear();
+
+        for(Piece piece : checkersBoard.getPieces()) {
+            final PointF centerXY = calculateCenterXYByRowAndCol(piece.getRow(), piece.getCol());
+            piece.setCenterX(centerXY.x);
+            piece.setCenterY(centerXY.y);
+            piece.setInCaptureChain(false);
+        }
+
+        for(Piece capturedPiece : capturedPieces) {
+            for(PieceCapturedListener pieceCapturedListener : pieceCapturedListeners) {
+                pieceCapturedListener.onPieceCaptured(capturedPiece.getPlayerId(), checkersBoard.getPieceCountByPlayerId(capturedPiece.getPlayerId()));
+            }
+        }
+
+        if(!checkersBoard.getActivePlayerId().equals(activePlayerId)) switchPlayers(checkersBoard.getActivePlayerId());
+    }
+
     private void recursivelyPlayOpponentMoveSequence(final MoveSequence moveSequence, final int start) {
 
         if(start > moveSequence.getMoves().size() - 1) return;
@@ -402,18 +564,17 @@ public class BoardHandler {
         final int toRow = move.getToRow();
         final int toCol = move.getToCol();
 
-        final PointF centerXY = checkersBoard.calculateCenterXYByRowAndCol(toRow, toCol);
+        final PointF centerXY = calculateCenterXYByRowAndCol(toRow, toCol);
         move.setToCenterX(centerXY.x);
         move.setToCenterY(centerXY.y);
 
         final Piece piece = checkersBoard.findPieceById(move.getPieceId());
 
-        piece.setRow(move.getToRow());
-        piece.setCol(move.getToCol());
+        checkersBoard.movePiece(piece, move.getToRow(), move.getToCol());
 
         if(move.isCapture()) {
             final Piece capturedPiece = checkersBoard.findPieceById(move.getCapturedPieceId());
-            checkersBoard.getPieces().remove(capturedPiece);
+            checkersBoard.removePiece(capturedPiece);
 
             if(!pieceCapturedListeners.isEmpty()) {
                 for(PieceCapturedListener pieceCapturedListener : pieceCapturedListeners) {
@@ -470,10 +631,10 @@ public class BoardHandler {
      */
     private boolean validateMove(final Move move) {
 
-        final Point destinationRowCol = checkersBoard.calculateRowColByXAndY(move.getToCenterX(), move.getToCenterY());
+        final RowCol destinationRowCol = checkersBoard.calculateRowColByXAndY(move.getToCenterX(), move.getToCenterY());
 
         for(LandingSpot landingSpot : landingSpots) {
-            final Point landingRowCol = landingSpot.getRowCol();
+            final RowCol landingRowCol = landingSpot.getRowCol();
             if(destinationRowCol.x == landingRowCol.x && destinationRowCol.y == landingRowCol.y) return true;
         }
 
@@ -540,8 +701,23 @@ public class BoardHandler {
      * resolves the touch co-ordinates into a perfect center co-ordinates
      */
     private PointF calculateNewCenterXAndY(final float touchX, final float touchY) {
-        final Point rowCol = checkersBoard.calculateRowColByXAndY(touchX, touchY);
-        return checkersBoard.calculateCenterXYByRowAndCol(rowCol.x, rowCol.y);
+        final RowCol rowCol = checkersBoard.calculateRowColByXAndY(touchX, touchY);
+        return calculateCenterXYByRowAndCol(rowCol.x, rowCol.y);
+    }
+
+    /**
+     * center of a cell on the view. lives here and not on CheckersBoard since the board model has no android types
+     */
+    public PointF calculateCenterXYByRowAndCol(final int row, final int col) {
+        // Get the width and height of the entire view
+        int cellSize = checkersBoard.getBoardWidth() / 8; // Assuming the board is 8x8
+
+        // Calculate the center of the cell
+        float centerX = col * cellSize + cellSize / 2f;
+        float centerY = row * cellSize + cellSize / 2f;
+
+        // Return the center as a PointF
+        return new PointF((int) centerX, (int) centerY);
     }
 
     /**
@@ -596,6 +772,9 @@ public class BoardHandler {
                 && !checkersBoard.getOpponent().getId().equals(checkersBoard.getActivePlayerId()))
             throw new RuntimeException("activePlayerId must be the id either players");
 
+        // a move searched on the previous board must not be played on this one
+        cancelSearch();
+
         this.checkersBoard = checkersBoard;
 
         checkersBoard.setKingPieceRule(checkersBoard.getKingPieceRule() == null ? DefaultRule.kingPieceRule() : checkersBoard.getKingPieceRule());
@@ -655,4 +834,11 @@ public class BoardHandler {
         winListeners.add(winListener);
     }
 
+    /**
+     * tells how hard the computer worked for every move it plays
+     */
+    public void addSearchStatisticsListener(final SearchStatisticsListener searchStatisticsListener) {
+        searchStatisticsListeners.add(searchStatisticsListener);
+    }
+
 }
@@ -0,0 +1,10 @@
+package com.gerryshom.checkersboardview.listener.search;
+
+import com.gerryshom.checkersboardview.ai.model.SearchStatistics;
+
+public interface SearchStatisticsListener {
+    /**
+     * called on the main thread when the computer found its move, before the move is played
+     */
+    void onSearchCompleted(final SearchStatistics statistics);
+}
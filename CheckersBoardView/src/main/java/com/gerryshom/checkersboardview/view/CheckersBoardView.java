@@ -20,12 +20,17 @@ import androidx.annotation.Nullable;
 import androidx.core.content.ContextCompat;
 
 import com.gerryshom.checkersboardview.R;
+import com.gerryshom.checkersboardview.ai.book.OpeningBook;
+import com.gerryshom.checkersboardview.ai.enums.TreeRetention;
+import com.gerryshom.checkersboardview.ai.heuristic.Evaluator;
+import com.gerryshom.checkersboardview.ai.tablebase.Tablebase;
 import com.gerryshom.checkersboardview.board.handler.BoardHandler;
 import com.gerryshom.checkersboardview.board.model.CheckersBoard;
 import com.gerryshom.checkersboardview.highlights.Highlight;
 import com.gerryshom.checkersboardview.listener.move.MoveSequenceListener;
 import com.gerryshom.checkersboardview.listener.capture.PieceCapturedListener;
 import com.gerryshom.checkersboardview.listener.playerswitch.PlayerSwitchedListener;
+import com.gerryshom.checkersboardview.listener.search.SearchStatisticsListener;
 import com.gerryshom.checkersboardview.listener.win.WinListener;
 import com.gerryshom.checkersboardview.movement.model.MoveSequence;
 import com.gerryshom.checkersboardview.paint.DefaultPaint;
@@ -36,6 +41,7 @@ import com.gerryshom.checkersboardview.rules.model.CaptureRule;
 import com.gerryshom.checkersboardview.rules.model.GameFlowRule;
 import com.gerryshom.checkersboardview.rules.model.KingPieceRule;
 import com.gerryshom.checkersboardview.rules.model.NormalPieceRule;
+import com.gerryshom.checkersboardview.sync.BoardPatch;
 
 import java.util.List;
 
@@ -117,6 +123,57 @@ public class CheckersBoardView extends View {
         return this;
     }
 
+    /**
+     * sets how long the computer may think about its move
+     * @param searchBudgetMillis think time in milliseconds. 0 derives it from the GameFlowRule
+     */
+    public CheckersBoardView setSearchBudgetMillis(final long searchBudgetMillis) {
+        boardHandler.setSearchBudgetMillis(searchBudgetMillis);
+        return this;
+    }
+
+    /**
+     * lets the computer think during the local player's turn. when the player makes the move it expected
+     * the computer replies almost instantly, at the cost of keeping the cpu busy
+     */
+    public CheckersBoardView setPonderingEnabled(final boolean ponderingEnabled) {
+        boardHandler.setPonderingEnabled(ponderingEnabled);
+        return this;
+    }
+
+    /**
+     * lets the computer play endgames perfectly from a file made by TablebaseGenerator, see Tablebase.open
+     */
+    public CheckersBoardView setTablebase(final Tablebase tablebase) {
+        boardHandler.setTablebase(tablebase);
+        return this;
+    }
+
+    /**
+     * replaces how the computer judges a position, DefaultEvaluator is used otherwise
+     */
+    public CheckersBoardView setEvaluator(final Evaluator evaluator) {
+        boardHandler.setEvaluator(evaluator);
+        return this;
+    }
+
+    /**
+     * PRINCIPAL_VARIATION by default, which keeps the memory of deep searches low.
+     * FULL keeps every position the computer searched until it has moved
+     */
+    public CheckersBoardView setTreeRetention(final TreeRetention treeRetention) {
+        boardHandler.setTreeRetention(treeRetention);
+        return this;
+    }
+
+    /**
+     * lets the computer reply instantly in the openings of a book made by OpeningBookBuilder, see OpeningBook.read
+     */
+    public CheckersBoardView setOpeningBook(final OpeningBook openingBook) {
+        boardHandler.setOpeningBook(openingBook);
+        return this;
+    }
+
     private void init(final AttributeSet attrs) {
         //tile paints
         darkTilePaint = DefaultPaint.darkTilePaint();
@@ -178,6 +235,11 @@ public class CheckersBoardView extends View {
         return this;
     }
 
+    public CheckersBoardView addSearchStatisticsListener(final SearchStatisticsListener searchStatisticsListener) {
+        boardHandler.addSearchStatisticsListener(searchStatisticsListener);
+        return this;
+    }
+
     public void setup(final String activePlayerId, final Player opponentPlayer) {
         getDimensions((width, height)->{
             boardHandler.setup((int) width, activePlayerId, opponentPlayer);
@@ -205,6 +267,15 @@ public class CheckersBoardView extends View {
         boardHandler.playOpponentMoveSequence(moveSequence);
     }
 
+    /**
+     * catches the board up with the moves it missed, for example while the connection was lost,
+     * without setting it up again
+     */
+    public void applyPatch(final BoardPatch boardPatch) {
+        boardHandler.applyPatch(boardPatch);
+        invalidate();
+    }
+
     public void reset() {
         boardHandler.reset();
     }
@@ -310,6 +381,10 @@ public class CheckersBoardView extends View {
         boardHandler.clearPlayerSwitchedListeners();
     }
 
+    public void clearSearchStatisticsListeners() {
+        boardHandler.clearSearchStatisticsListeners();
+    }
+
     public void removeMoveSequenceListener(final MoveSequenceListener moveSequenceListener) {
         boardHandler.removeMoveSequenceListener(moveSequenceListener);
     }
@@ -326,6 +401,10 @@ public class CheckersBoardView extends View {
         boardHandler.removePlayerSwitchedListener(playerSwitchedListener);
     }
 
+    public void removeSearchStatisticsListener(final SearchStatisticsListener searchStatisticsListener) {
+        boardHandler.removeSearchStatisticsListener(searchStatisticsListener);
+    }
+
     private void getDimensions(final DimensionsListener listener) {
         if (getWidth() > 0 && getHeight() > 0) {
             listener.onAvailable(getWidth(), getHeight());
@@ -354,6 +433,19 @@ public class CheckersBoardView extends View {
         void onAvailable(final float width, final float height);
     }
 
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        boardHandler.startEngine();
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        // the engine threads must not outlive the screen the board is on
+        boardHandler.stopEngine();
+        super.onDetachedFromWindow();
+    }
+
     @Override
     protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
         int widthMode = MeasureSpec.getMode(widthMeasureSpec);
@@ -430,7 +522,7 @@ public class CheckersBoardView extends View {
         final float radius = (getWidth() / 8f) * 0.15f; // Small radius
 
         for (LandingSpot landingSpot : boardHandler.getLandingSpots()) {
-            final PointF centerXY = boardHandler.getCheckersBoard()
+            final PointF centerXY = boardHandler
                     .calculateCenterXYByRowAndCol(landingSpot.getRowCol().x, landingSpot.getRowCol().y);
 
             canvas.drawCircle(centerXY.x, centerXY.y, radius, paint);
@@ -0,0 +1,32 @@
+plugins {
+    `java-library`
+    id("maven-publish") // For publishing
+}
+
+// rules, move generation and search with no android dependencies.
+// runs on any jvm, CheckersBoardView draws and drives it on android
+java {
+    sourceCompatibility = JavaVersion.VERSION_1_8
+    targetCompatibility = JavaVersion.VERSION_1_8
+    withSourcesJar()
+}
+
+tasks.withType<JavaCompile>().configureEach {
+    options.encoding = "UTF-8"
+}
+
+publishing {
+    publications {
+        create<MavenPublication>("engine") {
+            groupId = "com.github.iamgerryshom"
+            artifactId = "CheckersEngine"
+            version = "local-version-3.0.0"
+            from(components["java"])
+        }
+    }
+}
+
+dependencies {
+
+    testImplementation(libs.junit)
+}
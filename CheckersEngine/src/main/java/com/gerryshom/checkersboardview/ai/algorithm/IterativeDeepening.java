@@ -0,0 +1,215 @@
+package com.gerryshom.checkersboardview.ai.algorithm;
+
+import com.gerryshom.checkersboardview.ai.engine.SearchHandle;
+import com.gerryshom.checkersboardview.ai.enums.SearchMode;
+import com.gerryshom.checkersboardview.ai.enums.TreeRetention;
+import com.gerryshom.checkersboardview.ai.heuristic.DefaultEvaluator;
+import com.gerryshom.checkersboardview.ai.heuristic.Evaluator;
+import com.gerryshom.checkersboardview.ai.model.GameTree;
+import com.gerryshom.checkersboardview.ai.model.SearchStatistics;
+import com.gerryshom.checkersboardview.ai.ordering.MoveOrderer;
+import com.gerryshom.checkersboardview.ai.table.TranspositionTable;
+import com.gerryshom.checkersboardview.ai.tablebase.Tablebase;
+import com.gerryshom.checkersboardview.board.model.BitBoard;
+import com.gerryshom.checkersboardview.board.model.CheckersBoard;
+import com.gerryshom.checkersboardview.movement.model.MoveList;
+import com.gerryshom.checkersboardview.player.Player;
+import com.gerryshom.checkersboardview.rules.model.GameFlowRule;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * searches depth 1, 2, 3... until the time budget runs out and keeps the tree of the deepest completed depth.
+ * each depth is cheap to add because the transposition table hands it the best moves of the previous one
+ */
+public class IterativeDeepening {
+
+    public static final int MAX_DEPTH = 64;
+
+    // the computer thinks for a 30th of the time a player is given for a turn
+    private static final int TURN_DURATION_SHARE = 30;
+    private static final long MIN_BUDGET_MILLIS = 250;
+    private static final long MAX_BUDGET_MILLIS = 2000;
+    private static final long DEFAULT_BUDGET_MILLIS = 1000;
+
+    private final CheckersBoard checkersBoard;
+    private final BitBoard position;
+    private final long budgetMillis;
+    private int maxDepth = MAX_DEPTH;
+    private TranspositionTable transpositionTable;
+    private ForkJoinPool forkJoinPool;
+    private SearchHandle searchHandle;
+    private Tablebase tablebase;
+    private Evaluator evaluator = DefaultEvaluator.getInstance();
+    private TreeRetention treeRetention = TreeRetention.FULL;
+    private ProgressListener progressListener;
+
+    // read by other threads while a search without a budget is still running
+    private volatile GameTree completedGameTree;
+
+    /**
+     * told about every depth that completes, on the thread that searches
+     */
+    public interface ProgressListener {
+        /**
+         * @param statistics counts of every depth so far. a copy the search no longer changes
+         */
+        void onProgress(final SearchStatistics statistics);
+    }
+
+    /**
+     * @param checkersBoard board to search. it is not modified
+     * @param budgetMillis wall clock time the search may take. 0 searches until it is cancelled or reaches the max depth
+     */
+    public IterativeDeepening(final CheckersBoard checkersBoard, final long budgetMillis) {
+        this.checkersBoard = checkersBoard;
+        this.position = null;
+        this.budgetMillis = budgetMillis;
+    }
+
+    /**
+     * searches a position without a CheckersBoard. the trees only hold encoded moves
+     * @param position position with the computer to move. it is not modified
+     * @param budgetMillis wall clock time the search may take. 0 searches until it is cancelled or reaches the max depth
+     */
+    public IterativeDeepening(final BitBoard position, final long budgetMillis) {
+        this.checkersBoard = null;
+        this.position = position;
+        this.budgetMillis = budgetMillis;
+    }
+
+    /**
+     * derives a think time from the time a player is given for a turn
+     * @return the budget in milliseconds
+     */
+    public static long budgetMillisFor(final GameFlowRule gameFlowRule) {
+        if(gameFlowRule == null || gameFlowRule.getMaxTurnDurationSeconds() <= 0) return DEFAULT_BUDGET_MILLIS;
+
+        final long share = gameFlowRule.getMaxTurnDurationSeconds() * 1000L / TURN_DURATION_SHARE;
+        return Math.max(MIN_BUDGET_MILLIS, Math.min(MAX_BUDGET_MILLIS, share));
+    }
+
+    /**
+     * runs the deepening loop. depth 1 always completes unless the search is cancelled so there is always a move to play
+     * @return the game tree of the deepest depth that finished in time. null if the search was cancelled during depth 1.
+     * its statistics count the work of every depth
+     */
+    public GameTree search() {
+        final long start = System.nanoTime();
+        final long deadline = budgetMillis > 0 ? start + budgetMillis * 1_000_000L : 0;
+
+        if(transpositionTable != null) transpositionTable.newSearch();
+        final MoveOrderer moveOrderer = new MoveOrderer();
+
+        completedGameTree = null;
+        final SearchStatistics statistics = new SearchStatistics();
+        statistics.setTablePresent(transpositionTable != null);
+
+        // the root children are not kept by every tree retention, so the moves are counted up front
+        final MoveList rootMoves = new MoveList();
+        (position != null ? position : checkersBoard.toBitBoard(Player.computer().getId())).generateMoves(rootMoves);
+
+        for(int depth = 1; depth <= maxDepth; depth++) {
+
+            final GameTree gameTree = (position != null
+                    ? new GameTree(position, depth)
+                    : new GameTree(checkersBoard, depth, SearchMode.MAKE_UNMAKE))
+                    .setTranspositionTable(transpositionTable)
+                    .setForkJoinPool(forkJoinPool)
+                    .setMoveOrderer(moveOrderer)
+                    .setSearchHandle(searchHandle)
+                    .setTablebase(tablebase)
+                    .setEvaluator(evaluator)
+                    .setTreeRetention(treeRetention)
+                    .setDeadlineNanos(completedGameTree == null ? 0 : deadline);
+
+            gameTree.build();
+            if(gameTree.isComplete()) statistics.addIteration(gameTree.getStatistics());
+            else statistics.add(gameTree.getStatistics());
+            statistics.setElapsedNanos(System.nanoTime() - start);
+
+            if(!gameTree.isComplete()) break;
+
+            statistics.setDepth(depth);
+            if(progressListener != null) progressListener.onProgress(new SearchStatistics(statistics));
+
+            completedGameTree = gameTree;
+
+            // nothing to choose between
+            if(gameTree.getOptimalNode() == null || rootMoves.size() == 1) break;
+
+            // the next depth costs several times this one so it would not finish anyway
+            final long elapsed = System.nanoTime() - start;
+            if(deadline != 0 && elapsed > (deadline - start) / 2) break;
+        }
+
+        if(completedGameTree != null) completedGameTree.setStatistics(statistics);
+        return completedGameTree;
+    }
+
+    public IterativeDeepening setMaxDepth(int maxDepth) {
+        this.maxDepth = maxDepth;
+        return this;
+    }
+
+    public IterativeDeepening setTranspositionTable(TranspositionTable transpositionTable) {
+        this.transpositionTable = transpositionTable;
+        return this;
+    }
+
+    /**
+     * pool every depth splits its root moves over. null searches on the calling thread
+     */
+    public IterativeDeepening setForkJoinPool(ForkJoinPool forkJoinPool) {
+        this.forkJoinPool = forkJoinPool;
+        return this;
+    }
+
+    /**
+     * handle whose cancel stops the search
+     */
+    public IterativeDeepening setSearchHandle(SearchHandle searchHandle) {
+        this.searchHandle = searchHandle;
+        return this;
+    }
+
+    /**
+     * endgame tables every depth looks positions with few pieces up in. null searches them
+     */
+    public IterativeDeepening setTablebase(Tablebase tablebase) {
+        this.tablebase = tablebase;
+        return this;
+    }
+
+    /**
+     * scores the leaves of every depth
+     */
+    public IterativeDeepening setEvaluator(Evaluator evaluator) {
+        this.evaluator = evaluator;
+        return this;
+    }
+
+    /**
+     * which of the searched nodes every depth keeps attached to its tree
+     */
+    public IterativeDeepening setTreeRetention(TreeRetention treeRetention) {
+        this.treeRetention = treeRetention;
+        return this;
+    }
+
+    public IterativeDeepening setProgressListener(ProgressListener progressListener) {
+        this.progressListener = progressListener;
+        return this;
+    }
+
+    /**
+     * the tree of the deepest depth completed so far. safe to call from another thread while the search runs
+     */
+    public GameTree getCompletedGameTree() {
+        return completedGameTree;
+    }
+
+    public long getBudgetMillis() {
+        return budgetMillis;
+    }
+}
@@ -0,0 +1,174 @@
+package com.gerryshom.checkersboardview.ai.book;
+
+import com.gerryshom.checkersboardview.board.model.BitBoard;
+import com.gerryshom.checkersboardview.movement.model.MoveList;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Random;
+
+/**
+ * moves worth playing in known opening positions, looked up by the zobrist hash of the position.
+ * a position can have several moves, each with a weight that tells how often it should be picked.
+ *
+ * the file is a header (magic, version, rules key, entry count) followed by the entries sorted by hash,
+ * each one a hash, an encoded BitMove and a weight. an entry takes 18 bytes
+ */
+public class OpeningBook {
+
+    static final int MAGIC = 0x434B4F42;
+    static final int VERSION = 1;
+
+    public static final int MAX_WEIGHT = 0xFFFF;
+
+    private final int rulesKey;
+    private final long[] keys;
+    private final long[] moves;
+    private final int[] weights;
+
+    /**
+     * @param keys hashes sorted in ascending order. the moves of a position are next to each other
+     */
+    OpeningBook(final int rulesKey, final long[] keys, final long[] moves, final int[] weights) {
+        this.rulesKey = rulesKey;
+        this.keys = keys;
+        this.moves = moves;
+        this.weights = weights;
+    }
+
+    public static OpeningBook open(final File file) throws IOException {
+        try (InputStream inputStream = new FileInputStream(file)) {
+            return read(inputStream);
+        }
+    }
+
+    /**
+     * reads a book, for example one shipped in the assets of the app. the stream is not closed
+     */
+    public static OpeningBook read(final InputStream inputStream) throws IOException {
+        final DataInputStream input = new DataInputStream(new BufferedInputStream(inputStream));
+
+        if(input.readInt() != MAGIC) throw new IOException("not an opening book file");
+        if(input.readInt() != VERSION) throw new IOException("unsupported opening book version");
+
+        final int rulesKey = input.readInt();
+        final int entryCount = input.readInt();
+
+        final long[] keys = new long[entryCount];
+        final long[] moves = new long[entryCount];
+        final int[] weights = new int[entryCount];
+
+        for(int i = 0; i < entryCount; i++) {
+            keys[i] = input.readLong();
+            moves[i] = input.readLong();
+            weights[i] = input.readUnsignedShort();
+        }
+
+        return new OpeningBook(rulesKey, keys, moves, weights);
+    }
+
+    public void write(final File file) throws IOException {
+        try (OutputStream outputStream = new FileOutputStream(file)) {
+            write(outputStream);
+        }
+    }
+
+    /**
+     * writes the book. the stream is flushed but not closed
+     */
+    public void write(final OutputStream outputStream) throws IOException {
+        final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(outputStream));
+
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+        output.writeInt(rulesKey);
+        output.writeInt(keys.length);
+
+        for(int i = 0; i < keys.length; i++) {
+            output.writeLong(keys[i]);
+            output.writeLong(moves[i]);
+            output.writeShort(weights[i]);
+        }
+
+        output.flush();
+    }
+
+    /**
+     * picks one of the book moves of the position at random, moves with a higher weight are picked more often.
+     * safe to call from several threads at once
+     * @return a legal move for the side to move or 0 if the book does not know the position
+     */
+    public long probe(final BitBoard position, final Random random) {
+        if(position.getRulesKey() != rulesKey) return 0;
+
+        final int first = findFirst(position.getHash());
+        if(first < 0) return 0;
+
+        // a hash can also belong to a different position so only legal moves count
+        final MoveList moveList = new MoveList();
+        position.generateMoves(moveList);
+
+        int totalWeight = 0;
+        for(int i = first; i < keys.length && keys[i] == position.getHash(); i++) {
+            if(isLegal(moveList, moves[i])) totalWeight += weights[i];
+        }
+        if(totalWeight == 0) return 0;
+
+        int pick = random.nextInt(totalWeight);
+        for(int i = first; i < keys.length && keys[i] == position.getHash(); i++) {
+            if(!isLegal(moveList, moves[i])) continue;
+
+            pick -= weights[i];
+            if(pick < 0) return moves[i];
+        }
+
+        return 0;
+    }
+
+    /**
+     * @return true if the book has a move for the position
+     */
+    public boolean contains(final BitBoard position) {
+        return probe(position, new Random()) != 0;
+    }
+
+    /**
+     * binary search for the first entry of a hash
+     * @return its index or -1 if the hash is not in the book
+     */
+    private int findFirst(final long key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if(keys[middle] < key) low = middle + 1; else high = middle;
+        }
+        return low < keys.length && keys[low] == key ? low : -1;
+    }
+
+    private static boolean isLegal(final MoveList moveList, final long move) {
+        for(int i = 0; i < moveList.size(); i++) {
+            if(moveList.get(i) == move) return true;
+        }
+        return false;
+    }
+
+    /**
+     * number of moves in the book
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    public int getRulesKey() {
+        return rulesKey;
+    }
+}
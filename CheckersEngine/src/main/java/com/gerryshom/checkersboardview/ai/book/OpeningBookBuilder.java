@@ -0,0 +1,219 @@
+package com.gerryshom.checkersboardview.ai.book;
+
+import com.gerryshom.checkersboardview.ai.model.GameTree;
+import com.gerryshom.checkersboardview.board.model.BitBoard;
+import com.gerryshom.checkersboardview.board.model.CheckersBoard;
+import com.gerryshom.checkersboardview.movement.model.BitMove;
+import com.gerryshom.checkersboardview.movement.model.MoveList;
+import com.gerryshom.checkersboardview.movement.model.MoveSequence;
+import com.gerryshom.checkersboardview.player.Player;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * collects the moves played in the first plies of many games into an OpeningBook.
+ * every time a move is played from a position its weight goes up by one, so the book repeats
+ * the moves the games agreed on most. the games can be imported or played by the engine against itself
+ */
+public class OpeningBookBuilder {
+
+    public static final int DEFAULT_MAX_PLY = 12;
+    public static final int DEFAULT_SEARCH_DEPTH = 6;
+    public static final float DEFAULT_MARGIN = 5;
+
+    private final int maxPly;
+    private final int rulesKey;
+
+    // the heuristic scores for the computer so each side to move needs a board where it is the computer
+    private final BitBoard[] searchBoards = new BitBoard[2];
+
+    private final Map<Long, Map<Long, Integer>> weights = new HashMap<>();
+
+    /**
+     * builds a book for the default rules
+     */
+    public OpeningBookBuilder(final int maxPly) {
+        this(CheckersBoard.createCheckersBoard(Player.human().getId(), Player.human(), Player.computer()), maxPly);
+    }
+
+    /**
+     * @param checkersBoard board whose rules the book is built for. its pieces are ignored
+     * @param maxPly moves played after this many plies are left out of the book
+     */
+    public OpeningBookBuilder(final CheckersBoard checkersBoard, final int maxPly) {
+        this.maxPly = maxPly;
+
+        final BitBoard position = checkersBoard.toBitBoard(checkersBoard.getCreator().getId());
+        rulesKey = position.getRulesKey();
+
+        final CheckersBoard computerFirst = checkersBoard.deepClone();
+        computerFirst.setCreator(Player.computer());
+        computerFirst.setOpponent(Player.human());
+        final CheckersBoard computerSecond = checkersBoard.deepClone();
+        computerSecond.setCreator(Player.human());
+        computerSecond.setOpponent(Player.computer());
+
+        searchBoards[BitBoard.CREATOR] = computerFirst.toBitBoard(Player.computer().getId());
+        searchBoards[BitBoard.OPPONENT] = computerSecond.toBitBoard(Player.computer().getId());
+    }
+
+    /**
+     * adds a game played on a CheckersBoard, for example one recorded through a MoveSequenceListener
+     * @param checkersBoard the board before the first move. its active player makes the first move
+     * @param moveSequences the moves of both players in the order they were played
+     */
+    public OpeningBookBuilder addGame(final CheckersBoard checkersBoard, final List<MoveSequence> moveSequences) {
+        final BitBoard position = checkersBoard.toBitBoard(checkersBoard.getActivePlayerId());
+
+        for(int ply = 0; ply < moveSequences.size() && ply < maxPly; ply++) {
+            final long move = BitMove.fromMoveSequence(moveSequences.get(ply), position);
+            if(move == 0) throw new RuntimeException("move sequence " + ply + " is not a legal move of the game");
+
+            add(position, move);
+            position.makeMove(move);
+        }
+
+        return this;
+    }
+
+    /**
+     * adds a game of encoded moves
+     * @param position the position before the first move. it is not modified
+     */
+    public OpeningBookBuilder addGame(final BitBoard position, final long[] moves) {
+        final BitBoard game = new BitBoard(position);
+
+        for(int ply = 0; ply < moves.length && ply < maxPly; ply++) {
+            add(game, moves[ply]);
+            game.makeMove(moves[ply]);
+        }
+
+        return this;
+    }
+
+    /**
+     * builds a book from self play games and writes it to the file
+     */
+    public static void main(final String[] args) throws IOException {
+        if(args.length < 1) throw new RuntimeException("usage: OpeningBookBuilder <output file> [games]");
+
+        final int games = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        new OpeningBookBuilder(DEFAULT_MAX_PLY)
+                .addSelfPlayGames(games, new Random())
+                .build()
+                .write(new File(args[0]));
+    }
+
+    /**
+     * self play with the default depth and margin
+     */
+    public OpeningBookBuilder addSelfPlayGames(final int games, final Random random) {
+        return addSelfPlayGames(games, DEFAULT_SEARCH_DEPTH, DEFAULT_MARGIN, random);
+    }
+
+    /**
+     * lets the engine play the openings against itself from the starting layout.
+     * every move is searched to the given depth and one of the moves scoring within the margin of the best is played,
+     * so the games spread over the openings the engine thinks are equally good
+     * @param games number of games. the player to move first alternates between games
+     * @param depth depth every move is searched to
+     * @param margin how much worse than the best move a move may score and still be played
+     */
+    public OpeningBookBuilder addSelfPlayGames(final int games, final int depth, final float margin, final Random random) {
+        for(int game = 0; game < games; game++) {
+            final String firstPlayerId = game % 2 == 0 ? Player.human().getId() : Player.computer().getId();
+            final CheckersBoard checkersBoard = CheckersBoard.createCheckersBoard(firstPlayerId, Player.human(), Player.computer());
+            final BitBoard position = checkersBoard.toBitBoard(firstPlayerId);
+
+            final MoveList moveList = new MoveList();
+            final List<Long> candidates = new ArrayList<>();
+
+            for(int ply = 0; ply < maxPly; ply++) {
+                position.generateMoves(moveList);
+                if(moveList.isEmpty()) break;
+
+                float bestScore = -Float.MAX_VALUE;
+                final float[] scores = new float[moveList.size()];
+                for(int i = 0; i < moveList.size(); i++) {
+                    scores[i] = score(position, moveList.get(i), depth);
+                    bestScore = Math.max(bestScore, scores[i]);
+                }
+
+                candidates.clear();
+                for(int i = 0; i < moveList.size(); i++) {
+                    if(scores[i] >= bestScore - margin) candidates.add(moveList.get(i));
+                }
+
+                final long move = candidates.get(random.nextInt(candidates.size()));
+                add(position, move);
+                position.makeMove(move);
+            }
+        }
+
+        return this;
+    }
+
+    /**
+     * searches a move with a full window
+     * @return the score of the move for the side that plays it
+     */
+    private float score(final BitBoard position, final long move, final int depth) {
+        final BitBoard child = searchBoards[1 - position.getSideToMove()];
+        child.setPieces(
+                position.getMen(BitBoard.CREATOR), position.getKings(BitBoard.CREATOR),
+                position.getMen(BitBoard.OPPONENT), position.getKings(BitBoard.OPPONENT),
+                position.getSideToMove()
+        );
+        child.makeMove(move);
+
+        // the game tree scores for the side to move after the move, the mover gets the opposite
+        final GameTree gameTree = new GameTree(child, Math.max(0, depth - 1)).build();
+        return -gameTree.getRoot().getHeuristic();
+    }
+
+    private void add(final BitBoard position, final long move) {
+        Map<Long, Integer> moves = weights.get(position.getHash());
+        if(moves == null) {
+            moves = new LinkedHashMap<>();
+            weights.put(position.getHash(), moves);
+        }
+
+        final Integer weight = moves.get(move);
+        moves.put(move, weight == null ? 1 : Math.min(OpeningBook.MAX_WEIGHT, weight + 1));
+    }
+
+    /**
+     * @return the book of every game added so far
+     */
+    public OpeningBook build() {
+        final List<Long> sortedKeys = new ArrayList<>(weights.keySet());
+        Collections.sort(sortedKeys);
+
+        int entryCount = 0;
+        for(Map<Long, Integer> moves : weights.values()) entryCount += moves.size();
+
+        final long[] keys = new long[entryCount];
+        final long[] moves = new long[entryCount];
+        final int[] entryWeights = new int[entryCount];
+
+        int entry = 0;
+        for(long key : sortedKeys) {
+            for(Map.Entry<Long, Integer> move : weights.get(key).entrySet()) {
+                keys[entry] = key;
+                moves[entry] = move.getKey();
+                entryWeights[entry] = move.getValue();
+                entry++;
+            }
+        }
+
+        return new OpeningBook(rulesKey, keys, moves, entryWeights);
+    }
+}
@@ -0,0 +1,40 @@
+package com.gerryshom.checkersboardview.ai.engine;
+
+/**
+ * handle of a search started on an EngineService.
+ * cancel stops the search at its next check and guarantees its listener is never called,
+ * as long as cancel is called on the main thread like the listener itself
+ */
+public class SearchHandle {
+    private volatile boolean cancelled;
+    private volatile boolean done;
+
+    /**
+     * stops the search. does nothing if the result has already been delivered
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * true once the listener has been handed the result
+     */
+    public boolean isDone() {
+        return done;
+    }
+
+    /**
+     * marks the search done right before its result is handed to the listener.
+     * call it on the thread cancel is called on
+     * @return false if the search was cancelled, the result must not be delivered then
+     */
+    public boolean complete() {
+        if(cancelled) return false;
+        done = true;
+        return true;
+    }
+}
@@ -0,0 +1,21 @@
+package com.gerryshom.checkersboardview.ai.enums;
+
+/**
+ * how a score stored in the transposition table relates to the real score of the position
+ */
+public enum Bound {
+    /**
+     * the score is the real score
+     */
+    EXACT,
+
+    /**
+     * the search failed high so the real score is at least the stored score
+     */
+    LOWER,
+
+    /**
+     * the search failed low so the real score is at most the stored score
+     */
+    UPPER
+}
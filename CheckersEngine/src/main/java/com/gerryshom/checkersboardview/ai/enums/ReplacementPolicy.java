@@ -0,0 +1,17 @@
+package com.gerryshom.checkersboardview.ai.enums;
+
+/**
+ * decides whether a new transposition table entry may overwrite the entry already in its slot
+ */
+public enum ReplacementPolicy {
+    /**
+     * the newest entry always wins
+     */
+    ALWAYS_REPLACE,
+
+    /**
+     * an entry is kept unless the new one was searched at least as deep
+     * or the old one was stored during an earlier search
+     */
+    DEPTH_PREFERRED
+}
@@ -0,0 +1,14 @@
+package com.gerryshom.checkersboardview.ai.enums;
+
+public enum SearchMode {
+    /**
+     * every child gets its own deep cloned CheckersBoard
+     */
+    SNAPSHOT,
+
+    /**
+     * every child is searched on one shared BitBoard.
+     * the move is made before the child is searched and taken back afterwards
+     */
+    MAKE_UNMAKE
+}
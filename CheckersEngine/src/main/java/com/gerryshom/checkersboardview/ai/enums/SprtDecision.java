@@ -0,0 +1,21 @@
+package com.gerryshom.checkersboardview.ai.enums;
+
+/**
+ * where a sequential probability ratio test stands after the games played so far
+ */
+public enum SprtDecision {
+    /**
+     * the log likelihood ratio is still between the bounds, more games are needed
+     */
+    UNDECIDED,
+
+    /**
+     * the change is at least as strong as the upper elo of the test
+     */
+    PASSED,
+
+    /**
+     * the change is no stronger than the lower elo of the test
+     */
+    FAILED
+}
@@ -0,0 +1,15 @@
+package com.gerryshom.checkersboardview.ai.enums;
+
+public enum TreeRetention {
+    /**
+     * every searched node is added to the children of its parent and stays on the heap with the tree
+     */
+    FULL,
+
+    /**
+     * a node only keeps its optimal node, every other child is dropped as soon as it is searched.
+     * the children lists stay empty, the principal variation is followed through getOptimalNode
+     * so the memory a tree holds grows with the depth instead of the number of nodes searched
+     */
+    PRINCIPAL_VARIATION
+}
@@ -0,0 +1,104 @@
+package com.gerryshom.checkersboardview.ai.heuristic;
+
+import com.gerryshom.checkersboardview.board.model.BitBoard;
+import com.gerryshom.checkersboardview.board.model.PieceSquareTable;
+
+/**
+ * the evaluator the engine uses unless it is given another one.
+ * material and every term that only depends on where a single piece stands (advancement, the back row guard,
+ * the center, promotion potential and the double corners) are folded into one piece square table,
+ * so the board keeps them up to date while moves are made and they cost nothing at the leaf.
+ * only mobility and protection are worked out at the leaf. HeuristicFunction scores with this evaluator too
+ */
+public class DefaultEvaluator implements Evaluator {
+
+    private static final int KING_WEIGHT = 25;                   // Kings are strong and mobile
+    private static final int MAN_WEIGHT = 10;                    // Basic piece value
+    private static final int MOBILITY_WEIGHT = 2;                // More options = better control
+    private static final int PIECE_PROTECTION_WEIGHT = 15;       // Safer pieces = longer survival
+    private static final int CENTER_CONTROL_WEIGHT = 3;          // Central squares give board control
+    private static final int ADVANCEMENT_WEIGHT = 1;             // Encourage forward progress
+    private static final int BACK_ROW_GUARD_WEIGHT = 5;          // Protects from enemy kinging
+    private static final int DOUBLE_CORNER_CONTROL_WEIGHT = 3;   // Strategic corners often matter
+    private static final int PROMOTION_POTENTIAL_WEIGHT = 5;     // Nearing king row? Reward it
+    private static final int ADVANCED_MAN_BONUS = 2;             // Men close to kinging row
+    private static final int CENTER_ROW_BONUS = 3;               // 3rd to 5th row pieces get bonus
+
+    private static final DefaultEvaluator INSTANCE = new DefaultEvaluator();
+
+    private final PieceSquareTable pieceSquareTable = createPieceSquareTable();
+
+    public static DefaultEvaluator getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public float evaluate(final BitBoard position, final int maximizer) {
+        final int minimizer = 1 - maximizer;
+
+        int maximizerScore;
+        int minimizerScore;
+        if(position.getPieceSquareTable() == pieceSquareTable) {
+            maximizerScore = position.getPieceSquareScore(maximizer);
+            minimizerScore = position.getPieceSquareScore(minimizer);
+        } else {
+            maximizerScore = pieceSquareTable.sum(maximizer, position.getMen(maximizer), position.getKings(maximizer));
+            minimizerScore = pieceSquareTable.sum(minimizer, position.getMen(minimizer), position.getKings(minimizer));
+        }
+
+        final int maximizerMoveablePieces = position.findMoveablePieces(maximizer);
+        final int minimizerMoveablePieces = position.findMoveablePieces(minimizer);
+
+        //mobility
+        final int mobilityScore = (Integer.bitCount(maximizerMoveablePieces) - Integer.bitCount(minimizerMoveablePieces))
+                * MOBILITY_WEIGHT;
+
+        //piece protection
+        maximizerScore -= Integer.bitCount(maximizerMoveablePieces & position.findExposedPieces(maximizer))
+                * PIECE_PROTECTION_WEIGHT;
+        minimizerScore -= Integer.bitCount(minimizerMoveablePieces & position.findExposedPieces(minimizer))
+                * PIECE_PROTECTION_WEIGHT;
+
+        return (maximizerScore - minimizerScore) + mobilityScore;
+    }
+
+    @Override
+    public PieceSquareTable getPieceSquareTable() {
+        return pieceSquareTable;
+    }
+
+    /**
+     * material plus the positional bonus of every piece on every square
+     */
+    private static PieceSquareTable createPieceSquareTable() {
+        final PieceSquareTable table = PieceSquareTable.material(MAN_WEIGHT, KING_WEIGHT);
+
+        for(int side = 0; side < 2; side++) {
+            for(int square = 0; square < 32; square++) {
+                final int row = BitBoard.rowOf(square);
+                final int col = BitBoard.colOf(square);
+
+                // rows a man of the side has moved up from its own back row
+                final int advancement = side == BitBoard.CREATOR ? 7 - row : row;
+                final boolean center = row >= 2 && row <= 5 && col >= 2 && col <= 5;
+                final boolean doubleCorner = (row <= 1 && col >= 6) || (row >= 6 && col <= 1);
+
+                int man = advancement * ADVANCEMENT_WEIGHT;
+                if(advancement == 0) man += BACK_ROW_GUARD_WEIGHT;
+                if(advancement >= 2 && advancement <= 4) man += CENTER_ROW_BONUS;
+                if(advancement >= 5) man += PROMOTION_POTENTIAL_WEIGHT;
+                if(advancement == 6) man += ADVANCED_MAN_BONUS;
+                if(center) man += CENTER_CONTROL_WEIGHT;
+
+                int king = 0;
+                if(center) king += CENTER_CONTROL_WEIGHT;
+                if(doubleCorner) king += DOUBLE_CORNER_CONTROL_WEIGHT;
+
+                table.add(side, false, 1 << square, man);
+                table.add(side, true, 1 << square, king);
+            }
+        }
+
+        return table;
+    }
+}
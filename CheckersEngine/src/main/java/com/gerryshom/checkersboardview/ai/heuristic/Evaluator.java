@@ -0,0 +1,23 @@
+package com.gerryshom.checkersboardview.ai.heuristic;
+
+import com.gerryshom.checkersboardview.board.model.BitBoard;
+import com.gerryshom.checkersboardview.board.model.PieceSquareTable;
+
+/**
+ * scores the positions at the leaves of a search.
+ * implementations are shared by every thread of a search so they must not keep state between calls
+ */
+public interface Evaluator {
+
+    /**
+     * @param maximizer BitBoard.CREATOR or BitBoard.OPPONENT, the side the search plays for
+     * @return how good the position is for the maximizer. the minimizer's advantage is negative
+     */
+    float evaluate(final BitBoard position, final int maximizer);
+
+    /**
+     * table the searched board keeps up to date so evaluate can read its sums instead of walking the pieces.
+     * null if the evaluator does not use one
+     */
+    PieceSquareTable getPieceSquareTable();
+}
@@ -0,0 +1,17 @@
+package com.gerryshom.checkersboardview.ai.heuristic;
+
+import com.gerryshom.checkersboardview.board.model.BitBoard;
+import com.gerryshom.checkersboardview.board.model.CheckersBoard;
+import com.gerryshom.checkersboardview.player.Player;
+
+/**
+ * scores a CheckersBoard for the computer with the DefaultEvaluator the search uses,
+ * so a board scored outside of a search gets the same score as at a leaf
+ */
+public class HeuristicFunction {
+
+    public static float apply(final CheckersBoard checkersBoard) {
+        final BitBoard position = checkersBoard.toBitBoard(checkersBoard.getActivePlayerId());
+        return DefaultEvaluator.getInstance().evaluate(position, position.sideOf(Player.computer().getId()));
+    }
+}
@@ -0,0 +1,277 @@
+package com.gerryshom.checkersboardview.ai.model;
+
+
+import com.gerryshom.checkersboardview.ai.enums.SearchMode;
+import com.gerryshom.checkersboardview.ai.enums.TreeRetention;
+import com.gerryshom.checkersboardview.ai.heuristic.DefaultEvaluator;
+import com.gerryshom.checkersboardview.ai.heuristic.Evaluator;
+import com.gerryshom.checkersboardview.ai.engine.SearchHandle;
+import com.gerryshom.checkersboardview.ai.ordering.MoveOrderer;
+import com.gerryshom.checkersboardview.ai.table.TranspositionTable;
+import com.gerryshom.checkersboardview.ai.tablebase.Tablebase;
+import com.gerryshom.checkersboardview.board.model.BitBoard;
+import com.gerryshom.checkersboardview.board.model.CheckersBoard;
+import com.gerryshom.checkersboardview.movement.model.BitMove;
+import com.gerryshom.checkersboardview.player.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class GameTree {
+    private Node root = new Node();
+    private static final Random random = new Random();
+    private Node optimalNode;
+    private CheckersBoard checkersBoard;
+    private BitBoard position;
+    private int depth;
+    private SearchMode searchMode = SearchMode.SNAPSHOT;
+    private TranspositionTable transpositionTable;
+    private long deadlineNanos;
+    private ForkJoinPool forkJoinPool;
+    private MoveOrderer moveOrderer;
+    private SearchHandle searchHandle;
+    private Tablebase tablebase;
+    private Evaluator evaluator = DefaultEvaluator.getInstance();
+    private TreeRetention treeRetention = TreeRetention.FULL;
+    private boolean complete;
+    private SearchStatistics statistics = new SearchStatistics();
+
+    public GameTree() {
+    }
+
+    public GameTree(final CheckersBoard checkersBoard, final int depth) {
+        this.checkersBoard = checkersBoard;
+        this.depth = depth;
+    }
+
+    public GameTree(final CheckersBoard checkersBoard, final int depth, final SearchMode searchMode) {
+        this.checkersBoard = checkersBoard;
+        this.depth = depth;
+        this.searchMode = searchMode;
+    }
+
+    /**
+     * make/unmake search of a position that has no CheckersBoard, for example one the computer expects to reach.
+     * the optimal node only has its encoded move, there are no piece ids to build a MoveSequence from
+     * @param position position with the computer to move. it is not modified
+     */
+    public GameTree(final BitBoard position, final int depth) {
+        this.position = position;
+        this.depth = depth;
+        this.searchMode = SearchMode.MAKE_UNMAKE;
+    }
+
+    /**
+     * this generates the complete game tree
+     * some optimizations done using alpha beta pruning
+     */
+    public GameTree build() {
+
+        final long start = System.nanoTime();
+        statistics = new SearchStatistics();
+
+        final Node root = new Node();
+        root.setSnapshot(checkersBoard);
+        root.setMaximizing(true);
+
+        if(searchMode == SearchMode.MAKE_UNMAKE) {
+            final BitBoard position = this.position != null
+                    ? new BitBoard(this.position)
+                    : checkersBoard.toBitBoard(Player.computer().getId());
+
+            // the leaves read the table terms instead of computing them
+            position.setPieceSquareTable(evaluator.getPieceSquareTable());
+
+            final MoveOrderer moveOrderer = this.moveOrderer != null ? this.moveOrderer : new MoveOrderer();
+
+            if(forkJoinPool != null && forkJoinPool.getParallelism() > 1) {
+                final ParallelRootSearch search = new ParallelRootSearch(
+                        root, position, transpositionTable, moveOrderer, depth, deadlineNanos, searchHandle
+                ).setTablebase(tablebase).setEvaluator(evaluator).setTreeRetention(treeRetention);
+                forkJoinPool.invoke(search);
+                statistics.add(search.getStatistics());
+                complete = search.isComplete();
+            } else {
+                final SearchContext context = new SearchContext(position, transpositionTable, moveOrderer);
+                context.setDeadlineNanos(deadlineNanos);
+                context.setSearchHandle(searchHandle);
+                context.setTablebase(tablebase);
+                context.setEvaluator(evaluator);
+                context.setTreeRetention(treeRetention);
+
+                root.recursivelyBuildChildren(context, depth, Integer.MIN_VALUE, Integer.MAX_VALUE);
+                statistics.add(context.getStatistics());
+                complete = !context.isAborted();
+            }
+
+            // only the chosen move needs the piece ids of the real board
+            final Node optimalNode = root.getOptimalNode();
+            if(complete && optimalNode != null && checkersBoard != null) {
+                optimalNode.setMoveSequence(BitMove.toMoveSequence(optimalNode.getMove(), position, checkersBoard));
+            }
+        } else {
+            // one context scores every leaf so the leaves share its buffers
+            final SearchContext leafContext = new SearchContext(checkersBoard.toBitBoard(Player.computer().getId()));
+            leafContext.getPosition().setPieceSquareTable(evaluator.getPieceSquareTable());
+            leafContext.setEvaluator(evaluator);
+            root.recursivelyBuildChildren(leafContext, depth, Integer.MIN_VALUE, Integer.MAX_VALUE, treeRetention);
+            complete = true;
+        }
+
+        setRoot(root);
+
+        setOptimalNode(getRoot().getOptimalNode());
+
+        statistics.setDepth(complete ? depth : 0);
+        statistics.setElapsedNanos(System.nanoTime() - start);
+        statistics.setTablePresent(transpositionTable != null);
+
+        return this;
+
+    }
+
+    /**
+     * false when a make/unmake search hit its deadline or was cancelled before the whole tree was built.
+     * the optimal node of an incomplete tree must not be played
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * stops a make/unmake search once System.nanoTime passes the deadline. 0 means no deadline
+     */
+    public GameTree setDeadlineNanos(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+        return this;
+    }
+
+    public ForkJoinPool getForkJoinPool() {
+        return forkJoinPool;
+    }
+
+    /**
+     * pool the make/unmake search splits the root moves over. null or a pool of one worker searches on the calling thread
+     */
+    public GameTree setForkJoinPool(ForkJoinPool forkJoinPool) {
+        this.forkJoinPool = forkJoinPool;
+        return this;
+    }
+
+    public MoveOrderer getMoveOrderer() {
+        return moveOrderer;
+    }
+
+    /**
+     * orderer the make/unmake search uses. pass the same one to every depth of a turn
+     * so the killers and history learned by one depth order the next
+     */
+    public GameTree setMoveOrderer(MoveOrderer moveOrderer) {
+        this.moveOrderer = moveOrderer;
+        return this;
+    }
+
+    public SearchHandle getSearchHandle() {
+        return searchHandle;
+    }
+
+    /**
+     * handle whose cancel stops a make/unmake search
+     */
+    public GameTree setSearchHandle(SearchHandle searchHandle) {
+        this.searchHandle = searchHandle;
+        return this;
+    }
+
+    public Tablebase getTablebase() {
+        return tablebase;
+    }
+
+    /**
+     * endgame tables the make/unmake search looks positions with few pieces up in instead of searching them
+     */
+    public GameTree setTablebase(Tablebase tablebase) {
+        this.tablebase = tablebase;
+        return this;
+    }
+
+    public Evaluator getEvaluator() {
+        return evaluator;
+    }
+
+    /**
+     * scores the leaves of the search, in both search modes
+     */
+    public GameTree setEvaluator(Evaluator evaluator) {
+        this.evaluator = evaluator;
+        return this;
+    }
+
+    public TreeRetention getTreeRetention() {
+        return treeRetention;
+    }
+
+    /**
+     * which of the searched nodes stay attached to the tree. PRINCIPAL_VARIATION only keeps the optimal node of every node,
+     * use it when nothing but the optimal node and the line after it are read
+     */
+    public GameTree setTreeRetention(TreeRetention treeRetention) {
+        this.treeRetention = treeRetention;
+        return this;
+    }
+
+    /**
+     * how much work the last build did
+     */
+    public SearchStatistics getStatistics() {
+        return statistics;
+    }
+
+    public void setStatistics(SearchStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public TranspositionTable getTranspositionTable() {
+        return transpositionTable;
+    }
+
+    /**
+     * table shared with the make/unmake search. keep the same table between turns
+     * so positions searched on the previous turn are remembered
+     */
+    public GameTree setTranspositionTable(TranspositionTable transpositionTable) {
+        this.transpositionTable = transpositionTable;
+        return this;
+    }
+
+    public SearchMode getSearchMode() {
+        return searchMode;
+    }
+
+    public void setSearchMode(SearchMode searchMode) {
+        this.searchMode = searchMode;
+    }
+
+
+    public Node getOptimalNode() {
+        return optimalNode;
+    }
+
+    public void setOptimalNode(Node optimalNode) {
+        this.optimalNode = optimalNode;
+    }
+
+    public Node getRoot() {
+        return root;
+    }
+
+    public void setRoot(Node root) {
+        this.root = root;
+    }
+}
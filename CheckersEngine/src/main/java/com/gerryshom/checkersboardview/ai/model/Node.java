@@ -0,0 +1,513 @@
+package com.gerryshom.checkersboardview.ai.model;
+
+import com.gerryshom.checkersboardview.ai.enums.Bound;
+import com.gerryshom.checkersboardview.ai.enums.TreeRetention;
+import com.gerryshom.checkersboardview.ai.table.TranspositionEntry;
+import com.gerryshom.checkersboardview.ai.table.TranspositionTable;
+import com.gerryshom.checkersboardview.ai.tablebase.Tablebase;
+import com.gerryshom.checkersboardview.board.model.BitBoard;
+import com.gerryshom.checkersboardview.board.model.CheckersBoard;
+import com.gerryshom.checkersboardview.piece.model.Piece;
+import com.gerryshom.checkersboardview.landingSpot.LandingSpot;
+import com.gerryshom.checkersboardview.movement.model.CaptureChainGenerator;
+import com.gerryshom.checkersboardview.movement.model.Move;
+import com.gerryshom.checkersboardview.movement.model.MoveList;
+import com.gerryshom.checkersboardview.movement.model.MoveSequence;
+import com.gerryshom.checkersboardview.player.Player;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+public class Node {
+
+    // the chain buffers are reused, so every search thread gets its own generator
+    private static final ThreadLocal<CaptureChainGenerator> CAPTURE_CHAINS = new ThreadLocal<CaptureChainGenerator>() {
+        @Override
+        protected CaptureChainGenerator initialValue() {
+            return new CaptureChainGenerator();
+        }
+    };
+
+    private CheckersBoard snapshot;
+    private MoveSequence moveSequence;
+    // created the first time a child is kept
+    private List<Node> children;
+    private boolean maximizing;
+    private float heuristic;
+    private Node optimalNode;
+    private long move;
+
+    public Node() {
+        snapshot = new CheckersBoard();
+        moveSequence = new MoveSequence();
+    }
+
+    /**
+     * node of a make/unmake search. it only holds its encoded move, the snapshot and the move sequence stay null
+     * so searching a node allocates nothing but the node itself
+     */
+    public Node(final long move, final boolean maximizing) {
+        this.move = move;
+        this.maximizing = maximizing;
+    }
+
+    public Node(CheckersBoard snapshot, MoveSequence moveSequence, List<Node> children, boolean maximizing, float heuristic) {
+        this.snapshot = snapshot;
+        this.moveSequence = moveSequence;
+        this.children = children;
+        this.maximizing = maximizing;
+        this.heuristic = heuristic;
+    }
+
+    public Node deepClone() {
+        return new Node(
+                snapshot, moveSequence == null ? null : moveSequence.deepClone(),
+                deepCloneNodes(getChildren()),
+                maximizing,
+                heuristic
+        );
+    }
+
+    private List<Node> deepCloneNodes(final List<Node> originalNodes) {
+        final List<Node> clonedNodes = new ArrayList<>();
+        for(Node originalNode : originalNodes) {
+            clonedNodes.add(originalNode.deepClone());
+        }
+        return clonedNodes;
+    }
+
+    public Node getOptimalNode() {
+        return optimalNode;
+    }
+
+    public void setOptimalNode(Node optimalNode) {
+        this.optimalNode = optimalNode;
+    }
+
+    /**
+     * recursively build the children up to a given depth
+     * @param depth number of levels to build
+     * @param alpha i wish i knew
+     *
+     */
+    public float recursivelyBuildChildren(final int depth, float alpha, float beta) {
+        return recursivelyBuildChildren(depth, alpha, beta, TreeRetention.FULL);
+    }
+
+    /**
+     * @param treeRetention which of the searched nodes stay attached to the tree
+     */
+    public float recursivelyBuildChildren(final int depth, float alpha, float beta, final TreeRetention treeRetention) {
+        final SearchContext leafContext = new SearchContext(getSnapshot().toBitBoard(Player.computer().getId()));
+        return recursivelyBuildChildren(leafContext, depth, alpha, beta, treeRetention);
+    }
+
+    /**
+     * @param leafContext scores the leaves. its position is set to the snapshot of every leaf in turn
+     * and its buffers are shared by all of them
+     * @param treeRetention which of the searched nodes stay attached to the tree
+     */
+    public float recursivelyBuildChildren(final SearchContext leafContext, final int depth, float alpha, float beta,
+                                          final TreeRetention treeRetention) {
+
+        final String playerId = isMaximizing() ? Player.computer().getId() : getSnapshot().identifyOpponentPlayerId(Player.computer().getId());
+
+        if(depth == 0) {
+            // play out any pending captures on the bit board of the context before scoring
+            leafContext.getPosition().setPieces(getSnapshot(), playerId);
+            setHeuristic(searchCaptures(leafContext, alpha, beta, isMaximizing()));
+            return getHeuristic();
+        }
+
+        float bestScore = isMaximizing() ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        Node optimalNode = null;
+
+        for(MoveSequence moveSequence : generateMoveSequences(playerId)) {
+
+            final Node child = new Node();
+            child.setMaximizing(!isMaximizing());
+            child.setMoveSequence(moveSequence);
+            child.setSnapshot(applyMoveSequence(moveSequence, getSnapshot().deepClone()));
+
+            final float childScore = child.recursivelyBuildChildren(leafContext, depth - 1, alpha, beta, treeRetention);
+
+            // Update best score & child
+            if (isMaximizing()) {
+                if (childScore > bestScore) {
+                    bestScore = childScore;
+                    optimalNode = child;
+                }
+                alpha = Math.max(alpha, bestScore);
+            } else {
+                if (childScore < bestScore) {
+                    bestScore = childScore;
+                    optimalNode = child;
+                }
+                beta = Math.min(beta, bestScore);
+            }
+
+            if(treeRetention == TreeRetention.FULL) getChildren().add(child);
+            //prune the branch
+            if (beta <= alpha) break;
+
+        }
+
+        setOptimalNode(optimalNode);
+
+        setHeuristic(bestScore);
+
+        return bestScore;
+    }
+
+    /**
+     * every move sequence a player can play on the snapshot, found the same way recursivelyBuildChildren finds them
+     * but without searching any of them. a capture chain is one child holding every move of the chain
+     * @param playerId player to move
+     * @return the children with their move sequence and the snapshot after it. they are not added to this node
+     */
+    public List<Node> generateChildren(final String playerId) {
+        final List<Node> children = new ArrayList<>();
+
+        for(MoveSequence moveSequence : generateMoveSequences(playerId)) {
+            final Node child = new Node();
+            child.setMaximizing(!isMaximizing());
+            child.setMoveSequence(moveSequence);
+            child.setSnapshot(applyMoveSequence(moveSequence, getSnapshot().deepClone()));
+            children.add(child);
+        }
+
+        return children;
+    }
+
+    /**
+     * the capture chains of the player followed by its plain moves. when capturing is forced the plain moves are
+     * left out as long as there is a chain.
+     * the chains are walked on the snapshot itself, a board is only cloned later for the child a chain becomes
+     */
+    private List<MoveSequence> generateMoveSequences(final String playerId) {
+        final List<MoveSequence> moveSequences = new ArrayList<>();
+
+        final CaptureChainGenerator captureChains = CAPTURE_CHAINS.get();
+        final int chainCount = captureChains.generate(getSnapshot(), playerId);
+        for(int chain = 0; chain < chainCount; chain++) {
+            moveSequences.add(captureChains.toMoveSequence(chain));
+        }
+        if(!moveSequences.isEmpty() && getSnapshot().getCaptureRule().isForceCapture()) return moveSequences;
+
+        for(Piece piece : getSnapshot().getPieces()) {
+            if(!piece.getPlayerId().equals(playerId)) continue;
+
+            for(LandingSpot landingSpot : getSnapshot().findLandingSpots(piece, piece.getRow(), piece.getCol())) {
+                if(landingSpot.isAfterJump()) continue;
+
+                final Move move = buildMove(
+                        piece.getId(), piece.getRow(), landingSpot.getRowCol().x, piece.getCol(), landingSpot.getRowCol().y
+                );
+                moveSequences.add(new MoveSequence(playerId, Arrays.asList(move)));
+            }
+        }
+
+        return moveSequences;
+    }
+
+    /**
+     * make/unmake version of recursivelyBuildChildren.
+     * all the nodes share the position held by the context, each child makes its move on it
+     * and takes it back once its subtree has been searched so no board is ever cloned
+     * @param context holds the shared position and the move buffers
+     * @param depth number of levels to build
+     */
+    public float recursivelyBuildChildren(final SearchContext context, final int depth, float alpha, float beta) {
+
+        if(context.shouldStop()) return 0;
+
+        final SearchStatistics statistics = context.getStatistics();
+        statistics.countNode(context.getPly());
+
+        final BitBoard position = context.getPosition();
+        final TranspositionTable transpositionTable = context.getTranspositionTable();
+        final Tablebase tablebase = context.getTablebase();
+
+        // the endgame tables know the result of positions with few pieces, no need to search them
+        if(tablebase != null && context.getPly() > 0) {
+            final int value = tablebase.probe(position);
+            if(value != Tablebase.NOT_FOUND) {
+                statistics.countTablebaseHit();
+                final float score = Tablebase.scoreOf(value, context.getPly());
+                setHeuristic(isMaximizing() ? score : -score);
+                return getHeuristic();
+            }
+        }
+
+        long tableMove = 0;
+
+        if(transpositionTable != null) {
+            final TranspositionEntry entry = context.getTableEntry();
+
+            final boolean hit = transpositionTable.probe(position.getHash(), entry);
+            statistics.countTableProbe(hit);
+
+            if(hit) {
+                tableMove = entry.getMove();
+
+                // the root always searches so it can pick its optimal child
+                if(context.getPly() > 0 && entry.getDepth() >= depth) {
+                    final float tableScore = Tablebase.fromTableScore(entry.getScore(), context.getPly());
+                    final Bound bound = entry.getBound();
+
+                    if(bound == Bound.EXACT) {
+                        setHeuristic(tableScore);
+                        return tableScore;
+                    }
+
+                    if(bound == Bound.LOWER) alpha = Math.max(alpha, tableScore);
+                    if(bound == Bound.UPPER) beta = Math.min(beta, tableScore);
+
+                    if(beta <= alpha) {
+                        setHeuristic(tableScore);
+                        return tableScore;
+                    }
+                }
+            }
+        }
+
+        if(depth == 0) {
+            setHeuristic(searchCaptures(context, alpha, beta, isMaximizing()));
+            if(transpositionTable != null && !context.isAborted())
+                transpositionTable.store(position.getHash(), 0, Tablebase.toTableScore(getHeuristic(), context.getPly()),
+                        boundOf(getHeuristic(), alpha, beta), 0);
+            return getHeuristic();
+        }
+
+        final float searchedAlpha = alpha;
+        final float searchedBeta = beta;
+
+        final MoveList moveList = context.getMoveList();
+        position.generateMoves(moveList);
+
+        // the moves most likely to cause a cutoff are searched first
+        context.getMoveOrderer().order(moveList, context.getPly(), tableMove);
+
+        float bestScore = isMaximizing() ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        Node optimalNode = null;
+
+        for(int i = 0; i < moveList.size(); i++) {
+
+            final long move = moveList.get(i);
+
+            final Node child = new Node(move, !isMaximizing());
+
+            final long undo = context.makeMove(move);
+            final float childScore = child.recursivelyBuildChildren(context, depth - 1, alpha, beta);
+            context.unmakeMove(move, undo);
+
+            // an unfinished subtree must not be scored or stored
+            if(context.isAborted()) return 0;
+
+            // a lost position still has to play one of its moves
+            if (isMaximizing()) {
+                if (childScore > bestScore || optimalNode == null) {
+                    bestScore = childScore;
+                    optimalNode = child;
+                }
+                alpha = Math.max(alpha, bestScore);
+            } else {
+                if (childScore < bestScore || optimalNode == null) {
+                    bestScore = childScore;
+                    optimalNode = child;
+                }
+                beta = Math.min(beta, bestScore);
+            }
+
+            if(context.getTreeRetention() == TreeRetention.FULL) getChildren().add(child);
+
+            //prune the branch
+            if (beta <= alpha) {
+                context.getMoveOrderer().recordCutoff(move, context.getPly(), depth);
+                statistics.countCutoff(context.getPly());
+                break;
+            }
+
+        }
+
+        setOptimalNode(optimalNode);
+
+        setHeuristic(bestScore);
+
+        if(transpositionTable != null) {
+            transpositionTable.store(position.getHash(), depth, Tablebase.toTableScore(bestScore, context.getPly()),
+                    boundOf(bestScore, searchedAlpha, searchedBeta),
+                    optimalNode == null ? 0 : optimalNode.getMove());
+        }
+
+        return bestScore;
+    }
+
+    /**
+     * quiescence search. keeps playing captures past the search horizon until the position is quiet
+     * so a leaf is never scored in the middle of an exchange.
+     * when captures are forced the side to move cannot decline them, so the position is only scored as it stands
+     * once there is nothing left to capture
+     * @param maximizing true if the side to move is the computer
+     */
+    private float searchCaptures(final SearchContext context, float alpha, float beta, final boolean maximizing) {
+
+        if(context.shouldStop()) return 0;
+
+        context.getStatistics().countQuiescenceNode(context.getPly());
+
+        final BitBoard position = context.getPosition();
+        final MoveList moveList = context.getMoveList();
+        moveList.clear();
+
+        if(context.getPly() < SearchContext.MAX_PLY - 1) position.generateCaptures(moveList, position.getSideToMove());
+
+        if(moveList.isEmpty()) return context.evaluate();
+
+        float bestScore = maximizing ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+
+        if(!position.isForceCapture()) {
+            // the side to move may ignore the captures so it gets at least the score of the position as it stands
+            bestScore = context.evaluate();
+
+            if(maximizing) alpha = Math.max(alpha, bestScore); else beta = Math.min(beta, bestScore);
+            if(beta <= alpha) return bestScore;
+        }
+
+        context.getMoveOrderer().order(moveList, context.getPly(), 0);
+
+        for(int i = 0; i < moveList.size(); i++) {
+            final long move = moveList.get(i);
+
+            final long undo = context.makeMove(move);
+            final float score = searchCaptures(context, alpha, beta, !maximizing);
+            context.unmakeMove(move, undo);
+
+            if(context.isAborted()) return 0;
+
+            if (maximizing) {
+                bestScore = Math.max(bestScore, score);
+                alpha = Math.max(alpha, bestScore);
+            } else {
+                bestScore = Math.min(bestScore, score);
+                beta = Math.min(beta, bestScore);
+            }
+
+            if (beta <= alpha) {
+                context.getStatistics().countCutoff(context.getPly());
+                break;
+            }
+        }
+
+        return bestScore;
+    }
+
+    /**
+     * tells how a score found with the given window relates to the real score
+     */
+    private static Bound boundOf(final float score, final float alpha, final float beta) {
+        if(score <= alpha) return Bound.UPPER;
+        if(score >= beta) return Bound.LOWER;
+        return Bound.EXACT;
+    }
+
+    /**
+     * simulates the moveSequence that was made foe the current checkersBoard
+     */
+    private CheckersBoard applyMoveSequence(final MoveSequence moveSequence, final CheckersBoard checkersBoard){
+        final List<Move> moves = moveSequence.getMoves();
+        final boolean kingDuringCaptureChain = checkersBoard.getNormalPieceRule().isKingDuringCaptureChain();
+
+        for(int i = 0; i < moves.size(); i++) {
+            final Move move = moves.get(i);
+            final Piece piece = checkersBoard.findPieceById(move.getPieceId());
+
+            if(move.isCapture()) {
+                final Piece capturedPiece = checkersBoard.findPieceById(move.getCapturedPieceId());
+                checkersBoard.removePiece(capturedPiece);
+            }
+
+            //set row and col for the new position
+            checkersBoard.movePiece(piece, move.getToRow(), move.getToCol());
+
+            // the piece is crowned where it stops, or on the way when the rules crown during a capture chain
+            if(!piece.isKing() && (kingDuringCaptureChain || i == moves.size() - 1)) {
+                piece.setKing(
+                        checkersBoard.crownKing(checkersBoard.getCreator().getId(), piece.getPlayerId(), move.getToRow())
+                );
+            }
+
+        }
+        return checkersBoard;
+    }
+
+
+
+    private Move buildMove(final String pieceId, final int fromRow, final int toRow,
+                                 final int fromCol, final int toCol) {
+        final Move move = new Move();
+        move.setId(UUID.randomUUID().toString());
+        move.setFromRow(fromRow);
+        move.setToRow(toRow);
+        move.setFromCol(fromCol);
+        move.setToCol(toCol);
+        move.setPieceId(pieceId);
+
+        return move;
+    }
+
+
+    public boolean isMaximizing() {
+        return maximizing;
+    }
+
+    public void setMaximizing(boolean maximizing) {
+        this.maximizing = maximizing;
+    }
+
+    public float getHeuristic() {
+        return heuristic;
+    }
+
+    public void setHeuristic(float heuristic) {
+        this.heuristic = heuristic;
+    }
+
+    public CheckersBoard getSnapshot() {
+        return snapshot;
+    }
+
+    public void setSnapshot(CheckersBoard snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * encoded BitMove that led to this node. only set by make/unmake searches
+     */
+    public long getMove() {
+        return move;
+    }
+
+    public void setMove(long move) {
+        this.move = move;
+    }
+
+    public MoveSequence getMoveSequence() {
+        return moveSequence;
+    }
+
+    public void setMoveSequence(MoveSequence moveSequence) {
+        this.moveSequence = moveSequence;
+    }
+
+    public List<Node> getChildren() {
+        if(children == null) children = new ArrayList<>();
+        return children;
+    }
+
+    public void setChildren(List<Node> children) {
+        this.children = children;
+    }
+}
@@ -0,0 +1,220 @@
+package com.gerryshom.checkersboardview.ai.model;
+
+import com.gerryshom.checkersboardview.ai.enums.Bound;
+import com.gerryshom.checkersboardview.ai.enums.TreeRetention;
+import com.gerryshom.checkersboardview.ai.engine.SearchHandle;
+import com.gerryshom.checkersboardview.ai.heuristic.Evaluator;
+import com.gerryshom.checkersboardview.ai.ordering.MoveOrderer;
+import com.gerryshom.checkersboardview.ai.table.TranspositionEntry;
+import com.gerryshom.checkersboardview.ai.table.TranspositionTable;
+import com.gerryshom.checkersboardview.ai.tablebase.Tablebase;
+import com.gerryshom.checkersboardview.board.model.BitBoard;
+import com.gerryshom.checkersboardview.movement.model.MoveList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * young brothers wait search of the root on a ForkJoinPool.
+ * the eldest (best ordered) move is searched alone first so there is a score to beat,
+ * then all its younger brothers are searched at the same time, each on its own copy of the position.
+ * the threads only share the transposition table, the move orderer and the best score found so far,
+ * which every brother uses as its alpha when it starts
+ */
+@SuppressWarnings("serial") // a fork join task, never serialized
+public class ParallelRootSearch extends RecursiveAction {
+
+    private final Node root;
+    private final BitBoard position;
+    private final TranspositionTable transpositionTable;
+    private final MoveOrderer moveOrderer;
+    private final int depth;
+    private final long deadlineNanos;
+    private final SearchHandle searchHandle;
+    private Tablebase tablebase;
+    private Evaluator evaluator;
+    private TreeRetention treeRetention = TreeRetention.FULL;
+
+    private final SearchStatistics statistics = new SearchStatistics();
+    private boolean complete;
+
+    /**
+     * @param root maximizing root node. gets its children and optimal node like a serial search
+     * @param position position of the root. it is only copied, never modified
+     * @param transpositionTable table shared by all the threads. may be null
+     * @param moveOrderer orderer shared by all the threads
+     * @param deadlineNanos System.nanoTime value the search has to stop at. 0 searches without a deadline
+     * @param searchHandle handle whose cancel stops every thread of the search. may be null
+     */
+    public ParallelRootSearch(final Node root, final BitBoard position, final TranspositionTable transpositionTable,
+                              final MoveOrderer moveOrderer, final int depth, final long deadlineNanos,
+                              final SearchHandle searchHandle) {
+        this.root = root;
+        this.position = position;
+        this.transpositionTable = transpositionTable;
+        this.moveOrderer = moveOrderer;
+        this.depth = depth;
+        this.deadlineNanos = deadlineNanos;
+        this.searchHandle = searchHandle;
+    }
+
+    @Override
+    protected void compute() {
+        final SearchContext context = createContext(new BitBoard(position));
+
+        final MoveList moveList = new MoveList();
+        context.getPosition().generateMoves(moveList);
+
+        // nothing to split
+        if(moveList.size() < 2 || depth == 0) {
+            root.recursivelyBuildChildren(context, depth, Integer.MIN_VALUE, Integer.MAX_VALUE);
+            statistics.add(context.getStatistics());
+            complete = !context.isAborted();
+            return;
+        }
+
+        // the best move of the previous iteration is the eldest brother
+        final TranspositionEntry entry = context.getTableEntry();
+        final long tableMove = transpositionTable != null && transpositionTable.probe(position.getHash(), entry)
+                ? entry.getMove()
+                : 0;
+        moveOrderer.order(moveList, context.getPly(), tableMove);
+
+        final Node eldest = createChild(moveList.get(0));
+        final long undo = context.makeMove(eldest.getMove());
+        final float eldestScore = eldest.recursivelyBuildChildren(context, depth - 1, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        context.unmakeMove(eldest.getMove(), undo);
+        statistics.add(context.getStatistics());
+
+        if(context.isAborted()) return;
+
+        final AtomicInteger bestScoreBits = new AtomicInteger(Float.floatToIntBits(eldestScore));
+
+        final List<BrotherSearch> brothers = new ArrayList<>();
+        for(int i = 1; i < moveList.size(); i++) {
+            brothers.add(new BrotherSearch(createChild(moveList.get(i)), bestScoreBits));
+        }
+
+        invokeAll(brothers);
+
+        Node optimalNode = eldest;
+        float bestScore = eldestScore;
+        final boolean retainChildren = treeRetention == TreeRetention.FULL;
+        if(retainChildren) root.getChildren().add(eldest);
+
+        for(BrotherSearch brother : brothers) {
+            if(brother.aborted) return;
+
+            if(retainChildren) root.getChildren().add(brother.child);
+
+            // a brother that failed low only proved it is no better than a move already found
+            if(brother.score > brother.alpha && brother.score > bestScore) {
+                bestScore = brother.score;
+                optimalNode = brother.child;
+            }
+        }
+
+        root.setOptimalNode(optimalNode);
+        root.setHeuristic(bestScore);
+
+        if(transpositionTable != null) {
+            transpositionTable.store(position.getHash(), depth, bestScore, Bound.EXACT, optimalNode.getMove());
+        }
+
+        complete = true;
+    }
+
+    /**
+     * @param tablebase endgame tables shared by all the threads. may be null
+     */
+    public ParallelRootSearch setTablebase(final Tablebase tablebase) {
+        this.tablebase = tablebase;
+        return this;
+    }
+
+    /**
+     * @param evaluator scores the leaves of every thread. null uses the default one
+     */
+    public ParallelRootSearch setEvaluator(final Evaluator evaluator) {
+        this.evaluator = evaluator;
+        return this;
+    }
+
+    /**
+     * @param treeRetention which of the searched nodes stay attached to the tree
+     */
+    public ParallelRootSearch setTreeRetention(final TreeRetention treeRetention) {
+        this.treeRetention = treeRetention;
+        return this;
+    }
+
+    /**
+     * counts of every thread of the search
+     */
+    public SearchStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * false when the deadline passed or the search was cancelled before every root move was searched
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    private SearchContext createContext(final BitBoard position) {
+        final SearchContext context = new SearchContext(position, transpositionTable, moveOrderer);
+        context.setDeadlineNanos(deadlineNanos);
+        context.setSearchHandle(searchHandle);
+        context.setTablebase(tablebase);
+        if(evaluator != null) context.setEvaluator(evaluator);
+        context.setTreeRetention(treeRetention);
+        return context;
+    }
+
+    private Node createChild(final long move) {
+        return new Node(move, false);
+    }
+
+    /**
+     * searches a single younger brother on its own copy of the root position
+     */
+    @SuppressWarnings("serial")
+    private class BrotherSearch extends RecursiveAction {
+        private final Node child;
+        private final AtomicInteger bestScoreBits;
+
+        private float alpha;
+        private float score;
+        private boolean aborted;
+
+        private BrotherSearch(final Node child, final AtomicInteger bestScoreBits) {
+            this.child = child;
+            this.bestScoreBits = bestScoreBits;
+        }
+
+        @Override
+        protected void compute() {
+            final SearchContext context = createContext(new BitBoard(position));
+
+            alpha = Float.intBitsToFloat(bestScoreBits.get());
+
+            final long undo = context.makeMove(child.getMove());
+            score = child.recursivelyBuildChildren(context, depth - 1, alpha, Integer.MAX_VALUE);
+            context.unmakeMove(child.getMove(), undo);
+            statistics.add(context.getStatistics());
+
+            aborted = context.isAborted();
+            if(aborted || score <= alpha) return;
+
+            // let the brothers that start later search with the tighter window
+            int current;
+            do {
+                current = bestScoreBits.get();
+                if(Float.intBitsToFloat(current) >= score) return;
+            } while (!bestScoreBits.compareAndSet(current, Float.floatToIntBits(score)));
+        }
+    }
+}
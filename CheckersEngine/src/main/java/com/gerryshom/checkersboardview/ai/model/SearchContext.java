@@ -0,0 +1,189 @@
+package com.gerryshom.checkersboardview.ai.model;
+
+import com.gerryshom.checkersboardview.ai.engine.SearchHandle;
+import com.gerryshom.checkersboardview.ai.enums.TreeRetention;
+import com.gerryshom.checkersboardview.ai.heuristic.DefaultEvaluator;
+import com.gerryshom.checkersboardview.ai.heuristic.Evaluator;
+import com.gerryshom.checkersboardview.ai.ordering.MoveOrderer;
+import com.gerryshom.checkersboardview.ai.table.TranspositionEntry;
+import com.gerryshom.checkersboardview.ai.table.TranspositionTable;
+import com.gerryshom.checkersboardview.ai.tablebase.Tablebase;
+import com.gerryshom.checkersboardview.board.model.BitBoard;
+import com.gerryshom.checkersboardview.movement.model.MoveList;
+import com.gerryshom.checkersboardview.player.Player;
+
+/**
+ * state shared by every node of a make/unmake search.
+ * holds the single mutable position and a move buffer for every ply
+ */
+public class SearchContext {
+    public static final int MAX_PLY = 128;
+    // reading the clock on every node costs more than the nodes themselves
+    private static final int STOP_CHECK_INTERVAL = 1024;
+
+    private final BitBoard position;
+    private final MoveList[] moveLists = new MoveList[MAX_PLY];
+    private final TranspositionTable transpositionTable;
+    private final TranspositionEntry tableEntry = new TranspositionEntry();
+    private final MoveOrderer moveOrderer;
+    private Tablebase tablebase;
+    private Evaluator evaluator = DefaultEvaluator.getInstance();
+    private TreeRetention treeRetention = TreeRetention.FULL;
+    private final int maximizer;
+    private final SearchStatistics statistics = new SearchStatistics();
+    private int ply;
+
+    private long deadlineNanos;
+    private SearchHandle searchHandle;
+    private int nodesUntilStopCheck = STOP_CHECK_INTERVAL;
+    private boolean aborted;
+
+    public SearchContext(final BitBoard position) {
+        this(position, null);
+    }
+
+    /**
+     * @param transpositionTable table probed and filled by the search. may be null to search without one
+     */
+    public SearchContext(final BitBoard position, final TranspositionTable transpositionTable) {
+        this(position, transpositionTable, new MoveOrderer());
+    }
+
+    /**
+     * @param moveOrderer orderer whose killers and history the search learns from and adds to
+     */
+    public SearchContext(final BitBoard position, final TranspositionTable transpositionTable, final MoveOrderer moveOrderer) {
+        this.position = position;
+        this.transpositionTable = transpositionTable;
+        this.moveOrderer = moveOrderer;
+        this.maximizer = position.sideOf(Player.computer().getId());
+    }
+
+    /**
+     * makes the move on the shared position and moves one ply deeper
+     * @return the undo record of the move
+     */
+    public long makeMove(final long move) {
+        ply++;
+        return position.makeMove(move);
+    }
+
+    public void unmakeMove(final long move, final long undo) {
+        position.unmakeMove(move, undo);
+        ply--;
+    }
+
+    /**
+     * returns the move buffer of the current ply
+     */
+    public MoveList getMoveList() {
+        if(moveLists[ply] == null) moveLists[ply] = new MoveList();
+        return moveLists[ply];
+    }
+
+    public BitBoard getPosition() {
+        return position;
+    }
+
+    /**
+     * called once per node. every few nodes it aborts the search if the deadline has passed or the search was cancelled
+     * @return true if the search has to stop
+     */
+    public boolean shouldStop() {
+        if(aborted) return true;
+        if(--nodesUntilStopCheck > 0) return false;
+
+        nodesUntilStopCheck = STOP_CHECK_INTERVAL;
+        aborted = (searchHandle != null && searchHandle.isCancelled())
+                || (deadlineNanos != 0 && System.nanoTime() - deadlineNanos >= 0);
+        return aborted;
+    }
+
+    /**
+     * true once the search ran out of time or was cancelled. scores returned after that point are meaningless
+     */
+    public boolean isAborted() {
+        return aborted;
+    }
+
+    /**
+     * @param deadlineNanos System.nanoTime value the search has to stop at. 0 searches without a deadline
+     */
+    public void setDeadlineNanos(final long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * @param searchHandle handle whose cancel stops the search. may be null
+     */
+    public void setSearchHandle(final SearchHandle searchHandle) {
+        this.searchHandle = searchHandle;
+    }
+
+    public TranspositionTable getTranspositionTable() {
+        return transpositionTable;
+    }
+
+    /**
+     * entry the table copies a probed position into. reused by every node of this context
+     */
+    public TranspositionEntry getTableEntry() {
+        return tableEntry;
+    }
+
+    public TreeRetention getTreeRetention() {
+        return treeRetention;
+    }
+
+    /**
+     * @param treeRetention which of the searched nodes stay attached to the tree
+     */
+    public void setTreeRetention(final TreeRetention treeRetention) {
+        this.treeRetention = treeRetention;
+    }
+
+    public Tablebase getTablebase() {
+        return tablebase;
+    }
+
+    /**
+     * @param tablebase endgame tables that replace the search of positions with few pieces. may be null
+     */
+    public void setTablebase(final Tablebase tablebase) {
+        this.tablebase = tablebase;
+    }
+
+    public Evaluator getEvaluator() {
+        return evaluator;
+    }
+
+    /**
+     * @param evaluator scores the leaves. the position should already keep the evaluator's piece square table
+     */
+    public void setEvaluator(final Evaluator evaluator) {
+        this.evaluator = evaluator;
+    }
+
+    /**
+     * scores the current position for the computer
+     */
+    public float evaluate() {
+        statistics.countLeafEvaluation();
+        return evaluator.evaluate(position, maximizer);
+    }
+
+    /**
+     * counts of this context only. a parallel search adds the counts of its threads together
+     */
+    public SearchStatistics getStatistics() {
+        return statistics;
+    }
+
+    public MoveOrderer getMoveOrderer() {
+        return moveOrderer;
+    }
+
+    public int getPly() {
+        return ply;
+    }
+}
@@ -0,0 +1,222 @@
+package com.gerryshom.checkersboardview.ai.model;
+
+import java.util.Locale;
+
+/**
+ * how much work a search did. every thread of a search counts on its own instance through its SearchContext
+ * and the counts are added together once the threads are done, so counting never needs a lock.
+ * only the make/unmake search counts, a snapshot search reports nothing but its depth and time
+ */
+public class SearchStatistics {
+
+    private long nodes;
+    private long quiescenceNodes;
+    private long leafEvaluations;
+    private final long[] cutoffsByPly = new long[SearchContext.MAX_PLY];
+    private long tableProbes;
+    private long tableHits;
+    private long tablebaseHits;
+    private int maxPly;
+
+    private int depth;
+    private long iterationNodes;
+    private long previousIterationNodes;
+    private long elapsedNanos;
+    private boolean tablePresent;
+    private boolean bookMove;
+
+    public SearchStatistics() {
+    }
+
+    public SearchStatistics(final SearchStatistics other) {
+        add(other);
+        depth = other.depth;
+        iterationNodes = other.iterationNodes;
+        previousIterationNodes = other.previousIterationNodes;
+        elapsedNanos = other.elapsedNanos;
+        tablePresent = other.tablePresent;
+        bookMove = other.bookMove;
+    }
+
+    void countNode(final int ply) {
+        nodes++;
+        if(ply > maxPly) maxPly = ply;
+    }
+
+    void countQuiescenceNode(final int ply) {
+        countNode(ply);
+        quiescenceNodes++;
+    }
+
+    void countLeafEvaluation() {
+        leafEvaluations++;
+    }
+
+    void countCutoff(final int ply) {
+        cutoffsByPly[ply]++;
+    }
+
+    void countTableProbe(final boolean hit) {
+        tableProbes++;
+        if(hit) tableHits++;
+    }
+
+    void countTablebaseHit() {
+        tablebaseHits++;
+    }
+
+    /**
+     * adds the counts of another search, for example another thread or an earlier depth.
+     * the depth, time and flags are left as they are
+     */
+    public synchronized void add(final SearchStatistics other) {
+        nodes += other.nodes;
+        quiescenceNodes += other.quiescenceNodes;
+        leafEvaluations += other.leafEvaluations;
+        for(int ply = 0; ply < cutoffsByPly.length; ply++) cutoffsByPly[ply] += other.cutoffsByPly[ply];
+        tableProbes += other.tableProbes;
+        tableHits += other.tableHits;
+        tablebaseHits += other.tablebaseHits;
+        maxPly = Math.max(maxPly, other.maxPly);
+    }
+
+    /**
+     * adds the counts of a completed iteration of iterative deepening and keeps its main search nodes
+     * for the branching factor
+     */
+    public synchronized void addIteration(final SearchStatistics iteration) {
+        add(iteration);
+        previousIterationNodes = iterationNodes;
+        iterationNodes = iteration.nodes - iteration.quiescenceNodes;
+    }
+
+    /**
+     * nodes visited, quiescence nodes included
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * nodes visited by the capture search past the depth
+     */
+    public long getQuiescenceNodes() {
+        return quiescenceNodes;
+    }
+
+    /**
+     * positions the evaluator scored
+     */
+    public long getLeafEvaluations() {
+        return leafEvaluations;
+    }
+
+    /**
+     * beta cutoffs at a ply, 0 being the root
+     */
+    public long getCutoffs(final int ply) {
+        return cutoffsByPly[ply];
+    }
+
+    public long getCutoffs() {
+        long cutoffs = 0;
+        for(long plyCutoffs : cutoffsByPly) cutoffs += plyCutoffs;
+        return cutoffs;
+    }
+
+    /**
+     * how many times more main search nodes the last iteration took than the one before it.
+     * without two iterations it is the branching factor a tree of the reached depth with this many
+     * main search nodes would have on every node. quiescence nodes are left out either way
+     */
+    public double getEffectiveBranchingFactor() {
+        if(iterationNodes > 0 && previousIterationNodes > 0) return (double) iterationNodes / previousIterationNodes;
+
+        final long mainNodes = nodes - quiescenceNodes;
+        if(depth <= 0 || mainNodes <= 1) return 0;
+        return Math.pow(mainNodes, 1.0 / depth);
+    }
+
+    public long getTableProbes() {
+        return tableProbes;
+    }
+
+    public long getTableHits() {
+        return tableHits;
+    }
+
+    /**
+     * share of the table probes that found their position. NaN if the search had no table
+     */
+    public double getTableHitRate() {
+        if(!tablePresent) return Double.NaN;
+        return tableProbes == 0 ? 0 : (double) tableHits / tableProbes;
+    }
+
+    public long getTablebaseHits() {
+        return tablebaseHits;
+    }
+
+    /**
+     * deepest ply any node was visited at, captures searched past the depth included
+     */
+    public int getMaxPly() {
+        return maxPly;
+    }
+
+    /**
+     * deepest depth that was searched completely
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    public void setDepth(int depth) {
+        this.depth = depth;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public double getElapsedMillis() {
+        return elapsedNanos / 1_000_000.0;
+    }
+
+    public double getNodesPerSecond() {
+        return elapsedNanos == 0 ? 0 : nodes * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    public boolean isTablePresent() {
+        return tablePresent;
+    }
+
+    public void setTablePresent(boolean tablePresent) {
+        this.tablePresent = tablePresent;
+    }
+
+    /**
+     * true when the move came from the opening book and nothing was searched
+     */
+    public boolean isBookMove() {
+        return bookMove;
+    }
+
+    public void setBookMove(boolean bookMove) {
+        this.bookMove = bookMove;
+    }
+
+    @Override
+    public String toString() {
+        if(bookMove) return String.format(Locale.US, "book move in %.1fms", getElapsedMillis());
+
+        return String.format(Locale.US,
+                "depth %d (max ply %d), %d nodes, %d evaluations, %d cutoffs, ebf %.2f, table hits %.1f%%, %.1fms, %.0f nodes/s",
+                depth, maxPly, nodes, leafEvaluations, getCutoffs(), getEffectiveBranchingFactor(),
+                getTableHitRate() * 100, getElapsedMillis(), getNodesPerSecond());
+    }
+}
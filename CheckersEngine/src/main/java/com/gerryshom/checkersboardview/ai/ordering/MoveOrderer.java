@@ -0,0 +1,101 @@
+package com.gerryshom.checkersboardview.ai.ordering;
+
+import com.gerryshom.checkersboardview.ai.model.SearchContext;
+import com.gerryshom.checkersboardview.movement.model.BitMove;
+import com.gerryshom.checkersboardview.movement.model.MoveList;
+
+/**
+ * sorts the moves of a node so the ones most likely to cause a cutoff are searched first.
+ * in order: the best move the transposition table remembers, captures (the more pieces taken the better),
+ * promotions, the two killer moves of the ply and finally quiet moves by their history score.
+ *
+ * killers and history are learned from the cutoffs of the search and kept for the whole turn,
+ * so every depth of an iterative deepening search benefits from the depths before it.
+ * the threads of a parallel search share one orderer. a lost update only makes the ordering slightly worse
+ */
+public class MoveOrderer {
+
+    private static final int TABLE_MOVE_SCORE = Integer.MAX_VALUE;
+    private static final int CAPTURE_SCORE = 1_000_000;
+    private static final int CAPTURED_PIECE_SCORE = 1_000;
+    private static final int PROMOTION_SCORE = 900_000;
+    private static final int FIRST_KILLER_SCORE = 800_000;
+    private static final int SECOND_KILLER_SCORE = 799_999;
+    // history scores are halved once one of them gets here so they stay below the killers
+    private static final int MAX_HISTORY_SCORE = 500_000;
+
+    private final long[][] killers = new long[SearchContext.MAX_PLY][2];
+    private final int[][] history = new int[32][32];
+
+    /**
+     * scores the moves and sorts them, best first
+     * @param ply distance from the root of the node the moves belong to
+     * @param tableMove best move stored in the transposition table for the position. 0 if none
+     */
+    public void order(final MoveList moveList, final int ply, final long tableMove) {
+        final long firstKiller = ply < SearchContext.MAX_PLY ? killers[ply][0] : 0;
+        final long secondKiller = ply < SearchContext.MAX_PLY ? killers[ply][1] : 0;
+
+        for(int i = 0; i < moveList.size(); i++) {
+            final long move = moveList.get(i);
+
+            final int score;
+            if(move == tableMove) {
+                score = TABLE_MOVE_SCORE;
+            } else if(BitMove.isCapture(move)) {
+                score = CAPTURE_SCORE + Integer.bitCount(BitMove.captures(move)) * CAPTURED_PIECE_SCORE
+                        + (BitMove.isPromotion(move) ? 1 : 0);
+            } else if(BitMove.isPromotion(move)) {
+                score = PROMOTION_SCORE;
+            } else if(move == firstKiller) {
+                score = FIRST_KILLER_SCORE;
+            } else if(move == secondKiller) {
+                score = SECOND_KILLER_SCORE;
+            } else {
+                score = history[BitMove.from(move)][BitMove.to(move)];
+            }
+
+            moveList.setScore(i, score);
+        }
+
+        moveList.sortByScore();
+    }
+
+    /**
+     * remembers a quiet move that caused a cutoff. captures are searched first anyway
+     * @param depth remaining depth of the node. cutoffs close to the root count for more
+     */
+    public void recordCutoff(final long move, final int ply, final int depth) {
+        if(BitMove.isCapture(move)) return;
+
+        if(ply < SearchContext.MAX_PLY && killers[ply][0] != move) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = move;
+        }
+
+        final int from = BitMove.from(move);
+        final int to = BitMove.to(move);
+        history[from][to] += depth * depth;
+
+        if(history[from][to] > MAX_HISTORY_SCORE) ageHistory();
+    }
+
+    /**
+     * forgets everything learned. call it when the position is not related to the previous search
+     */
+    public void clear() {
+        for(int ply = 0; ply < SearchContext.MAX_PLY; ply++) {
+            killers[ply][0] = 0;
+            killers[ply][1] = 0;
+        }
+        for(int from = 0; from < 32; from++) {
+            for(int to = 0; to < 32; to++) history[from][to] = 0;
+        }
+    }
+
+    private void ageHistory() {
+        for(int from = 0; from < 32; from++) {
+            for(int to = 0; to < 32; to++) history[from][to] >>= 1;
+        }
+    }
+}
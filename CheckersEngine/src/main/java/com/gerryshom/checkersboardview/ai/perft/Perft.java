@@ -0,0 +1,218 @@
+package com.gerryshom.checkersboardview.ai.perft;
+
+import com.gerryshom.checkersboardview.ai.enums.SearchMode;
+import com.gerryshom.checkersboardview.ai.model.Node;
+import com.gerryshom.checkersboardview.board.model.BitBoard;
+import com.gerryshom.checkersboardview.board.model.CheckersBoard;
+import com.gerryshom.checkersboardview.movement.model.MoveList;
+import com.gerryshom.checkersboardview.player.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * counts the move sequences that can be played from a position to a given depth.
+ * a capture chain counts as one move. the counts of a generator only match the counts of another one
+ * if both find exactly the same moves, so perft checks a generator against a trusted one and times it.
+ *
+ * MAKE_UNMAKE counts with the BitBoard generator, SNAPSHOT with CheckersBoard.findLandingSpots and the capture
+ * chain expansion of Node, the way the snapshot search finds its moves.
+ * the rules are the ones of the CheckersBoard the perft is created with
+ */
+public class Perft {
+
+    /**
+     * counts of the starting layout under the default rules from depth 0 up, the creator moving first.
+     * these are the published counts of english draughts
+     */
+    public static final long[] STARTING_POSITION_COUNTS = {
+            1, 7, 49, 302, 1469, 7361, 36768, 179740, 845931
+    };
+
+    private final CheckersBoard checkersBoard;
+    private final String playerIdToMove;
+    private SearchMode searchMode = SearchMode.MAKE_UNMAKE;
+    private ForkJoinPool forkJoinPool;
+
+    private long nanos;
+
+    /**
+     * counts from the board with its active player to move
+     */
+    public Perft(final CheckersBoard checkersBoard) {
+        this(checkersBoard, checkersBoard.getActivePlayerId());
+    }
+
+    public Perft(final CheckersBoard checkersBoard, final String playerIdToMove) {
+        this.checkersBoard = checkersBoard;
+        this.playerIdToMove = playerIdToMove;
+    }
+
+    /**
+     * @return number of move sequences of length depth
+     */
+    public long run(final int depth) {
+        final long start = System.nanoTime();
+
+        final long nodes = searchMode == SearchMode.MAKE_UNMAKE
+                ? countBitBoard(checkersBoard.toBitBoard(playerIdToMove), depth)
+                : countSnapshots(depth);
+
+        nanos = System.nanoTime() - start;
+        return nodes;
+    }
+
+    private long countBitBoard(final BitBoard position, final int depth) {
+        if(forkJoinPool == null || depth < 2) return count(position, depth, new MoveList[depth + 1]);
+
+        final MoveList moveList = new MoveList();
+        position.generateMoves(moveList);
+
+        // every root move is counted on its own copy of the position
+        final List<ForkJoinTask<Long>> tasks = new ArrayList<>();
+        for(int i = 0; i < moveList.size(); i++) {
+            final long move = moveList.get(i);
+            tasks.add(forkJoinPool.submit(() -> {
+                final BitBoard child = new BitBoard(position);
+                child.makeMove(move);
+                return count(child, depth - 1, new MoveList[depth]);
+            }));
+        }
+
+        long nodes = 0;
+        for(ForkJoinTask<Long> task : tasks) nodes += task.join();
+        return nodes;
+    }
+
+    /**
+     * make/unmake count. the position is back to where it was when this returns
+     * @param moveLists a move buffer for every remaining depth
+     */
+    private static long count(final BitBoard position, final int depth, final MoveList[] moveLists) {
+        if(depth == 0) return 1;
+
+        if(moveLists[depth] == null) moveLists[depth] = new MoveList();
+        final MoveList moveList = moveLists[depth];
+        position.generateMoves(moveList);
+
+        // the moves of the last ply only need to be counted
+        if(depth == 1) return moveList.size();
+
+        long nodes = 0;
+        for(int i = 0; i < moveList.size(); i++) {
+            final long move = moveList.get(i);
+            final long undo = position.makeMove(move);
+            nodes += count(position, depth - 1, moveLists);
+            position.unmakeMove(move, undo);
+        }
+        return nodes;
+    }
+
+    private long countSnapshots(final int depth) {
+        final Node root = new Node();
+        root.setSnapshot(checkersBoard.deepClone());
+
+        if(forkJoinPool == null || depth < 2) return count(root, playerIdToMove, depth);
+
+        final String opponentId = checkersBoard.identifyOpponentPlayerId(playerIdToMove);
+        final List<ForkJoinTask<Long>> tasks = new ArrayList<>();
+        for(Node child : root.generateChildren(playerIdToMove)) {
+            tasks.add(forkJoinPool.submit(() -> count(child, opponentId, depth - 1)));
+        }
+
+        long nodes = 0;
+        for(ForkJoinTask<Long> task : tasks) nodes += task.join();
+        return nodes;
+    }
+
+    private static long count(final Node node, final String playerId, final int depth) {
+        if(depth == 0) return 1;
+
+        final List<Node> children = node.generateChildren(playerId);
+        if(depth == 1) return children.size();
+
+        final String opponentId = node.getSnapshot().identifyOpponentPlayerId(playerId);
+        long nodes = 0;
+        for(Node child : children) nodes += count(child, opponentId, depth - 1);
+        return nodes;
+    }
+
+    /**
+     * time the last run took
+     */
+    public long getNanos() {
+        return nanos;
+    }
+
+    public double getNodesPerSecond(final long nodes) {
+        return nanos == 0 ? 0 : nodes * 1_000_000_000.0 / nanos;
+    }
+
+    public SearchMode getSearchMode() {
+        return searchMode;
+    }
+
+    /**
+     * which generator counts the moves
+     */
+    public Perft setSearchMode(SearchMode searchMode) {
+        this.searchMode = searchMode;
+        return this;
+    }
+
+    public ForkJoinPool getForkJoinPool() {
+        return forkJoinPool;
+    }
+
+    /**
+     * pool the root moves are counted on in parallel. null counts on the calling thread
+     */
+    public Perft setForkJoinPool(ForkJoinPool forkJoinPool) {
+        this.forkJoinPool = forkJoinPool;
+        return this;
+    }
+
+    /**
+     * counts the starting layout under the default rules up to a depth and checks the counts against the published ones
+     * usage: Perft [depth] [snapshot] [parallel]
+     */
+    public static void main(final String[] args) {
+        final int maxDepth = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+
+        boolean snapshot = false;
+        boolean parallel = false;
+        for(int i = 1; i < args.length; i++) {
+            if(args[i].equals("snapshot")) snapshot = true;
+            else if(args[i].equals("parallel")) parallel = true;
+            else throw new RuntimeException("usage: Perft [depth] [snapshot] [parallel]");
+        }
+
+        final CheckersBoard checkersBoard = CheckersBoard.createCheckersBoard(
+                Player.human().getId(), Player.human(), Player.computer()
+        );
+
+        final Perft perft = new Perft(checkersBoard)
+                .setSearchMode(snapshot ? SearchMode.SNAPSHOT : SearchMode.MAKE_UNMAKE)
+                .setForkJoinPool(parallel ? ForkJoinPool.commonPool() : null);
+
+        boolean failed = false;
+        for(int depth = 1; depth <= maxDepth; depth++) {
+            final long nodes = perft.run(depth);
+
+            String check = "";
+            if(depth < STARTING_POSITION_COUNTS.length) {
+                final boolean matches = nodes == STARTING_POSITION_COUNTS[depth];
+                check = matches ? " ok" : " expected " + STARTING_POSITION_COUNTS[depth];
+                failed |= !matches;
+            }
+
+            System.out.println(String.format(Locale.US, "depth %d: %d nodes, %.1fms, %.0f nodes/s%s",
+                    depth, nodes, perft.getNanos() / 1_000_000.0, perft.getNodesPerSecond(nodes), check));
+        }
+
+        if(failed) throw new RuntimeException("perft counts do not match the reference counts");
+    }
+}
@@ -0,0 +1,49 @@
+package com.gerryshom.checkersboardview.ai.table;
+
+import com.gerryshom.checkersboardview.ai.enums.Bound;
+
+/**
+ * copy of a single transposition table entry.
+ * the table fills it in place on a probe so the search can reuse one instance instead of allocating
+ */
+public class TranspositionEntry {
+    private long move;
+    private float score;
+    private int depth;
+    private Bound bound;
+
+    public TranspositionEntry() {
+    }
+
+    public long getMove() {
+        return move;
+    }
+
+    public void setMove(long move) {
+        this.move = move;
+    }
+
+    public float getScore() {
+        return score;
+    }
+
+    public void setScore(float score) {
+        this.score = score;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public void setDepth(int depth) {
+        this.depth = depth;
+    }
+
+    public Bound getBound() {
+        return bound;
+    }
+
+    public void setBound(Bound bound) {
+        this.bound = bound;
+    }
+}
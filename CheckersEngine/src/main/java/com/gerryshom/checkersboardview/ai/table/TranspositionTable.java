@@ -0,0 +1,133 @@
+package com.gerryshom.checkersboardview.ai.table;
+
+import com.gerryshom.checkersboardview.ai.enums.Bound;
+import com.gerryshom.checkersboardview.ai.enums.ReplacementPolicy;
+
+/**
+ * fixed size hash table of searched positions keyed by their zobrist hash.
+ * every entry remembers the depth the position was searched to, the score, how the score is bounded
+ * and the best move found so the same position is not searched twice.
+ *
+ * the table is shared by the threads of a parallel search without any locking.
+ * an entry is two longs, the move and the packed score/depth/bound/generation, and the slot stores
+ * the key xor-ed with both of them. a slot half written by another thread no longer xors back to its key
+ * so the probe treats it as a miss instead of returning a mix of two entries
+ */
+public class TranspositionTable {
+
+    public static final int DEFAULT_ENTRY_COUNT = 1 << 16;
+
+    private static final Bound[] BOUNDS = Bound.values();
+
+    // layout of a packed entry
+    private static final int DEPTH_SHIFT = 32;
+    private static final int BOUND_SHIFT = 40;
+    private static final int GENERATION_SHIFT = 48;
+    private static final long USED = 1L << 56;
+
+    private final ReplacementPolicy replacementPolicy;
+    private final int indexMask;
+
+    private final long[] checks;
+    private final long[] moves;
+    private final long[] entries;
+
+    private volatile int generation;
+
+    public TranspositionTable() {
+        this(DEFAULT_ENTRY_COUNT, ReplacementPolicy.DEPTH_PREFERRED);
+    }
+
+    /**
+     * @param entryCount number of entries. rounded down to a power of two
+     * @param replacementPolicy how a full slot is handled when a new entry is stored
+     */
+    public TranspositionTable(final int entryCount, final ReplacementPolicy replacementPolicy) {
+        if(entryCount <= 0) throw new IllegalArgumentException("entryCount must be positive");
+
+        final int size = Integer.highestOneBit(entryCount);
+
+        this.replacementPolicy = replacementPolicy;
+        this.indexMask = size - 1;
+
+        checks = new long[size];
+        moves = new long[size];
+        entries = new long[size];
+    }
+
+    /**
+     * marks the start of a new search so entries from earlier searches can be replaced first
+     */
+    public void newSearch() {
+        generation = (generation + 1) & 0xFF;
+    }
+
+    /**
+     * looks a position up
+     * @param key zobrist hash of the position
+     * @param entry filled with the stored entry when the position is found
+     * @return true if the position is in the table
+     */
+    public boolean probe(final long key, final TranspositionEntry entry) {
+        final int index = index(key);
+
+        // read every word once, another thread may be writing the slot
+        final long packed = entries[index];
+        final long move = moves[index];
+        if((packed & USED) == 0 || (checks[index] ^ move ^ packed) != key) return false;
+
+        entry.setMove(move);
+        entry.setScore(Float.intBitsToFloat((int) packed));
+        entry.setDepth((int) ((packed >>> DEPTH_SHIFT) & 0xFF));
+        entry.setBound(BOUNDS[(int) ((packed >>> BOUND_SHIFT) & 0xFF)]);
+        return true;
+    }
+
+    public void store(final long key, final int depth, final float score, final Bound bound, final long move) {
+        final int index = index(key);
+
+        final long oldPacked = entries[index];
+        final long oldMove = moves[index];
+        final boolean used = (oldPacked & USED) != 0;
+        final boolean samePosition = used && (checks[index] ^ oldMove ^ oldPacked) == key;
+
+        final int generation = this.generation;
+
+        if(used && !samePosition && replacementPolicy == ReplacementPolicy.DEPTH_PREFERRED
+                && ((oldPacked >>> GENERATION_SHIFT) & 0xFF) == generation
+                && ((oldPacked >>> DEPTH_SHIFT) & 0xFF) > depth) return;
+
+        // keep the old best move when the new search of the same position did not find one
+        final long storedMove = move == 0 && samePosition ? oldMove : move;
+
+        final long packed = (Float.floatToIntBits(score) & 0xFFFFFFFFL)
+                | ((long) Math.min(depth, 0xFF) << DEPTH_SHIFT)
+                | ((long) bound.ordinal() << BOUND_SHIFT)
+                | ((long) generation << GENERATION_SHIFT)
+                | USED;
+
+        moves[index] = storedMove;
+        entries[index] = packed;
+        checks[index] = key ^ storedMove ^ packed;
+    }
+
+    public int size() {
+        return checks.length;
+    }
+
+    public ReplacementPolicy getReplacementPolicy() {
+        return replacementPolicy;
+    }
+
+    public void clear() {
+        for(int i = 0; i < checks.length; i++) {
+            checks[i] = 0;
+            moves[i] = 0;
+            entries[i] = 0;
+        }
+    }
+
+    private int index(final long key) {
+        return (int) (key ^ (key >>> 32)) & indexMask;
+    }
+}
@@ -0,0 +1,151 @@
+package com.gerryshom.checkersboardview.ai.tablebase;
+
+import com.gerryshom.checkersboardview.board.model.BitBoard;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * read only view of a tablebase file written by TablebaseGenerator.
+ * the file is memory mapped so only the pages the search touches are ever loaded
+ * and probes from several threads never block each other.
+ *
+ * a probe returns a single value from the point of view of the side to move:
+ * 0 is a draw, n > 0 wins in n plies and n < 0 loses in -n - 1 plies with perfect play.
+ * the file does not know about the GameFlowRule turn limits, a long win can still be a draw over the board
+ */
+public class Tablebase {
+
+    static final int MAGIC = 0x434B5442;
+    static final int VERSION = 1;
+
+    public static final int NOT_FOUND = Integer.MIN_VALUE;
+    public static final int DRAW = 0;
+
+    /**
+     * score of a won position. far above anything the heuristic gives so a won endgame is always preferred
+     */
+    public static final float WIN_SCORE = 10_000;
+
+    private final MappedByteBuffer buffer;
+    private final int rulesKey;
+    private final int maxPieces;
+
+    // file offset of the table of every signature, -1 if it is not in the file
+    private final int[] offsets = new int[1 << 12];
+
+    private Tablebase(final MappedByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+
+        if(buffer.getInt() != MAGIC) throw new IOException("not a tablebase file");
+        if(buffer.getInt() != VERSION) throw new IOException("unsupported tablebase version");
+
+        rulesKey = buffer.getInt();
+        maxPieces = buffer.getInt();
+
+        Arrays.fill(offsets, -1);
+        final int signatureCount = buffer.getInt();
+        for(int i = 0; i < signatureCount; i++) {
+            final int signature = buffer.getInt();
+            offsets[signature] = buffer.getInt();
+        }
+    }
+
+    /**
+     * maps a tablebase file into memory
+     */
+    public static Tablebase open(final File file) throws IOException {
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+             FileChannel channel = randomAccessFile.getChannel()) {
+            // the mapping stays valid after the channel is closed
+            return new Tablebase(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * looks a position up. safe to call from several threads at once
+     * @return the value of the position for the side to move or NOT_FOUND if the file does not hold it,
+     * for example when it has too many pieces or was generated for other rules
+     */
+    public int probe(final BitBoard position) {
+        if(Integer.bitCount(position.occupied()) > maxPieces) return NOT_FOUND;
+        if(position.pieces(BitBoard.CREATOR) == 0 || position.pieces(BitBoard.OPPONENT) == 0) return NOT_FOUND;
+        if(position.getRulesKey() != rulesKey) return NOT_FOUND;
+
+        final int signature = TablebaseIndex.signatureOf(position);
+        final int offset = offsets[signature];
+        if(offset < 0) return NOT_FOUND;
+
+        return buffer.get(offset + (int) TablebaseIndex.indexOf(position, signature));
+    }
+
+    public static boolean isWin(final int value) {
+        return value > 0;
+    }
+
+    public static boolean isLoss(final int value) {
+        return value < 0 && value != NOT_FOUND;
+    }
+
+    /**
+     * @return plies until the game ends with perfect play. 0 for a draw
+     */
+    public static int distanceOf(final int value) {
+        return value < 0 ? -value - 1 : value;
+    }
+
+    /**
+     * converts a probed value into a score for the side to move.
+     * quicker wins and slower losses score higher
+     */
+    public static float scoreOf(final int value) {
+        return scoreOf(value, 0);
+    }
+
+    /**
+     * converts a value probed at a ply of a search into a score for the side to move.
+     * the plies played to reach the position count towards the distance, so the search prefers
+     * the shortest whole line into a won ending and the longest into a lost one
+     */
+    public static float scoreOf(final int value, final int ply) {
+        if(isWin(value)) return WIN_SCORE - (ply + distanceOf(value));
+        if(isLoss(value)) return -(WIN_SCORE - (ply + distanceOf(value)));
+        return 0;
+    }
+
+    /**
+     * makes a score found at a ply relative to the position before it goes into the transposition table,
+     * so a tablebase win found again at another ply keeps its distance. other scores are left as they are
+     */
+    public static float toTableScore(final float score, final int ply) {
+        if(!isTablebaseScore(score)) return score;
+        return score > 0 ? score + ply : score - ply;
+    }
+
+    /**
+     * turns a score read from the transposition table back into a score at the ply it was found at
+     */
+    public static float fromTableScore(final float score, final int ply) {
+        if(!isTablebaseScore(score)) return score;
+        return score > 0 ? score - ply : score + ply;
+    }
+
+    private static boolean isTablebaseScore(final float score) {
+        return Math.abs(score) <= WIN_SCORE && Math.abs(score) > WIN_SCORE / 2;
+    }
+
+    /**
+     * positions with more pieces than this are never in the file
+     */
+    public int getMaxPieces() {
+        return maxPieces;
+    }
+
+    public int getRulesKey() {
+        return rulesKey;
+    }
+}
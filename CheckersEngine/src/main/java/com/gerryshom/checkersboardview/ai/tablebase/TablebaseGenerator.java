@@ -0,0 +1,241 @@
+package com.gerryshom.checkersboardview.ai.tablebase;
+
+import com.gerryshom.checkersboardview.board.model.BitBoard;
+import com.gerryshom.checkersboardview.board.model.CheckersBoard;
+import com.gerryshom.checkersboardview.movement.model.MoveList;
+import com.gerryshom.checkersboardview.player.Player;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * builds the win/loss/draw tables of every position with up to maxPieces pieces by retrograde analysis.
+ *
+ * a capture always leads to a signature with fewer pieces and a promotion to one with fewer men,
+ * so the signatures are solved in that order and every move out of the signature being solved
+ * lands in a table that is already finished.
+ * inside a signature the positions are solved in rounds: round n finds the positions that win or lose in exactly n plies.
+ * a side to move with no moves (or no pieces) has lost, like on the board.
+ * whatever is still unsolved once a round finds nothing new is a draw
+ */
+public class TablebaseGenerator {
+
+    public static final int DEFAULT_MAX_PIECES = 4;
+    public static final int MAX_PIECES = 6;
+
+    // longest distance a stored byte can hold
+    private static final int MAX_DISTANCE = 127;
+    private static final int UNSOLVED = Integer.MIN_VALUE;
+
+    private final BitBoard rules;
+    private final int maxPieces;
+
+    private final List<Integer> signatures = new ArrayList<>();
+    private final byte[][] tables = new byte[1 << 12][];
+    private int maxDistance;
+
+    /**
+     * generates the tables for the default rules
+     */
+    public TablebaseGenerator(final int maxPieces) {
+        this(createDefaultBoard(), maxPieces);
+    }
+
+    /**
+     * @param checkersBoard board whose rules the tables are generated for. its pieces are ignored
+     * @param maxPieces most pieces on the board, both sides counted
+     */
+    public TablebaseGenerator(final CheckersBoard checkersBoard, final int maxPieces) {
+        if(maxPieces < 2 || maxPieces > MAX_PIECES) throw new RuntimeException("max pieces must be between 2 and " + MAX_PIECES);
+
+        this.rules = checkersBoard.toBitBoard(checkersBoard.getCreator().getId());
+        this.maxPieces = maxPieces;
+    }
+
+    /**
+     * generates the tables and writes them to the file
+     */
+    public static void main(final String[] args) throws IOException {
+        if(args.length < 1) throw new RuntimeException("usage: TablebaseGenerator <output file> [max pieces]");
+
+        final int maxPieces = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_MAX_PIECES;
+        new TablebaseGenerator(maxPieces).generate().write(new File(args[0]));
+    }
+
+    private static CheckersBoard createDefaultBoard() {
+        final CheckersBoard checkersBoard = new CheckersBoard();
+        checkersBoard.setCreator(Player.human());
+        checkersBoard.setOpponent(Player.computer());
+        checkersBoard.setPieces(new ArrayList<>());
+        return checkersBoard;
+    }
+
+    /**
+     * solves every signature. takes a while, it is meant to run once at build time and not on a phone
+     */
+    public TablebaseGenerator generate() {
+        signatures.clear();
+
+        for(int pieces = 2; pieces <= maxPieces; pieces++) {
+            for(int creatorMen = 0; creatorMen < pieces; creatorMen++) {
+                for(int creatorKings = 0; creatorMen + creatorKings < pieces; creatorKings++) {
+                    if(creatorMen + creatorKings == 0) continue;
+
+                    for(int opponentMen = 0; creatorMen + creatorKings + opponentMen <= pieces; opponentMen++) {
+                        final int opponentKings = pieces - creatorMen - creatorKings - opponentMen;
+                        signatures.add(TablebaseIndex.signatureOf(creatorMen, creatorKings, opponentMen, opponentKings));
+                    }
+                }
+            }
+        }
+
+        // fewer pieces first, then fewer men
+        Collections.sort(signatures, (first, second) -> {
+            final int byPieces = Integer.compare(TablebaseIndex.pieceCount(first), TablebaseIndex.pieceCount(second));
+            return byPieces != 0 ? byPieces : Integer.compare(TablebaseIndex.menCount(first), TablebaseIndex.menCount(second));
+        });
+
+        for(int signature : signatures) {
+            tables[signature] = solve(signature);
+        }
+
+        return this;
+    }
+
+    private byte[] solve(final int signature) {
+        final long size = TablebaseIndex.sizeOf(signature);
+        if(size > Integer.MAX_VALUE) throw new RuntimeException("signature too large for a single table");
+
+        final byte[] values = new byte[(int) size];
+        final BitBoard position = new BitBoard(rules);
+        final MoveList moveList = new MoveList();
+
+        int unsolvedCount = 0;
+        final int[] unsolved = new int[values.length];
+        for(int index = 0; index < values.length; index++) {
+            if(TablebaseIndex.setPosition(position, signature, index)) unsolved[unsolvedCount++] = index;
+        }
+
+        final int[] solved = new int[unsolvedCount];
+        final byte[] solvedValues = new byte[unsolvedCount];
+
+        // moves into finished tables can still decide positions up to one ply after their longest distance
+        final int finishedDistance = maxDistance;
+
+        for(int round = 0; round <= MAX_DISTANCE && unsolvedCount > 0; round++) {
+            int solvedCount = 0;
+            int remaining = 0;
+
+            for(int i = 0; i < unsolvedCount; i++) {
+                final int index = unsolved[i];
+                TablebaseIndex.setPosition(position, signature, index);
+
+                final int value = solve(position, signature, values, round, moveList);
+                if(value == UNSOLVED) {
+                    unsolved[remaining++] = index;
+                } else {
+                    solved[solvedCount] = index;
+                    solvedValues[solvedCount++] = (byte) value;
+                }
+            }
+
+            // written after the round so every position of the round only sees shorter distances
+            for(int i = 0; i < solvedCount; i++) {
+                values[solved[i]] = solvedValues[i];
+            }
+
+            unsolvedCount = remaining;
+
+            if(solvedCount > 0) {
+                maxDistance = Math.max(maxDistance, round);
+            } else if(round > finishedDistance + 1) {
+                break;
+            }
+        }
+
+        return values;
+    }
+
+    /**
+     * @return the value of the position if it wins or loses in exactly round plies, otherwise UNSOLVED
+     */
+    private int solve(final BitBoard position, final int signature, final byte[] values, final int round, final MoveList moveList) {
+        position.generateMoves(moveList);
+
+        if(round == 0) return moveList.isEmpty() ? -1 : UNSOLVED;
+
+        boolean everyMoveLoses = true;
+
+        for(int i = 0; i < moveList.size(); i++) {
+            final long move = moveList.get(i);
+
+            final long undo = position.makeMove(move);
+            final int childValue = valueOf(position, signature, values);
+            position.unmakeMove(move, undo);
+
+            // the other side is lost after this move
+            if(Tablebase.isLoss(childValue) && Tablebase.distanceOf(childValue) <= round - 1) return round;
+
+            if(!Tablebase.isWin(childValue) || childValue > round - 1) everyMoveLoses = false;
+        }
+
+        return everyMoveLoses ? -round - 1 : UNSOLVED;
+    }
+
+    /**
+     * value of a position reached by a move, read from the table being solved or from a finished one
+     */
+    private int valueOf(final BitBoard position, final int signature, final byte[] values) {
+        if(position.pieces(position.getSideToMove()) == 0) return -1;
+
+        final int childSignature = TablebaseIndex.signatureOf(position);
+        final byte[] table = childSignature == signature ? values : tables[childSignature];
+
+        return table[(int) TablebaseIndex.indexOf(position, childSignature)];
+    }
+
+    /**
+     * writes the solved tables. the header lists the offset of the table of every signature
+     */
+    public void write(final File file) throws IOException {
+        if(signatures.isEmpty()) throw new RuntimeException("generate the tables before writing them");
+
+        long fileSize = 5 * 4 + signatures.size() * 2 * 4;
+        final int[] offsets = new int[signatures.size()];
+        for(int i = 0; i < signatures.size(); i++) {
+            offsets[i] = (int) fileSize;
+            fileSize += tables[signatures.get(i)].length;
+        }
+        if(fileSize > Integer.MAX_VALUE) throw new RuntimeException("tablebase too large for a single file");
+
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            output.writeInt(Tablebase.MAGIC);
+            output.writeInt(Tablebase.VERSION);
+            output.writeInt(rules.getRulesKey());
+            output.writeInt(maxPieces);
+            output.writeInt(signatures.size());
+
+            for(int i = 0; i < signatures.size(); i++) {
+                output.writeInt(signatures.get(i));
+                output.writeInt(offsets[i]);
+            }
+
+            for(int signature : signatures) {
+                output.write(tables[signature]);
+            }
+        }
+    }
+
+    /**
+     * longest win or loss found, in plies
+     */
+    public int getMaxDistance() {
+        return maxDistance;
+    }
+}
@@ -0,0 +1,146 @@
+package com.gerryshom.checkersboardview.ai.tablebase;
+
+import com.gerryshom.checkersboardview.board.model.BitBoard;
+
+/**
+ * maps the positions of one material signature (how many men and kings each side has) to consecutive indexes.
+ * every group of identical pieces is ranked with the combinatorial number system so a signature only has
+ * as many indexes as there are ways to place its pieces. men are never on their own promotion row
+ * so they are ranked over the 28 squares they can stand on
+ */
+public class TablebaseIndex {
+
+    public static final int MAX_PIECES_PER_GROUP = 7;
+
+    private static final int SQUARES = 32;
+    private static final int MAN_SQUARES = 28;
+
+    private static final long[][] BINOMIALS = new long[SQUARES + 1][MAX_PIECES_PER_GROUP + 1];
+
+    static {
+        for(int n = 0; n <= SQUARES; n++) {
+            BINOMIALS[n][0] = 1;
+            for(int k = 1; k <= Math.min(n, MAX_PIECES_PER_GROUP); k++) {
+                BINOMIALS[n][k] = BINOMIALS[n - 1][k - 1] + (k <= n - 1 ? BINOMIALS[n - 1][k] : 0);
+            }
+        }
+    }
+
+    private TablebaseIndex() {
+    }
+
+    /**
+     * packs the piece counts of a signature into a key. each count takes 3 bits
+     */
+    public static int signatureOf(final int creatorMen, final int creatorKings, final int opponentMen, final int opponentKings) {
+        return creatorMen | creatorKings << 3 | opponentMen << 6 | opponentKings << 9;
+    }
+
+    public static int signatureOf(final BitBoard position) {
+        return signatureOf(
+                Integer.bitCount(position.getMen(BitBoard.CREATOR)), Integer.bitCount(position.getKings(BitBoard.CREATOR)),
+                Integer.bitCount(position.getMen(BitBoard.OPPONENT)), Integer.bitCount(position.getKings(BitBoard.OPPONENT))
+        );
+    }
+
+    public static int creatorMen(final int signature) {
+        return signature & 7;
+    }
+
+    public static int creatorKings(final int signature) {
+        return signature >> 3 & 7;
+    }
+
+    public static int opponentMen(final int signature) {
+        return signature >> 6 & 7;
+    }
+
+    public static int opponentKings(final int signature) {
+        return signature >> 9 & 7;
+    }
+
+    public static int pieceCount(final int signature) {
+        return creatorMen(signature) + creatorKings(signature) + opponentMen(signature) + opponentKings(signature);
+    }
+
+    public static int menCount(final int signature) {
+        return creatorMen(signature) + opponentMen(signature);
+    }
+
+    /**
+     * number of indexes of a signature, both sides to move included.
+     * some of them hold pieces on the same square and are never used
+     */
+    public static long sizeOf(final int signature) {
+        return BINOMIALS[MAN_SQUARES][creatorMen(signature)]
+                * BINOMIALS[SQUARES][creatorKings(signature)]
+                * BINOMIALS[MAN_SQUARES][opponentMen(signature)]
+                * BINOMIALS[SQUARES][opponentKings(signature)]
+                * 2;
+    }
+
+    /**
+     * @param position position whose piece counts match the signature
+     * @return index of the position inside its signature
+     */
+    public static long indexOf(final BitBoard position, final int signature) {
+        long index = rank(position.getMen(BitBoard.CREATOR) >>> 4);
+        index = index * BINOMIALS[SQUARES][creatorKings(signature)] + rank(position.getKings(BitBoard.CREATOR));
+        index = index * BINOMIALS[MAN_SQUARES][opponentMen(signature)] + rank(position.getMen(BitBoard.OPPONENT));
+        index = index * BINOMIALS[SQUARES][opponentKings(signature)] + rank(position.getKings(BitBoard.OPPONENT));
+        return index * 2 + position.getSideToMove();
+    }
+
+    /**
+     * sets up the position stored at an index
+     * @return false if the index puts two pieces on the same square. the position is left unchanged
+     */
+    public static boolean setPosition(final BitBoard position, final int signature, long index) {
+        final int sideToMove = (int) (index & 1);
+        index >>= 1;
+
+        final long opponentKingsSize = BINOMIALS[SQUARES][opponentKings(signature)];
+        final int opponentKings = unrank(index % opponentKingsSize, opponentKings(signature));
+        index /= opponentKingsSize;
+
+        final long opponentMenSize = BINOMIALS[MAN_SQUARES][opponentMen(signature)];
+        final int opponentMen = unrank(index % opponentMenSize, opponentMen(signature));
+        index /= opponentMenSize;
+
+        final long creatorKingsSize = BINOMIALS[SQUARES][creatorKings(signature)];
+        final int creatorKings = unrank(index % creatorKingsSize, creatorKings(signature));
+        index /= creatorKingsSize;
+
+        final int creatorMen = unrank(index, creatorMen(signature)) << 4;
+
+        if(Integer.bitCount(creatorMen | creatorKings | opponentMen | opponentKings) != pieceCount(signature)) return false;
+
+        position.setPieces(creatorMen, creatorKings, opponentMen, opponentKings, sideToMove);
+        return true;
+    }
+
+    /**
+     * rank of a set of squares among all the sets of the same size
+     */
+    private static long rank(int squares) {
+        long rank = 0;
+        for(int i = 1; squares != 0; i++) {
+            rank += BINOMIALS[Integer.numberOfTrailingZeros(squares)][i];
+            squares &= squares - 1;
+        }
+        return rank;
+    }
+
+    private static int unrank(long rank, final int count) {
+        int squares = 0;
+        int square = SQUARES;
+        for(int i = count; i > 0; i--) {
+            do {
+                square--;
+            } while (BINOMIALS[square][i] > rank);
+            squares |= 1 << square;
+            rank -= BINOMIALS[square][i];
+        }
+        return squares;
+    }
+}
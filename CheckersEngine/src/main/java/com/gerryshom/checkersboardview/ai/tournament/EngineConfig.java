@@ -0,0 +1,118 @@
+package com.gerryshom.checkersboardview.ai.tournament;
+
+import com.gerryshom.checkersboardview.ai.algorithm.IterativeDeepening;
+import com.gerryshom.checkersboardview.ai.enums.ReplacementPolicy;
+import com.gerryshom.checkersboardview.ai.enums.TreeRetention;
+import com.gerryshom.checkersboardview.ai.heuristic.DefaultEvaluator;
+import com.gerryshom.checkersboardview.ai.heuristic.Evaluator;
+import com.gerryshom.checkersboardview.ai.model.GameTree;
+import com.gerryshom.checkersboardview.ai.model.Node;
+import com.gerryshom.checkersboardview.ai.table.TranspositionTable;
+import com.gerryshom.checkersboardview.board.model.BitBoard;
+
+/**
+ * how one side of a tournament searches its moves
+ */
+public class EngineConfig {
+
+    public static final int DEFAULT_DEPTH = 6;
+
+    private final String name;
+    private int depth = DEFAULT_DEPTH;
+    private long budgetMillis;
+    private Evaluator evaluator = DefaultEvaluator.getInstance();
+    private int tableEntryCount = TranspositionTable.DEFAULT_ENTRY_COUNT;
+
+    public EngineConfig(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * searches a move the way this engine is configured
+     * @param position position with the engine as the computer to move. it is not modified
+     * @param transpositionTable table of this engine for the current game
+     * @return the move to play or 0 if the search found none
+     */
+    long findMove(final BitBoard position, final TranspositionTable transpositionTable) {
+        final GameTree gameTree;
+        if(budgetMillis > 0) {
+            gameTree = new IterativeDeepening(position, budgetMillis)
+                    .setMaxDepth(depth)
+                    .setTranspositionTable(transpositionTable)
+                    .setEvaluator(evaluator)
+                    .setTreeRetention(TreeRetention.PRINCIPAL_VARIATION)
+                    .search();
+        } else {
+            if(transpositionTable != null) transpositionTable.newSearch();
+            gameTree = new GameTree(position, depth)
+                    .setTranspositionTable(transpositionTable)
+                    .setEvaluator(evaluator)
+                    .setTreeRetention(TreeRetention.PRINCIPAL_VARIATION)
+                    .build();
+        }
+
+        final Node optimalNode = gameTree == null ? null : gameTree.getOptimalNode();
+        return optimalNode == null ? 0 : optimalNode.getMove();
+    }
+
+    /**
+     * a new table for a game or null if the engine searches without one
+     */
+    TranspositionTable createTranspositionTable() {
+        return tableEntryCount > 0 ? new TranspositionTable(tableEntryCount, ReplacementPolicy.DEPTH_PREFERRED) : null;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * depth every move is searched to. with a time budget it is the deepest depth the search may reach
+     */
+    public EngineConfig setDepth(int depth) {
+        this.depth = depth;
+        return this;
+    }
+
+    public long getBudgetMillis() {
+        return budgetMillis;
+    }
+
+    /**
+     * think time per move. 0 searches every move to the fixed depth instead
+     */
+    public EngineConfig setBudgetMillis(long budgetMillis) {
+        this.budgetMillis = budgetMillis;
+        return this;
+    }
+
+    public Evaluator getEvaluator() {
+        return evaluator;
+    }
+
+    public EngineConfig setEvaluator(Evaluator evaluator) {
+        this.evaluator = evaluator;
+        return this;
+    }
+
+    public int getTableEntryCount() {
+        return tableEntryCount;
+    }
+
+    /**
+     * size of the transposition table the engine gets for every game. 0 searches without one
+     */
+    public EngineConfig setTableEntryCount(int tableEntryCount) {
+        this.tableEntryCount = tableEntryCount;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return name + (budgetMillis > 0 ? " (" + budgetMillis + "ms, max depth " + depth + ")" : " (depth " + depth + ")");
+    }
+}
@@ -0,0 +1,84 @@
+package com.gerryshom.checkersboardview.ai.tournament;
+
+import java.util.Locale;
+
+/**
+ * outcome and timing of one tournament game, seen from the first engine
+ */
+public class GameResult {
+
+    public static final float WIN = 1;
+    public static final float DRAW = 0.5f;
+    public static final float LOSS = 0;
+
+    private final int gameNumber;
+    private final boolean firstEngineMovedFirst;
+    private final float score;
+    private final int plies;
+    private final long durationNanos;
+    private final long[] searchNanos;
+    private final int[] searchedMoves;
+
+    /**
+     * @param searchNanos time each engine spent searching, the first engine at index 0
+     * @param searchedMoves number of moves each engine searched
+     */
+    GameResult(final int gameNumber, final boolean firstEngineMovedFirst, final float score, final int plies,
+               final long durationNanos, final long[] searchNanos, final int[] searchedMoves) {
+        this.gameNumber = gameNumber;
+        this.firstEngineMovedFirst = firstEngineMovedFirst;
+        this.score = score;
+        this.plies = plies;
+        this.durationNanos = durationNanos;
+        this.searchNanos = searchNanos;
+        this.searchedMoves = searchedMoves;
+    }
+
+    /**
+     * average time an engine took for a move
+     * @param engine 0 for the first engine, 1 for the second
+     */
+    public double getAverageMoveMillis(final int engine) {
+        if(searchedMoves[engine] == 0) return 0;
+        return searchNanos[engine] / 1_000_000.0 / searchedMoves[engine];
+    }
+
+    public long getSearchNanos(final int engine) {
+        return searchNanos[engine];
+    }
+
+    public int getSearchedMoves(final int engine) {
+        return searchedMoves[engine];
+    }
+
+    public int getGameNumber() {
+        return gameNumber;
+    }
+
+    public boolean isFirstEngineMovedFirst() {
+        return firstEngineMovedFirst;
+    }
+
+    /**
+     * WIN, DRAW or LOSS for the first engine
+     */
+    public float getScore() {
+        return score;
+    }
+
+    public int getPlies() {
+        return plies;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "game " + gameNumber
+                + (score == WIN ? " won" : score == DRAW ? " drawn" : " lost")
+                + " in " + plies + " plies, " + durationNanos / 1_000_000 + "ms"
+                + String.format(Locale.US, " (%.1fms / %.1fms per move)", getAverageMoveMillis(0), getAverageMoveMillis(1));
+    }
+}
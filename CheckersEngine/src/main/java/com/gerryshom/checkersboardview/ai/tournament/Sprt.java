@@ -0,0 +1,109 @@
+package com.gerryshom.checkersboardview.ai.tournament;
+
+import com.gerryshom.checkersboardview.ai.enums.SprtDecision;
+
+/**
+ * sequential probability ratio test between two elo differences.
+ * after every game the log likelihood ratio of the results is compared against two bounds derived from the
+ * error rates, so a tournament stops as soon as the games are enough to tell whether a change is an improvement.
+ * the ratio uses the normal approximation of the game scores, so draws count without a draw model
+ */
+public class Sprt {
+
+    private final double elo0;
+    private final double elo1;
+    private final double alpha;
+    private final double beta;
+
+    /**
+     * tests elo 0 against elo 5 with 5% false positives and 5% false negatives
+     */
+    public Sprt() {
+        this(0, 5, 0.05, 0.05);
+    }
+
+    /**
+     * @param elo0 elo difference the change is not wanted at
+     * @param elo1 elo difference the change is wanted at
+     * @param alpha chance of passing a change that is only elo0 strong
+     * @param beta chance of failing a change that is elo1 strong
+     */
+    public Sprt(final double elo0, final double elo1, final double alpha, final double beta) {
+        if(elo1 <= elo0) throw new IllegalArgumentException("elo1 must be greater than elo0");
+
+        this.elo0 = elo0;
+        this.elo1 = elo1;
+        this.alpha = alpha;
+        this.beta = beta;
+    }
+
+    /**
+     * log likelihood ratio of elo1 against elo0 for the results of the first engine
+     */
+    public double llr(final int wins, final int draws, final int losses) {
+        final int games = wins + draws + losses;
+        if(games == 0) return 0;
+
+        final double score = (wins + draws * 0.5) / games;
+        final double variance = (wins * Math.pow(1 - score, 2)
+                + draws * Math.pow(0.5 - score, 2)
+                + losses * Math.pow(score, 2)) / games;
+        if(variance == 0) return 0;
+
+        final double score0 = expectedScore(elo0);
+        final double score1 = expectedScore(elo1);
+
+        return games * (score1 - score0) * (2 * score - score0 - score1) / (2 * variance);
+    }
+
+    public SprtDecision decide(final int wins, final int draws, final int losses) {
+        final double llr = llr(wins, draws, losses);
+        if(llr >= getUpperBound()) return SprtDecision.PASSED;
+        if(llr <= getLowerBound()) return SprtDecision.FAILED;
+        return SprtDecision.UNDECIDED;
+    }
+
+    /**
+     * the test fails once the ratio drops to this
+     */
+    public double getLowerBound() {
+        return Math.log(beta / (1 - alpha));
+    }
+
+    /**
+     * the test passes once the ratio reaches this
+     */
+    public double getUpperBound() {
+        return Math.log((1 - beta) / alpha);
+    }
+
+    /**
+     * score a player that is the given elo stronger is expected to get per game
+     */
+    public static double expectedScore(final double elo) {
+        return 1 / (1 + Math.pow(10, -elo / 400));
+    }
+
+    /**
+     * the opposite of expectedScore
+     */
+    public static double eloOf(final double score) {
+        return -400 * Math.log10(1 / score - 1);
+    }
+
+    public double getElo0() {
+        return elo0;
+    }
+
+    public double getElo1() {
+        return elo1;
+    }
+
+    public double getAlpha() {
+        return alpha;
+    }
+
+    public double getBeta() {
+        return beta;
+    }
+}
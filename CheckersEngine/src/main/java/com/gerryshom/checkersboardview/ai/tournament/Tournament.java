@@ -0,0 +1,300 @@
+package com.gerryshom.checkersboardview.ai.tournament;
+
+import com.gerryshom.checkersboardview.ai.enums.SprtDecision;
+import com.gerryshom.checkersboardview.ai.table.TranspositionTable;
+import com.gerryshom.checkersboardview.board.model.BitBoard;
+import com.gerryshom.checkersboardview.board.model.CheckersBoard;
+import com.gerryshom.checkersboardview.movement.model.MoveList;
+import com.gerryshom.checkersboardview.player.Player;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * plays two engine configurations against each other without a view, one game per core at a time.
+ *
+ * the games come in pairs. both games of a pair start from the same opening, a few random plies from the starting
+ * layout, and the engines swap colours between them so neither gets the better side of an opening.
+ * after every game the result goes into a sequential probability ratio test and the tournament stops
+ * as soon as the test is decided
+ */
+public class Tournament {
+
+    public static final int DEFAULT_MAX_GAMES = 2000;
+    public static final int DEFAULT_OPENING_PLIES = 4;
+    public static final int DEFAULT_MAX_PLIES = 200;
+
+    // the same position reached this often is a draw
+    private static final int REPETITIONS_FOR_DRAW = 3;
+
+    private final EngineConfig firstEngine;
+    private final EngineConfig secondEngine;
+
+    // the engines search as the computer so each side to move needs a board where it is the computer
+    private final CheckersBoard[] searchBoards = new CheckersBoard[2];
+
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private int maxGames = DEFAULT_MAX_GAMES;
+    private int openingPlies = DEFAULT_OPENING_PLIES;
+    private int maxPlies = DEFAULT_MAX_PLIES;
+    private long seed = System.nanoTime();
+    private Sprt sprt = new Sprt();
+    private boolean verbose;
+
+    /**
+     * plays with the default rules
+     */
+    public Tournament(final EngineConfig firstEngine, final EngineConfig secondEngine) {
+        this(CheckersBoard.createCheckersBoard(Player.human().getId(), Player.human(), Player.computer()), firstEngine, secondEngine);
+    }
+
+    /**
+     * @param checkersBoard board whose rules the games are played with. its pieces are ignored,
+     *                      every game starts from the starting layout
+     */
+    public Tournament(final CheckersBoard checkersBoard, final EngineConfig firstEngine, final EngineConfig secondEngine) {
+        this.firstEngine = firstEngine;
+        this.secondEngine = secondEngine;
+
+        final CheckersBoard computerFirst = checkersBoard.deepClone();
+        computerFirst.setCreator(Player.computer());
+        computerFirst.setOpponent(Player.human());
+        computerFirst.setPieces(CheckersBoard.createCheckersBoard(
+                Player.computer().getId(), Player.computer(), Player.human()).getPieces());
+
+        final CheckersBoard computerSecond = checkersBoard.deepClone();
+        computerSecond.setCreator(Player.human());
+        computerSecond.setOpponent(Player.computer());
+        computerSecond.setPieces(CheckersBoard.createCheckersBoard(
+                Player.human().getId(), Player.human(), Player.computer()).getPieces());
+
+        searchBoards[BitBoard.CREATOR] = computerFirst;
+        searchBoards[BitBoard.OPPONENT] = computerSecond;
+    }
+
+    /**
+     * plays until the sprt is decided or the max games are played
+     * @return the results of every game that was played
+     */
+    public TournamentResult run() {
+        final TournamentResult result = new TournamentResult(firstEngine, secondEngine, sprt);
+        final AtomicBoolean decided = new AtomicBoolean();
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(Math.max(1, threads));
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for(int game = 0; game < maxGames; game++) {
+                final int gameNumber = game;
+                futures.add(executorService.submit(() -> {
+                    if(decided.get()) return;
+
+                    final GameResult gameResult = play(gameNumber);
+                    result.add(gameResult);
+                    if(verbose) System.out.println(gameResult);
+
+                    if(result.getDecision() != SprtDecision.UNDECIDED) decided.set(true);
+                }));
+            }
+
+            for(Future<?> future : futures) future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new RuntimeException("a tournament game failed", e.getCause());
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        return result;
+    }
+
+    /**
+     * plays one game. games 2n and 2n + 1 share their opening, the first engine moves first in the even one
+     */
+    GameResult play(final int gameNumber) {
+        final long start = System.nanoTime();
+
+        final BitBoard[] engineBoards = {
+                searchBoards[BitBoard.CREATOR].toBitBoard(Player.computer().getId()),
+                searchBoards[BitBoard.OPPONENT].toBitBoard(Player.computer().getId())
+        };
+        final EngineConfig[] engines = {firstEngine, secondEngine};
+        final TranspositionTable[] transpositionTables = {
+                firstEngine.createTranspositionTable(),
+                secondEngine.createTranspositionTable()
+        };
+
+        final BitBoard position = new BitBoard(engineBoards[BitBoard.CREATOR]);
+        final MoveList moveList = new MoveList();
+        playOpening(position, moveList, new Random(seed + gameNumber / 2));
+
+        // the side of the first engine
+        final int firstEngineSide = gameNumber % 2 == 0 ? position.getSideToMove() : 1 - position.getSideToMove();
+
+        final long[] searchNanos = new long[2];
+        final int[] searchedMoves = new int[2];
+        final Map<Long, Integer> repetitions = new HashMap<>();
+
+        float score = GameResult.DRAW;
+        int plies = 0;
+        while (plies < maxPlies) {
+            position.generateMoves(moveList);
+            if(moveList.isEmpty()) {
+                score = position.getSideToMove() == firstEngineSide ? GameResult.LOSS : GameResult.WIN;
+                break;
+            }
+
+            final Integer seen = repetitions.get(position.getHash());
+            if(seen != null && seen + 1 >= REPETITIONS_FOR_DRAW) break;
+            repetitions.put(position.getHash(), seen == null ? 1 : seen + 1);
+
+            final int side = position.getSideToMove();
+            final int engine = side == firstEngineSide ? 0 : 1;
+
+            final BitBoard engineBoard = engineBoards[side];
+            engineBoard.setPieces(
+                    position.getMen(BitBoard.CREATOR), position.getKings(BitBoard.CREATOR),
+                    position.getMen(BitBoard.OPPONENT), position.getKings(BitBoard.OPPONENT),
+                    side
+            );
+
+            final long searchStart = System.nanoTime();
+            long move = engines[engine].findMove(engineBoard, transpositionTables[engine]);
+            searchNanos[engine] += System.nanoTime() - searchStart;
+            searchedMoves[engine]++;
+
+            // a search that found nothing better still has to move
+            if(move == 0) move = moveList.get(0);
+
+            position.makeMove(move);
+            plies++;
+        }
+
+        return new GameResult(gameNumber, gameNumber % 2 == 0, score, plies,
+                System.nanoTime() - start, searchNanos, searchedMoves);
+    }
+
+    /**
+     * plays random moves from the starting layout. an opening that ends the game is played again
+     */
+    private void playOpening(final BitBoard position, final MoveList moveList, final Random random) {
+        final BitBoard start = new BitBoard(position);
+
+        for(int attempt = 0; attempt < 100; attempt++) {
+            position.setPieces(
+                    start.getMen(BitBoard.CREATOR), start.getKings(BitBoard.CREATOR),
+                    start.getMen(BitBoard.OPPONENT), start.getKings(BitBoard.OPPONENT),
+                    start.getSideToMove()
+            );
+
+            for(int ply = 0; ply < openingPlies; ply++) {
+                position.generateMoves(moveList);
+                if(moveList.isEmpty()) break;
+                position.makeMove(moveList.get(random.nextInt(moveList.size())));
+            }
+
+            position.generateMoves(moveList);
+            if(!moveList.isEmpty()) return;
+        }
+    }
+
+    /**
+     * plays two search depths against each other and prints the result
+     */
+    public static void main(final String[] args) {
+        if(args.length < 2) throw new RuntimeException("usage: Tournament <depth> <other depth> [max games] [budget millis]");
+
+        final long budgetMillis = args.length > 3 ? Long.parseLong(args[3]) : 0;
+        final Tournament tournament = new Tournament(
+                new EngineConfig("first").setDepth(Integer.parseInt(args[0])).setBudgetMillis(budgetMillis),
+                new EngineConfig("second").setDepth(Integer.parseInt(args[1])).setBudgetMillis(budgetMillis)
+        ).setMaxGames(args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_MAX_GAMES).setVerbose(true);
+
+        System.out.println(tournament.run());
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * number of games played at the same time. defaults to the number of cores
+     */
+    public Tournament setThreads(int threads) {
+        this.threads = threads;
+        return this;
+    }
+
+    public int getMaxGames() {
+        return maxGames;
+    }
+
+    /**
+     * games played if the sprt is not decided before
+     */
+    public Tournament setMaxGames(int maxGames) {
+        this.maxGames = maxGames;
+        return this;
+    }
+
+    public int getOpeningPlies() {
+        return openingPlies;
+    }
+
+    /**
+     * random plies played before the engines take over
+     */
+    public Tournament setOpeningPlies(int openingPlies) {
+        this.openingPlies = openingPlies;
+        return this;
+    }
+
+    public int getMaxPlies() {
+        return maxPlies;
+    }
+
+    /**
+     * a game still going after this many plies is a draw
+     */
+    public Tournament setMaxPlies(int maxPlies) {
+        this.maxPlies = maxPlies;
+        return this;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * seed of the random openings. the same seed plays the same openings
+     */
+    public Tournament setSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public Sprt getSprt() {
+        return sprt;
+    }
+
+    public Tournament setSprt(Sprt sprt) {
+        this.sprt = sprt;
+        return this;
+    }
+
+    /**
+     * prints every game as it finishes
+     */
+    public Tournament setVerbose(boolean verbose) {
+        this.verbose = verbose;
+        return this;
+    }
+}
@@ -0,0 +1,157 @@
+package com.gerryshom.checkersboardview.ai.tournament;
+
+import com.gerryshom.checkersboardview.ai.enums.SprtDecision;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * the results of the games of a tournament so far, seen from the first engine
+ */
+public class TournamentResult {
+
+    // two sided 95% confidence
+    private static final double CONFIDENCE_Z = 1.96;
+
+    private final EngineConfig firstEngine;
+    private final EngineConfig secondEngine;
+    private final Sprt sprt;
+    private final List<GameResult> gameResults = new ArrayList<>();
+
+    private int wins;
+    private int draws;
+    private int losses;
+
+    TournamentResult(final EngineConfig firstEngine, final EngineConfig secondEngine, final Sprt sprt) {
+        this.firstEngine = firstEngine;
+        this.secondEngine = secondEngine;
+        this.sprt = sprt;
+    }
+
+    synchronized void add(final GameResult gameResult) {
+        gameResults.add(gameResult);
+        if(gameResult.getScore() == GameResult.WIN) wins++;
+        else if(gameResult.getScore() == GameResult.DRAW) draws++;
+        else losses++;
+    }
+
+    public synchronized int getGames() {
+        return wins + draws + losses;
+    }
+
+    /**
+     * average points per game of the first engine
+     */
+    public synchronized double getScore() {
+        final int games = getGames();
+        return games == 0 ? 0.5 : (wins + draws * 0.5) / games;
+    }
+
+    /**
+     * elo the first engine is stronger than the second by
+     */
+    public synchronized double getElo() {
+        return Sprt.eloOf(clamp(getScore()));
+    }
+
+    /**
+     * half the width of the 95% confidence interval of the elo difference
+     */
+    public synchronized double getEloMargin() {
+        final int games = getGames();
+        if(games == 0) return Double.POSITIVE_INFINITY;
+
+        final double score = getScore();
+        final double variance = (wins * Math.pow(1 - score, 2)
+                + draws * Math.pow(0.5 - score, 2)
+                + losses * Math.pow(score, 2)) / games;
+        final double error = CONFIDENCE_Z * Math.sqrt(variance / games);
+
+        return (Sprt.eloOf(clamp(score + error)) - Sprt.eloOf(clamp(score - error))) / 2;
+    }
+
+    /**
+     * keeps a score of 0 or 1 from turning into an infinite elo
+     */
+    private double clamp(final double score) {
+        final double limit = 1.0 / (2 * Math.max(1, getGames()));
+        return Math.max(limit, Math.min(1 - limit, score));
+    }
+
+    public synchronized double getLlr() {
+        return sprt.llr(wins, draws, losses);
+    }
+
+    public synchronized SprtDecision getDecision() {
+        return sprt.decide(wins, draws, losses);
+    }
+
+    /**
+     * average time the engine took for a move over every game
+     * @param engine 0 for the first engine, 1 for the second
+     */
+    public synchronized double getAverageMoveMillis(final int engine) {
+        long searchNanos = 0;
+        int searchedMoves = 0;
+        for(GameResult gameResult : gameResults) {
+            searchNanos += gameResult.getSearchNanos(engine);
+            searchedMoves += gameResult.getSearchedMoves(engine);
+        }
+        return searchedMoves == 0 ? 0 : searchNanos / 1_000_000.0 / searchedMoves;
+    }
+
+    public synchronized double getAverageGameMillis() {
+        if(gameResults.isEmpty()) return 0;
+
+        long durationNanos = 0;
+        for(GameResult gameResult : gameResults) durationNanos += gameResult.getDurationNanos();
+        return durationNanos / 1_000_000.0 / gameResults.size();
+    }
+
+    /**
+     * copy of the finished games in the order they finished
+     */
+    public synchronized List<GameResult> getGameResults() {
+        return new ArrayList<>(gameResults);
+    }
+
+    public synchronized int getWins() {
+        return wins;
+    }
+
+    public synchronized int getDraws() {
+        return draws;
+    }
+
+    public synchronized int getLosses() {
+        return losses;
+    }
+
+    public EngineConfig getFirstEngine() {
+        return firstEngine;
+    }
+
+    public EngineConfig getSecondEngine() {
+        return secondEngine;
+    }
+
+    public Sprt getSprt() {
+        return sprt;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format(Locale.US,
+                "%s vs %s%n"
+                        + "games %d: +%d =%d -%d, score %.3f%n"
+                        + "elo %.1f +/- %.1f%n"
+                        + "sprt [%.1f, %.1f] llr %.2f (%.2f, %.2f) %s%n"
+                        + "%.1fms per game, %.2fms / %.2fms per move",
+                firstEngine, secondEngine,
+                getGames(), wins, draws, losses, getScore(),
+                getElo(), getEloMargin(),
+                sprt.getElo0(), sprt.getElo1(), getLlr(), sprt.getLowerBound(), sprt.getUpperBound(), getDecision(),
+                getAverageGameMillis(), getAverageMoveMillis(0), getAverageMoveMillis(1));
+    }
+}
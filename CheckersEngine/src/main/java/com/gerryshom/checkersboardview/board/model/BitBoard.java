@@ -0,0 +1,864 @@
+package com.gerryshom.checkersboardview.board.model;
+
+import com.gerryshom.checkersboardview.landingSpot.LandingSpot;
+import com.gerryshom.checkersboardview.movement.model.BitMove;
+import com.gerryshom.checkersboardview.movement.model.MoveList;
+import com.gerryshom.checkersboardview.piece.model.Piece;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * a compact copy of a CheckersBoard position used for move generation.
+ * only the 32 dark cells can hold a piece so every piece type of every side fits in a single int
+ * where bit n is the dark cell at row n / 4.
+ * the creator moves towards row 0 and the opponent moves towards row 7 just like on the CheckersBoard
+ */
+public class BitBoard {
+
+    public static final int CREATOR = 0;
+    public static final int OPPONENT = 1;
+
+    // direction indexes follow the order of Direction.values()
+    public static final int TOP_LEFT = 0;
+    public static final int TOP_RIGHT = 1;
+    public static final int BOTTOM_LEFT = 2;
+    public static final int BOTTOM_RIGHT = 3;
+
+    private static final int EVEN_ROWS = 0x0F0F0F0F;
+    private static final int ODD_ROWS = 0xF0F0F0F0;
+    // dark cells in col 0 (odd rows) and col 7 (even rows)
+    private static final int LEFT_EDGE = 0x11111111;
+    private static final int RIGHT_EDGE = 0x88888888;
+
+    private final int[] men = new int[2];
+    private final int[] kings = new int[2];
+    private int sideToMove;
+    private long hash;
+
+    // sum of the table values of the pieces of each side, kept up to date by makeMove and unmakeMove
+    private PieceSquareTable pieceSquareTable;
+    private final int[] pieceSquareScores = new int[2];
+
+    private String creatorId;
+    private String opponentId;
+
+    private boolean restrictToForwardMovement;
+    private boolean allowBackwardCapture;
+    private boolean forceCapture;
+    private boolean allowMultiCapture;
+    private boolean mustTakeLongestJumpPath;
+    private boolean kingDuringCaptureChain;
+    private int maxKingMoveSteps;
+    private int maxKingJumpLandingDistance;
+
+    /**
+     * copies the pieces and the rules of a CheckersBoard
+     * @param playerIdToMove id of the player whose turn it is in this position
+     */
+    public BitBoard(final CheckersBoard checkersBoard, final String playerIdToMove) {
+        creatorId = checkersBoard.getCreator().getId();
+        opponentId = checkersBoard.getOpponent().getId();
+
+        restrictToForwardMovement = checkersBoard.getNormalPieceRule().isRestrictToForwardMovement();
+        allowBackwardCapture = checkersBoard.getNormalPieceRule().isAllowBackwardCapture();
+        forceCapture = checkersBoard.getCaptureRule().isForceCapture();
+        allowMultiCapture = checkersBoard.getCaptureRule().isAllowMultiCapture();
+        mustTakeLongestJumpPath = checkersBoard.getCaptureRule().isMustTakeLongestJumpPath();
+        kingDuringCaptureChain = checkersBoard.getNormalPieceRule().isKingDuringCaptureChain();
+        maxKingMoveSteps = checkersBoard.getKingPieceRule().getMaxMoveSteps();
+        maxKingJumpLandingDistance = checkersBoard.getKingPieceRule().getMaxLandingDistanceAfterCapture();
+
+        for(Piece piece : checkersBoard.getPieces()) {
+            final int square = square(piece.getRow(), piece.getCol());
+            if(square < 0) continue;
+
+            final int side = sideOf(piece.getPlayerId());
+            if(piece.isKing()) {
+                kings[side] |= 1 << square;
+            } else {
+                men[side] |= 1 << square;
+            }
+        }
+
+        sideToMove = sideOf(playerIdToMove);
+        hash = Zobrist.hash(this);
+    }
+
+    /**
+     * copies another bit board so it can be searched on a different thread
+     */
+    public BitBoard(final BitBoard other) {
+        men[CREATOR] = other.men[CREATOR];
+        men[OPPONENT] = other.men[OPPONENT];
+        kings[CREATOR] = other.kings[CREATOR];
+        kings[OPPONENT] = other.kings[OPPONENT];
+        sideToMove = other.sideToMove;
+        hash = other.hash;
+
+        pieceSquareTable = other.pieceSquareTable;
+        pieceSquareScores[CREATOR] = other.pieceSquareScores[CREATOR];
+        pieceSquareScores[OPPONENT] = other.pieceSquareScores[OPPONENT];
+
+        creatorId = other.creatorId;
+        opponentId = other.opponentId;
+
+        restrictToForwardMovement = other.restrictToForwardMovement;
+        allowBackwardCapture = other.allowBackwardCapture;
+        forceCapture = other.forceCapture;
+        allowMultiCapture = other.allowMultiCapture;
+        mustTakeLongestJumpPath = other.mustTakeLongestJumpPath;
+        kingDuringCaptureChain = other.kingDuringCaptureChain;
+        maxKingMoveSteps = other.maxKingMoveSteps;
+        maxKingJumpLandingDistance = other.maxKingJumpLandingDistance;
+    }
+
+    /**
+     * resolves a row and col into a dark square index
+     * @return the square index or -1 if the row and col is not a dark cell on the board
+     */
+    public static int square(final int row, final int col) {
+        if(row < 0 || row >= 8 || col < 0 || col >= 8 || CheckersBoard.isLightCell(row, col)) return -1;
+        return row * 4 + col / 2;
+    }
+
+    public static int rowOf(final int square) {
+        return square >> 2;
+    }
+
+    public static int colOf(final int square) {
+        return ((square & 3) << 1) + (((square >> 2) & 1) == 0 ? 1 : 0);
+    }
+
+    public static int opposite(final int direction) {
+        return 3 - direction;
+    }
+
+    /**
+     * moves every bit in the mask one diagonal step in the given direction.
+     * bits that would leave the board are dropped
+     */
+    public static int shift(final int mask, final int direction) {
+        switch (direction) {
+            case TOP_LEFT:
+                return ((mask & EVEN_ROWS) >>> 4) | ((mask & ODD_ROWS & ~LEFT_EDGE) >>> 5);
+            case TOP_RIGHT:
+                return ((mask & EVEN_ROWS & ~RIGHT_EDGE) >>> 3) | ((mask & ODD_ROWS) >>> 4);
+            case BOTTOM_LEFT:
+                return ((mask & EVEN_ROWS) << 4) | ((mask & ODD_ROWS & ~LEFT_EDGE) << 3);
+            case BOTTOM_RIGHT:
+                return ((mask & EVEN_ROWS & ~RIGHT_EDGE) << 5) | ((mask & ODD_ROWS) << 4);
+            default:
+                throw new IllegalArgumentException("unknown direction " + direction);
+        }
+    }
+
+    /**
+     * returns true if a man of the side may make a plain move in the direction
+     */
+    private boolean isMoveDirection(final int side, final int direction) {
+        if(!restrictToForwardMovement) return true;
+        return side == CREATOR
+                ? direction == TOP_LEFT || direction == TOP_RIGHT
+                : direction == BOTTOM_LEFT || direction == BOTTOM_RIGHT;
+    }
+
+    /**
+     * returns true if a man of the side may capture in the direction
+     */
+    private boolean isCaptureDirection(final int side, final int direction) {
+        return allowBackwardCapture || isMoveDirection(side, direction);
+    }
+
+    /**
+     * finds the squares a piece can reach without capturing
+     * @param square where the piece stands
+     * @param side the side the piece belongs to
+     * @param king whether the piece moves like a king
+     * @return mask of the landing squares
+     */
+    public int findMoveTargets(final int square, final int side, final boolean king) {
+        final int empty = empty();
+        final int bit = 1 << square;
+        int targets = 0;
+
+        for(int direction = 0; direction < 4; direction++) {
+            if(!king) {
+                if(isMoveDirection(side, direction)) targets |= shift(bit, direction) & empty;
+                continue;
+            }
+
+            int current = bit;
+            int steps = 0;
+            while (true) {
+                current = shift(current, direction) & empty;
+                if(current == 0) break;
+
+                steps++;
+                targets |= current;
+                if(maxKingMoveSteps != 0 && steps >= maxKingMoveSteps) break;
+            }
+        }
+
+        return targets;
+    }
+
+    /**
+     * finds the squares a piece can land on after jumping a single enemy piece
+     * @param square where the piece stands
+     * @param side the side the piece belongs to
+     * @param king whether the piece moves like a king
+     * @return mask of the landing squares
+     */
+    public int findCaptureTargets(final int square, final int side, final boolean king) {
+        final int empty = empty();
+        final int enemies = pieces(1 - side);
+        final int bit = 1 << square;
+        int targets = 0;
+
+        for(int direction = 0; direction < 4; direction++) {
+            if(!king) {
+                if(isCaptureDirection(side, direction))
+                    targets |= shift(shift(bit, direction) & enemies, direction) & empty;
+                continue;
+            }
+
+            // slide over empty cells until something blocks the ray
+            int current = shift(bit, direction);
+            int steps = 0;
+            while (current != 0 && (current & empty) != 0) {
+                steps++;
+                if(maxKingMoveSteps != 0 && steps >= maxKingMoveSteps) {
+                    current = 0;
+                    break;
+                }
+                current = shift(current, direction);
+            }
+
+            if((current & enemies) == 0) continue;
+
+            int landing = shift(current, direction) & empty;
+            if(landing == 0) continue;
+
+            targets |= landing;
+            if(maxKingJumpLandingDistance == 1) continue;
+
+            int landingSteps = 1;
+            while (true) {
+                landing = shift(landing, direction) & empty;
+                if(landing == 0) break;
+
+                landingSteps++;
+                if(maxKingJumpLandingDistance == 0 || landingSteps <= maxKingJumpLandingDistance) targets |= landing;
+                if(maxKingJumpLandingDistance != 0 && landingSteps >= maxKingJumpLandingDistance) break;
+            }
+        }
+
+        return targets;
+    }
+
+    /**
+     * finds the square of the piece jumped when moving from one square to another along a diagonal
+     * @return the square of the jumped piece or -1 if nothing was jumped
+     */
+    public int findCapturedSquare(final int from, final int to) {
+        final int rowDirection = Integer.compare(rowOf(to), rowOf(from));
+        final int colDirection = Integer.compare(colOf(to), colOf(from));
+
+        final int direction = rowDirection < 0
+                ? (colDirection < 0 ? TOP_LEFT : TOP_RIGHT)
+                : (colDirection < 0 ? BOTTOM_LEFT : BOTTOM_RIGHT);
+
+        final int occupied = occupied();
+        final int target = 1 << to;
+        int current = shift(1 << from, direction);
+
+        while (current != 0 && current != target) {
+            if((current & occupied) != 0) return Integer.numberOfTrailingZeros(current);
+            current = shift(current, direction);
+        }
+
+        return -1;
+    }
+
+    /**
+     * finds all the men of a side that can land on an empty square after jumping an enemy piece.
+     * men are resolved for the whole side at once using shifts, kings are walked one by one
+     * @return mask of the capturing pieces
+     */
+    public int findCapturingPieces(final int side) {
+        final int empty = empty();
+        final int enemies = pieces(1 - side);
+        int capturing = 0;
+
+        for(int direction = 0; direction < 4; direction++) {
+            if(!isCaptureDirection(side, direction)) continue;
+
+            final int landings = shift(shift(men[side], direction) & enemies, direction) & empty;
+            capturing |= shift(shift(landings, opposite(direction)), opposite(direction));
+        }
+
+        int remainingKings = kings[side];
+        while (remainingKings != 0) {
+            final int square = Integer.numberOfTrailingZeros(remainingKings);
+            remainingKings &= remainingKings - 1;
+
+            if(findCaptureTargets(square, side, true) != 0) capturing |= 1 << square;
+        }
+
+        return capturing;
+    }
+
+    /**
+     * finds all the pieces of a side that have at least one legal landing square
+     * @return mask of the moveable pieces
+     */
+    public int findMoveablePieces(final int side) {
+        final int empty = empty();
+        int moveable = findCapturingPieces(side);
+
+        for(int direction = 0; direction < 4; direction++) {
+            final int sources = shift(empty, opposite(direction));
+            if(isMoveDirection(side, direction)) moveable |= sources & men[side];
+            moveable |= sources & kings[side];
+        }
+
+        return moveable;
+    }
+
+    /**
+     * finds the pieces of a side that an adjacent enemy piece can jump.
+     * the bit board equivalent of CheckersBoard.pieceIsExposed for every piece of the side at once
+     * @return mask of the exposed pieces
+     */
+    public int findExposedPieces(final int side) {
+        final int enemy = 1 - side;
+        final int empty = empty();
+        final int own = pieces(side);
+        int exposed = 0;
+
+        // direction is the way the enemy piece would jump
+        for(int direction = 0; direction < 4; direction++) {
+            final int attackers = kings[enemy] | (isCaptureDirection(enemy, direction) ? men[enemy] : 0);
+            exposed |= shift(attackers, direction) & own & shift(empty, opposite(direction));
+        }
+
+        return exposed;
+    }
+
+    /**
+     * fills the list with every legal move of the side to move.
+     * a capture chain is a single move from the square the piece started on to the square it stopped on
+     * @param moveList buffer to fill. it is cleared first
+     */
+    public void generateMoves(final MoveList moveList) {
+        moveList.clear();
+
+        generateCaptures(moveList, sideToMove);
+
+        if(forceCapture && !moveList.isEmpty()) return;
+
+        generatePlainMoves(moveList, sideToMove);
+    }
+
+    /**
+     * adds every complete capture chain of a side to the list
+     */
+    public void generateCaptures(final MoveList moveList, final int side) {
+        final int start = moveList.size();
+
+        int capturing = findCapturingPieces(side);
+        while (capturing != 0) {
+            final int from = Integer.numberOfTrailingZeros(capturing);
+            capturing &= capturing - 1;
+
+            // lift the piece off the board so the chain can pass over its starting square
+            final int bit = 1 << from;
+            final boolean king = (kings[side] & bit) != 0;
+            if(king) kings[side] &= ~bit; else men[side] &= ~bit;
+
+            addCaptureChains(moveList, side, from, from, king, king, 0);
+
+            if(king) kings[side] |= bit; else men[side] |= bit;
+        }
+
+        if(mustTakeLongestJumpPath) keepLongestCaptures(moveList, start);
+    }
+
+    /**
+     * walks every jump from the square depth first, removing the jumped pieces while deeper jumps are searched
+     * and putting them back afterwards. a chain is added once the piece can no longer jump
+     */
+    private void addCaptureChains(final MoveList moveList, final int side, final int from, final int square,
+                                  final boolean startedAsKing, final boolean king, final int captured) {
+
+        final int targets = captured != 0 && !allowMultiCapture
+                ? 0
+                : findCaptureTargets(square, side, king);
+
+        if(targets == 0) {
+            if(captured != 0) {
+                final boolean promotes = !startedAsKing && (king || isPromotionSquare(side, square));
+                moveList.addUnique(BitMove.encode(from, square, captured, promotes));
+            }
+            return;
+        }
+
+        final int enemy = 1 - side;
+        int remaining = targets;
+        while (remaining != 0) {
+            final int to = Integer.numberOfTrailingZeros(remaining);
+            remaining &= remaining - 1;
+
+            final int jumpedBit = 1 << findCapturedSquare(square, to);
+            final boolean jumpedKing = (kings[enemy] & jumpedBit) != 0;
+            if(jumpedKing) kings[enemy] &= ~jumpedBit; else men[enemy] &= ~jumpedBit;
+
+            addCaptureChains(moveList, side, from, to, startedAsKing,
+                    king || (kingDuringCaptureChain && isPromotionSquare(side, to)), captured | jumpedBit);
+
+            if(jumpedKing) kings[enemy] |= jumpedBit; else men[enemy] |= jumpedBit;
+        }
+    }
+
+    /**
+     * drops every capture from the start index that takes fewer pieces than the longest one
+     */
+    private void keepLongestCaptures(final MoveList moveList, final int start) {
+        int longest = 0;
+        for(int i = start; i < moveList.size(); i++) {
+            longest = Math.max(longest, Integer.bitCount(BitMove.captures(moveList.get(i))));
+        }
+
+        int kept = start;
+        for(int i = start; i < moveList.size(); i++) {
+            if(Integer.bitCount(BitMove.captures(moveList.get(i))) == longest) moveList.set(kept++, moveList.get(i));
+        }
+        moveList.truncate(kept);
+    }
+
+    /**
+     * adds every non capturing move of a side to the list.
+     * men are shifted as a whole side, kings are walked one by one
+     */
+    public void generatePlainMoves(final MoveList moveList, final int side) {
+        final int empty = empty();
+
+        for(int direction = 0; direction < 4; direction++) {
+            if(!isMoveDirection(side, direction)) continue;
+
+            int targets = shift(men[side], direction) & empty;
+            while (targets != 0) {
+                final int to = Integer.numberOfTrailingZeros(targets);
+                targets &= targets - 1;
+
+                final int from = Integer.numberOfTrailingZeros(shift(1 << to, opposite(direction)));
+                moveList.add(BitMove.encode(from, to, 0, isPromotionSquare(side, to)));
+            }
+        }
+
+        int remainingKings = kings[side];
+        while (remainingKings != 0) {
+            final int from = Integer.numberOfTrailingZeros(remainingKings);
+            remainingKings &= remainingKings - 1;
+
+            int targets = findMoveTargets(from, side, true);
+            while (targets != 0) {
+                final int to = Integer.numberOfTrailingZeros(targets);
+                targets &= targets - 1;
+                moveList.add(BitMove.encode(from, to, 0, false));
+            }
+        }
+    }
+
+    /**
+     * plays a move in place and hands the player's turn to the other side
+     * @return the undo record that unmakeMove needs to take the move back.
+     * it holds the mask of the captured pieces that were kings
+     */
+    public long makeMove(final long move) {
+        final int side = sideToMove;
+        final int enemy = 1 - side;
+        final int fromBit = 1 << BitMove.from(move);
+        final int toBit = 1 << BitMove.to(move);
+        final int captures = BitMove.captures(move);
+
+        final boolean king = (kings[side] & fromBit) != 0;
+        final int capturedKings = kings[enemy] & captures;
+        men[enemy] &= ~captures;
+        kings[enemy] &= ~captures;
+
+        if(king) {
+            kings[side] = (kings[side] & ~fromBit) | toBit;
+        } else {
+            men[side] &= ~fromBit;
+            if(BitMove.isPromotion(move)) kings[side] |= toBit; else men[side] |= toBit;
+        }
+
+        sideToMove = enemy;
+        hash ^= hashChange(move, side, king, capturedKings);
+        if(pieceSquareTable != null) updatePieceSquareScores(move, side, king, capturedKings, 1);
+
+        return capturedKings & 0xFFFFFFFFL;
+    }
+
+    /**
+     * takes back a move made with makeMove
+     * @param undo the record returned when the move was made
+     */
+    public void unmakeMove(final long move, final long undo) {
+        final int side = 1 - sideToMove;
+        final int enemy = sideToMove;
+        final int fromBit = 1 << BitMove.from(move);
+        final int toBit = 1 << BitMove.to(move);
+        final int captures = BitMove.captures(move);
+
+        final boolean king = !BitMove.isPromotion(move) && (kings[side] & toBit) != 0;
+
+        if(BitMove.isPromotion(move)) {
+            kings[side] &= ~toBit;
+            men[side] |= fromBit;
+        } else if(king) {
+            kings[side] = (kings[side] & ~toBit) | fromBit;
+        } else {
+            men[side] = (men[side] & ~toBit) | fromBit;
+        }
+
+        final int capturedKings = (int) undo;
+        kings[enemy] |= capturedKings;
+        men[enemy] |= captures & ~capturedKings;
+
+        sideToMove = side;
+        hash ^= hashChange(move, side, king, capturedKings);
+        if(pieceSquareTable != null) updatePieceSquareScores(move, side, king, capturedKings, -1);
+    }
+
+    /**
+     * applies the table values a move adds and removes
+     * @param king whether the moving piece was a king before the move
+     * @param sign 1 when the move is made, -1 when it is taken back
+     */
+    private void updatePieceSquareScores(final long move, final int side, final boolean king, final int capturedKings, final int sign) {
+        final int enemy = 1 - side;
+
+        pieceSquareScores[side] += sign * (pieceSquareTable.get(side, king || BitMove.isPromotion(move), BitMove.to(move))
+                - pieceSquareTable.get(side, king, BitMove.from(move)));
+
+        int captures = BitMove.captures(move);
+        while (captures != 0) {
+            final int square = Integer.numberOfTrailingZeros(captures);
+            captures &= captures - 1;
+            pieceSquareScores[enemy] -= sign * pieceSquareTable.get(enemy, (capturedKings & (1 << square)) != 0, square);
+        }
+    }
+
+    /**
+     * the zobrist keys that change when a move is made. applying it a second time takes the move back
+     * @param king whether the moving piece was a king before the move
+     */
+    private static long hashChange(final long move, final int side, final boolean king, final int capturedKings) {
+        long change = Zobrist.piece(side, BitMove.from(move), king)
+                ^ Zobrist.piece(side, BitMove.to(move), king || BitMove.isPromotion(move))
+                ^ Zobrist.opponentToMove();
+
+        int captures = BitMove.captures(move);
+        while (captures != 0) {
+            final int square = Integer.numberOfTrailingZeros(captures);
+            captures &= captures - 1;
+            change ^= Zobrist.piece(1 - side, square, (capturedKings & (1 << square)) != 0);
+        }
+
+        return change;
+    }
+
+    /**
+     * finds the landing squares a capture chain passes through in order
+     * @param move a move generated for the side to move of this position
+     * @return every landing square of the move ending with the final square
+     */
+    public int[] findPath(final long move) {
+        if(!BitMove.isCapture(move)) return new int[] {BitMove.to(move)};
+
+        final int side = sideToMove;
+        final int from = BitMove.from(move);
+        final int bit = 1 << from;
+        final boolean king = (kings[side] & bit) != 0;
+        final int[] path = new int[Integer.bitCount(BitMove.captures(move))];
+
+        if(king) kings[side] &= ~bit; else men[side] &= ~bit;
+        final boolean found = findPath(move, side, from, king, 0, path);
+        if(king) kings[side] |= bit; else men[side] |= bit;
+
+        if(!found) throw new RuntimeException("move is not a legal capture chain in this position");
+
+        return path;
+    }
+
+    private boolean findPath(final long move, final int side, final int square, final boolean king, final int hops, final int[] path) {
+        if(hops == path.length) return square == BitMove.to(move);
+
+        final int enemy = 1 - side;
+        int targets = findCaptureTargets(square, side, king);
+        while (targets != 0) {
+            final int to = Integer.numberOfTrailingZeros(targets);
+            targets &= targets - 1;
+
+            final int jumpedBit = 1 << findCapturedSquare(square, to);
+            if((BitMove.captures(move) & jumpedBit) == 0) continue;
+
+            final boolean jumpedKing = (kings[enemy] & jumpedBit) != 0;
+            if(jumpedKing) kings[enemy] &= ~jumpedBit; else men[enemy] &= ~jumpedBit;
+
+            path[hops] = to;
+            final boolean found = findPath(move, side, to,
+                    king || (kingDuringCaptureChain && isPromotionSquare(side, to)), hops + 1, path);
+
+            if(jumpedKing) kings[enemy] |= jumpedBit; else men[enemy] |= jumpedBit;
+
+            if(found) return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * follows a capture chain through landing squares that were not generated here, for example ones sent by the other player.
+     * the rules of the capture rule are not checked, only that every landing is a single capture away from the one before it
+     * @param from square of the capturing piece
+     * @param landings landing square of every capture in order
+     * @param length number of landings to follow
+     * @param capturedSquares filled with the square captured by every landing
+     * @return mask of the captured squares or 0 if a landing can not be reached
+     */
+    public int followPath(final int from, final int[] landings, final int length, final int[] capturedSquares) {
+        final int side = sideAt(from);
+        if(side < 0 || length == 0) return 0;
+
+        final int enemy = 1 - side;
+        final int bit = 1 << from;
+        final boolean startsKing = (kings[side] & bit) != 0;
+        final int enemyMen = men[enemy];
+        final int enemyKings = kings[enemy];
+
+        if(startsKing) kings[side] &= ~bit; else men[side] &= ~bit;
+
+        boolean king = startsKing;
+        int square = from;
+        int captures = 0;
+        for(int hop = 0; hop < length; hop++) {
+            final int to = landings[hop];
+            if(to < 0 || (findCaptureTargets(square, side, king) & (1 << to)) == 0) {
+                captures = 0;
+                break;
+            }
+
+            final int jumped = findCapturedSquare(square, to);
+            men[enemy] &= ~(1 << jumped);
+            kings[enemy] &= ~(1 << jumped);
+
+            capturedSquares[hop] = jumped;
+            captures |= 1 << jumped;
+            king = king || (kingDuringCaptureChain && isPromotionSquare(side, to));
+            square = to;
+        }
+
+        men[enemy] = enemyMen;
+        kings[enemy] = enemyKings;
+        if(startsKing) kings[side] |= bit; else men[side] |= bit;
+
+        return captures;
+    }
+
+    /**
+     * the creator is crowned on row 0 and the opponent on row 7
+     */
+    public static boolean isPromotionSquare(final int side, final int square) {
+        return side == CREATOR ? square < 4 : square >= 28;
+    }
+
+    /**
+     * the bit board equivalent of CheckersBoard.findLandingSpots
+     * captures are returned alone when the capture rule forces them
+     * @return list of the landing spots for the piece on the row and col
+     */
+    public List<LandingSpot> findLandingSpots(final int row, final int col) {
+        final List<LandingSpot> landingSpots = new ArrayList<>();
+
+        final int square = square(row, col);
+        if(square < 0) return landingSpots;
+
+        final int side = sideAt(square);
+        if(side < 0) return landingSpots;
+
+        final boolean king = isKing(square);
+        final int captureTargets = findCaptureTargets(square, side, king);
+        final int moveTargets = forceCapture && captureTargets != 0
+                ? 0
+                : findMoveTargets(square, side, king);
+
+        addLandingSpots(landingSpots, moveTargets, false);
+        addLandingSpots(landingSpots, captureTargets, true);
+
+        return landingSpots;
+    }
+
+    private void addLandingSpots(final List<LandingSpot> landingSpots, int targets, final boolean afterJump) {
+        while (targets != 0) {
+            final int square = Integer.numberOfTrailingZeros(targets);
+            targets &= targets - 1;
+            landingSpots.add(new LandingSpot(new RowCol(rowOf(square), colOf(square)), afterJump));
+        }
+    }
+
+    /**
+     * @return CREATOR or OPPONENT depending on who owns the piece on the square or -1 if the square is empty
+     */
+    public int sideAt(final int square) {
+        final int bit = 1 << square;
+        if(((men[CREATOR] | kings[CREATOR]) & bit) != 0) return CREATOR;
+        if(((men[OPPONENT] | kings[OPPONENT]) & bit) != 0) return OPPONENT;
+        return -1;
+    }
+
+    public boolean isKing(final int square) {
+        return ((kings[CREATOR] | kings[OPPONENT]) & (1 << square)) != 0;
+    }
+
+    public int sideOf(final String playerId) {
+        return creatorId.equals(playerId) ? CREATOR : OPPONENT;
+    }
+
+    public String playerIdOf(final int side) {
+        return side == CREATOR ? creatorId : opponentId;
+    }
+
+    public int pieces(final int side) {
+        return men[side] | kings[side];
+    }
+
+    public int occupied() {
+        return pieces(CREATOR) | pieces(OPPONENT);
+    }
+
+    public int empty() {
+        return ~occupied();
+    }
+
+    public int getMen(final int side) {
+        return men[side];
+    }
+
+    public int getKings(final int side) {
+        return kings[side];
+    }
+
+    public int getSideToMove() {
+        return sideToMove;
+    }
+
+    public void setSideToMove(int sideToMove) {
+        if(this.sideToMove != sideToMove) hash ^= Zobrist.opponentToMove();
+        this.sideToMove = sideToMove;
+    }
+
+    /**
+     * zobrist hash of the position, kept up to date by makeMove and unmakeMove
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * true if both boards have the same pieces on the same squares and the same side to move
+     */
+    public boolean isSamePosition(final BitBoard other) {
+        return hash == other.hash
+                && sideToMove == other.sideToMove
+                && men[CREATOR] == other.men[CREATOR] && men[OPPONENT] == other.men[OPPONENT]
+                && kings[CREATOR] == other.kings[CREATOR] && kings[OPPONENT] == other.kings[OPPONENT];
+    }
+
+    /**
+     * replaces every piece on the board, for example to set up a position that never happened in a game.
+     * the rules and the player ids are kept
+     */
+    public void setPieces(final int creatorMen, final int creatorKings, final int opponentMen, final int opponentKings,
+                          final int sideToMove) {
+        men[CREATOR] = creatorMen;
+        kings[CREATOR] = creatorKings;
+        men[OPPONENT] = opponentMen;
+        kings[OPPONENT] = opponentKings;
+        this.sideToMove = sideToMove;
+        hash = Zobrist.hash(this);
+        updatePieceSquareScores();
+    }
+
+    /**
+     * replaces every piece with the pieces of a CheckersBoard, so one bit board can score many boards
+     * played under the same rules by the same players
+     * @param playerIdToMove id of the player whose turn it is in this position
+     */
+    public void setPieces(final CheckersBoard checkersBoard, final String playerIdToMove) {
+        int creatorMen = 0, creatorKings = 0, opponentMen = 0, opponentKings = 0;
+
+        for(Piece piece : checkersBoard.getPieces()) {
+            final int square = square(piece.getRow(), piece.getCol());
+            if(square < 0) continue;
+
+            final int bit = 1 << square;
+            if(sideOf(piece.getPlayerId()) == CREATOR) {
+                if(piece.isKing()) creatorKings |= bit; else creatorMen |= bit;
+            } else {
+                if(piece.isKing()) opponentKings |= bit; else opponentMen |= bit;
+            }
+        }
+
+        setPieces(creatorMen, creatorKings, opponentMen, opponentKings, sideOf(playerIdToMove));
+    }
+
+    /**
+     * makes the board keep the sum of the table values of each side's pieces up to date.
+     * costs a few table lookups per move
+     * @param pieceSquareTable table to sum or null to stop keeping the sums
+     */
+    public void setPieceSquareTable(final PieceSquareTable pieceSquareTable) {
+        this.pieceSquareTable = pieceSquareTable;
+        updatePieceSquareScores();
+    }
+
+    public PieceSquareTable getPieceSquareTable() {
+        return pieceSquareTable;
+    }
+
+    /**
+     * sum of the table values of the pieces of a side. 0 when the board has no table
+     */
+    public int getPieceSquareScore(final int side) {
+        return pieceSquareScores[side];
+    }
+
+    private void updatePieceSquareScores() {
+        for(int side = 0; side < 2; side++) {
+            pieceSquareScores[side] = pieceSquareTable == null ? 0 : pieceSquareTable.sum(side, men[side], kings[side]);
+        }
+    }
+
+    /**
+     * packs the rules that change move generation into an int.
+     * two boards with the same key generate the same moves from the same position
+     */
+    public int getRulesKey() {
+        return (restrictToForwardMovement ? 1 : 0)
+                | (allowBackwardCapture ? 1 << 1 : 0)
+                | (forceCapture ? 1 << 2 : 0)
+                | (allowMultiCapture ? 1 << 3 : 0)
+                | (mustTakeLongestJumpPath ? 1 << 4 : 0)
+                | (kingDuringCaptureChain ? 1 << 5 : 0)
+                | (maxKingMoveSteps & 0xFF) << 8
+                | (maxKingJumpLandingDistance & 0xFF) << 16;
+    }
+
+    public boolean isForceCapture() {
+        return forceCapture;
+    }
+}
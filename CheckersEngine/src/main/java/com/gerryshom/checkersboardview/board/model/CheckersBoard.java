@@ -1,11 +1,6 @@
 package com.gerryshom.checkersboardview.board.model;
 
 
-import android.graphics.Point;
-import android.graphics.PointF;
-
-import androidx.annotation.NonNull;
-
 import com.gerryshom.checkersboardview.movement.enums.Direction;
 import com.gerryshom.checkersboardview.piece.model.Piece;
 import com.gerryshom.checkersboardview.landingSpot.LandingSpot;
@@ -18,12 +13,17 @@ import com.gerryshom.checkersboardview.rules.model.NormalPieceRule;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
 public class CheckersBoard {
+
+    public static final String CREATOR_PIECE_COLOR = "#FFFFFFFF";
+    public static final String OPPONENT_PIECE_COLOR = "#FFFF99";
+
     private String id;
-    private List<Piece> pieces;
+    private List<Piece> pieces = new ArrayList<>();
     private long createdAt;
     private String activePlayerId;
     private Player creator;
@@ -34,6 +34,10 @@ public class CheckersBoard {
     private CaptureRule captureRule = DefaultRule.captureRule();
     private GameFlowRule gameFlowRule = DefaultRule.gameFlowRule();
 
+    // pieces by row * 8 + col. built from the pieces the first time a square is looked up
+    // and kept in sync by movePiece, addPiece and removePiece
+    private transient Piece[] occupancy;
+    private transient List<Piece> unmodifiablePieces;
 
     public CheckersBoard(String id, List<Piece> pieces, long createdAt, String activePlayerId, Player creator, Player opponent, int boardWidth, NormalPieceRule normalPieceRule, KingPieceRule kingPieceRule, CaptureRule captureRule, GameFlowRule gameFlowRule) {
         this.id = id;
@@ -56,6 +60,14 @@ public class CheckersBoard {
         );
     }
 
+    /**
+     * builds a bit board copy of this board for fast move generation
+     * @param playerIdToMove id of the player whose turn it is in the copy
+     */
+    public BitBoard toBitBoard(final String playerIdToMove) {
+        return new BitBoard(this, playerIdToMove);
+    }
+
     /**
      * finds enemy pieces in all four immediate directions of a piece
      * then checks if those opponent pieces have a capture advantage on the piece
@@ -237,16 +249,73 @@ public class CheckersBoard {
     }
 
     /**
-     * finds a piece object in a list using the row and column
+     * finds the piece standing on a square. uses the row and col of the pieces, never their centers on the view
+     * @return the piece or null if the square is empty or outside the board
      */
     public Piece findPieceByRowAndCol(final int row, final int col) {
-        for (Piece p : pieces) {
-            Point piecePosition = calculateRowColByXAndY(p.getCenterX(), p.getCenterY());
-            if (piecePosition.x == row && piecePosition.y == col) {
-                return p;
-            }
+        if(!isValidRowCol(row, col)) return null;
+        return occupancy()[row * 8 + col];
+    }
+
+    /**
+     * moves a piece to another square and keeps the square index in sync.
+     * use this instead of setting the row and col of a piece on the board directly
+     */
+    public void movePiece(final Piece piece, final int toRow, final int toCol) {
+        final Piece[] occupancy = occupancy();
+
+        if(isValidRowCol(piece.getRow(), piece.getCol()) && occupancy[piece.getRow() * 8 + piece.getCol()] == piece) {
+            occupancy[piece.getRow() * 8 + piece.getCol()] = null;
         }
-        return null;
+
+        piece.setRow(toRow);
+        piece.setCol(toCol);
+
+        if(isValidRowCol(toRow, toCol)) occupancy[toRow * 8 + toCol] = piece;
+    }
+
+    /**
+     * takes a captured piece off the board
+     * @return false if the piece was not on the board
+     */
+    public boolean removePiece(final Piece piece) {
+        final Piece[] occupancy = occupancy();
+
+        if(!pieces.remove(piece)) return false;
+
+        if(isValidRowCol(piece.getRow(), piece.getCol()) && occupancy[piece.getRow() * 8 + piece.getCol()] == piece) {
+            occupancy[piece.getRow() * 8 + piece.getCol()] = null;
+        }
+
+        return true;
+    }
+
+    /**
+     * puts a piece on the board at its row and col
+     */
+    public void addPiece(final Piece piece) {
+        final Piece[] occupancy = occupancy();
+
+        pieces.add(piece);
+        if(isValidRowCol(piece.getRow(), piece.getCol())) occupancy[piece.getRow() * 8 + piece.getCol()] = piece;
+    }
+
+    /**
+     * rebuilds the square index from the pieces.
+     * only needed after setting the row or col of a piece on the board without movePiece
+     */
+    public void reindex() {
+        if(occupancy == null) occupancy = new Piece[64];
+        else Arrays.fill(occupancy, null);
+
+        for(Piece p : pieces) {
+            if(isValidRowCol(p.getRow(), p.getCol())) occupancy[p.getRow() * 8 + p.getCol()] = p;
+        }
+    }
+
+    private Piece[] occupancy() {
+        if(occupancy == null) reindex();
+        return occupancy;
     }
 
     /**
@@ -254,7 +323,7 @@ public class CheckersBoard {
      * @param touchX touched x coordinate
      * @param touchY touched y coordinate
      */
-    public Point calculateRowColByXAndY(final float touchX, final float touchY) {
+    public RowCol calculateRowColByXAndY(final float touchX, final float touchY) {
         // Get the width and height of the entire view
         int cellSize = boardWidth / 8; // Assuming the board is 8x8
 
@@ -266,20 +335,8 @@ public class CheckersBoard {
         row = Math.max(0, Math.min(7, row));
         col = Math.max(0, Math.min(7, col));
 
-        // Return the row and column as a Point
-        return new Point(row, col);
-    }
-
-    public PointF calculateCenterXYByRowAndCol(final int row, final int col) {
-        // Get the width and height of the entire view
-        int cellSize = boardWidth / 8; // Assuming the board is 8x8
-
-        // Calculate the center of the cell
-        float centerX = col * cellSize + cellSize / 2f;
-        float centerY = row * cellSize + cellSize / 2f;
-
-        // Return the center as a Point
-        return new PointF((int) centerX, (int) centerY);
+        // Return the row and column as a RowCol
+        return new RowCol(row, col);
     }
 
     /**
@@ -337,8 +394,8 @@ public class CheckersBoard {
         final String opponentId = identifyOpponentPlayerId(piece.getPlayerId());
 
         for (Direction direction : directions) {
-            int nextRow = piece.getRow() + direction.toPoint().x;
-            int nextCol = piece.getCol() + direction.toPoint().y;
+            int nextRow = piece.getRow() + direction.rowOffset;
+            int nextCol = piece.getCol() + direction.colOffset;
 
             if (!isValidRowCol(nextRow, nextCol)) continue;
 
@@ -472,7 +529,7 @@ public class CheckersBoard {
             int currentRow = row;
             int currentCol = col;
 
-            final Point rowColDir = dir.toPoint();
+            final RowCol rowColDir = dir.toRowCol();
             int enemiesFound = 0;
             int moveSteps = 0;
             int jumpLandingSteps = 0;
@@ -491,7 +548,7 @@ public class CheckersBoard {
                         moveSteps++;
                         if (allowedDirections.contains(dir) && (maxKingMoveSteps == 0 || moveSteps <= maxKingMoveSteps)) {
                             // Add to regular moves list instead of directly to landingSpots
-                            landingSpots.add(new LandingSpot(new Point(nextRow, nextCol), false));
+                            landingSpots.add(new LandingSpot(new RowCol(nextRow, nextCol), false));
                         }
                         if (!piece.isKing() || (maxKingMoveSteps != 0 && moveSteps >= maxKingMoveSteps)) break;
                     } else {
@@ -503,7 +560,7 @@ public class CheckersBoard {
                         if ((allowedDirections.contains(dir) || allowHighlightsInForbiddenDirections)
                                 && (maxKingJumpLandingDistance == 0 || jumpLandingSteps <= maxKingJumpLandingDistance)) {
                             // This is a capture landing spot, add to captureSpots
-                            captureSpots.add(new LandingSpot(new Point(nextRow, nextCol), true));
+                            captureSpots.add(new LandingSpot(new RowCol(nextRow, nextCol), true));
                         }
 
                         // Break if we've reached the max landing distance
@@ -528,14 +585,14 @@ public class CheckersBoard {
                             // For regular pieces, just add the landing highlight and stop
                             if (!piece.isKing()) {
                                 // This is a capture landing, add to captureSpots
-                                captureSpots.add(new LandingSpot(new Point(jumpRow, jumpCol), true));
+                                captureSpots.add(new LandingSpot(new RowCol(jumpRow, jumpCol), true));
                                 break;
                             }
 
                             // For kings with maxJumpLandingDistance = 0, add the landing spot and continue
                             if (maxKingJumpLandingDistance == 0) {
                                 // This is a capture landing, add to captureSpots
-                                captureSpots.add(new LandingSpot(new Point(jumpRow, jumpCol), true));
+                                captureSpots.add(new LandingSpot(new RowCol(jumpRow, jumpCol), true));
                                 justJumped = true;
                                 jumpLandingSteps = 0;
                                 currentRow = jumpRow;
@@ -546,7 +603,7 @@ public class CheckersBoard {
                                 // The immediate landing spot after capture is always allowed
                                 if (maxKingJumpLandingDistance >= 1) {
                                     // This is a capture landing, add to captureSpots
-                                    captureSpots.add(new LandingSpot(new Point(jumpRow, jumpCol), true));
+                                    captureSpots.add(new LandingSpot(new RowCol(jumpRow, jumpCol), true));
                                 }
 
                                 // If maxJumpLandingDistance is exactly 1, break here
@@ -590,9 +647,9 @@ public class CheckersBoard {
      * prepares the board for a local match
      * @param activePlayerId the player who will start the game
      */
-    public static CheckersBoard createCheckersBoard(@NonNull final String activePlayerId,
-                                             @NonNull final Player localPlayer,
-                                             @NonNull final Player opponentPlayer) {
+    public static CheckersBoard createCheckersBoard(final String activePlayerId,
+                                             final Player localPlayer,
+                                             final Player opponentPlayer) {
 
         final CheckersBoard checkersBoard = new CheckersBoard();
 
@@ -621,10 +678,10 @@ public class CheckersBoard {
 
                 if(row <= 2) {
                     piece.setPlayerId(opponentPlayerId);
-                    piece.setColor("#FFFF99");
+                    piece.setColor(OPPONENT_PIECE_COLOR);
                 } else if(row >= 5) {
                     piece.setPlayerId(localPlayerId);
-                    piece.setColor("#FFFFFFFF");
+                    piece.setColor(CREATOR_PIECE_COLOR);
                 }
 
                 pieces.add(piece);
@@ -678,12 +735,22 @@ public class CheckersBoard {
         this.id = id;
     }
 
+    /**
+     * the pieces on the board. the list can not be changed, pieces are added, moved and removed
+     * through addPiece, movePiece and removePiece so the board keeps finding them by square
+     */
     public List<Piece> getPieces() {
-        return pieces;
+        if(unmodifiablePieces == null) unmodifiablePieces = Collections.unmodifiableList(pieces);
+        return unmodifiablePieces;
     }
 
+    /**
+     * replaces the pieces. the board keeps its own copy of the list
+     */
     public void setPieces(List<Piece> pieces) {
-        this.pieces = pieces;
+        this.pieces = new ArrayList<>(pieces);
+        unmodifiablePieces = null;
+        occupancy = null;
     }
 
     public int getBoardWidth() {
@@ -0,0 +1,64 @@
+package com.gerryshom.checkersboardview.board.model;
+
+/**
+ * a value for a man and a king of each side on every dark square.
+ * a BitBoard keeps the sum of the values of its pieces up to date while moves are made and taken back,
+ * so an evaluation reads its material and positional terms instead of walking the pieces.
+ * do not change a table while a board that uses it is being searched
+ */
+public class PieceSquareTable {
+
+    private final int[][] men = new int[2][32];
+    private final int[][] kings = new int[2][32];
+
+    /**
+     * a table where only the type of the piece counts
+     */
+    public static PieceSquareTable material(final int manValue, final int kingValue) {
+        final PieceSquareTable table = new PieceSquareTable();
+        for(int side = 0; side < 2; side++) {
+            for(int square = 0; square < 32; square++) {
+                table.men[side][square] = manValue;
+                table.kings[side][square] = kingValue;
+            }
+        }
+        return table;
+    }
+
+    public int get(final int side, final boolean king, final int square) {
+        return king ? kings[side][square] : men[side][square];
+    }
+
+    public PieceSquareTable set(final int side, final boolean king, final int square, final int value) {
+        if(king) kings[side][square] = value; else men[side][square] = value;
+        return this;
+    }
+
+    /**
+     * adds a value to a piece type of a side on every square in the mask
+     */
+    public PieceSquareTable add(final int side, final boolean king, int squares, final int value) {
+        while (squares != 0) {
+            final int square = Integer.numberOfTrailingZeros(squares);
+            squares &= squares - 1;
+            set(side, king, square, get(side, king, square) + value);
+        }
+        return this;
+    }
+
+    /**
+     * sum of the values of the pieces of a side, computed from scratch
+     */
+    public int sum(final int side, int men, int kings) {
+        int sum = 0;
+        while (men != 0) {
+            sum += this.men[side][Integer.numberOfTrailingZeros(men)];
+            men &= men - 1;
+        }
+        while (kings != 0) {
+            sum += this.kings[side][Integer.numberOfTrailingZeros(kings)];
+            kings &= kings - 1;
+        }
+        return sum;
+    }
+}
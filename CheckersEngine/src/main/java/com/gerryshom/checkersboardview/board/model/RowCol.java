@@ -0,0 +1,41 @@
+package com.gerryshom.checkersboardview.board.model;
+
+/**
+ * a row and col on the board. x is the row and y the col, the same way android.graphics.Point was used before
+ * the engine stopped depending on android
+ */
+public final class RowCol {
+    public final int x;
+    public final int y;
+
+    public RowCol(final int row, final int col) {
+        this.x = row;
+        this.y = col;
+    }
+
+    public int getRow() {
+        return x;
+    }
+
+    public int getCol() {
+        return y;
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+        if(this == object) return true;
+        if(!(object instanceof RowCol)) return false;
+        final RowCol rowCol = (RowCol) object;
+        return x == rowCol.x && y == rowCol.y;
+    }
+
+    @Override
+    public int hashCode() {
+        return x * 8 + y;
+    }
+
+    @Override
+    public String toString() {
+        return "RowCol(" + x + ", " + y + ")";
+    }
+}
@@ -0,0 +1,66 @@
+package com.gerryshom.checkersboardview.board.model;
+
+import java.util.Random;
+
+/**
+ * random keys used to hash a BitBoard position.
+ * a position hash is the xor of the key of every piece (side, type and square) and the side to move key
+ * when the opponent is to move. the seed is fixed so the same position always has the same hash
+ */
+public class Zobrist {
+    private static final long SEED = 0x5EED_C4EC_4E25L;
+
+    private static final long[][] MEN = new long[2][32];
+    private static final long[][] KINGS = new long[2][32];
+    private static final long OPPONENT_TO_MOVE;
+
+    static {
+        final Random random = new Random(SEED);
+        for(int side = 0; side < 2; side++) {
+            for(int square = 0; square < 32; square++) {
+                MEN[side][square] = random.nextLong();
+                KINGS[side][square] = random.nextLong();
+            }
+        }
+        OPPONENT_TO_MOVE = random.nextLong();
+    }
+
+    public static long man(final int side, final int square) {
+        return MEN[side][square];
+    }
+
+    public static long king(final int side, final int square) {
+        return KINGS[side][square];
+    }
+
+    public static long piece(final int side, final int square, final boolean king) {
+        return king ? KINGS[side][square] : MEN[side][square];
+    }
+
+    public static long opponentToMove() {
+        return OPPONENT_TO_MOVE;
+    }
+
+    /**
+     * hashes a position from scratch.
+     * searches keep the hash up to date incrementally through BitBoard.makeMove
+     */
+    public static long hash(final BitBoard position) {
+        long hash = 0;
+        for(int side = 0; side < 2; side++) {
+            hash ^= hashSquares(MEN[side], position.getMen(side));
+            hash ^= hashSquares(KINGS[side], position.getKings(side));
+        }
+        if(position.getSideToMove() == BitBoard.OPPONENT) hash ^= OPPONENT_TO_MOVE;
+        return hash;
+    }
+
+    private static long hashSquares(final long[] keys, int squares) {
+        long hash = 0;
+        while (squares != 0) {
+            hash ^= keys[Integer.numberOfTrailingZeros(squares)];
+            squares &= squares - 1;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,265 @@
+package com.gerryshom.checkersboardview.codec;
+
+import com.gerryshom.checkersboardview.board.model.BitBoard;
+import com.gerryshom.checkersboardview.board.model.CheckersBoard;
+import com.gerryshom.checkersboardview.movement.model.BitMove;
+import com.gerryshom.checkersboardview.movement.model.MoveList;
+import com.gerryshom.checkersboardview.movement.model.MoveSequence;
+import com.gerryshom.checkersboardview.piece.model.Piece;
+import com.gerryshom.checkersboardview.player.Player;
+import com.gerryshom.checkersboardview.rules.model.CaptureRule;
+import com.gerryshom.checkersboardview.rules.model.GameFlowRule;
+import com.gerryshom.checkersboardview.rules.model.KingPieceRule;
+import com.gerryshom.checkersboardview.rules.model.NormalPieceRule;
+import com.gerryshom.checkersboardview.sync.BoardPatch;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * a small binary format for sending moves and boards between players, in place of the json of the models.
+ * every message starts with a version byte.
+ *
+ * a move is a short holding the from and to squares, a promotion bit and a capture bit, followed by the
+ * mask of the captured squares when it captures. 3 bytes for a plain move and 7 for a capture chain of any length.
+ * the landings of a chain are not sent, the receiver finds them again on its own board.
+ *
+ * a board is the four piece masks of a BitBoard, the side to move and the rules, 34 bytes. the players, the
+ * board id and the piece ids are not sent. both players already know who is playing, and the pieces get new ids
+ * on the receiving side because moves are sent by square, not by piece id.
+ *
+ * a board patch is its two versions, the hash of the position it starts from, a flags byte and its moves as
+ * shorts, followed by the captured and crowned masks when there are any. 21 bytes for a plain move
+ */
+public class BinaryCodec {
+
+    public static final int VERSION = 1;
+
+    private static final int MOVE_PROMOTION = 1 << 10;
+    private static final int MOVE_CAPTURE = 1 << 11;
+
+    private static final int PATCH_OPPONENT_TO_MOVE = 1;
+    private static final int PATCH_CAPTURES = 1 << 1;
+    private static final int PATCH_CROWNED = 1 << 2;
+
+    private static final int RESTRICT_TO_FORWARD_MOVEMENT = 1;
+    private static final int ALLOW_BACKWARD_CAPTURE = 1 << 1;
+    private static final int PROMOTE_ONLY_AT_LAST_ROW = 1 << 2;
+    private static final int KING_DURING_CAPTURE_CHAIN = 1 << 3;
+    private static final int FORCE_CAPTURE = 1 << 4;
+    private static final int ALLOW_MULTI_CAPTURE = 1 << 5;
+    private static final int MUST_TAKE_LONGEST_JUMP_PATH = 1 << 6;
+    private static final int CAN_CHANGE_DIRECTION_DURING_MULTI_JUMP = 1 << 7;
+    private static final int CAN_MOVE_IMMEDIATELY_AFTER_PROMOTION = 1 << 8;
+
+    /**
+     * writes an encoded BitMove
+     */
+    public static void writeMove(final DataOutput output, final long move) throws IOException {
+        output.writeByte(VERSION);
+        output.writeShort(BitMove.from(move)
+                | BitMove.to(move) << 5
+                | (BitMove.isPromotion(move) ? MOVE_PROMOTION : 0)
+                | (BitMove.isCapture(move) ? MOVE_CAPTURE : 0));
+        if(BitMove.isCapture(move)) output.writeInt(BitMove.captures(move));
+    }
+
+    /**
+     * reads a move written by writeMove. it is not checked against any board
+     */
+    public static long readMove(final DataInput input) throws IOException {
+        readVersion(input);
+
+        final int header = input.readUnsignedShort();
+        final int captures = (header & MOVE_CAPTURE) != 0 ? input.readInt() : 0;
+
+        return BitMove.encode(header & 31, (header >>> 5) & 31, captures, (header & MOVE_PROMOTION) != 0);
+    }
+
+    /**
+     * writes a move sequence played by the active player of the board
+     * @param checkersBoard the board before the sequence was played
+     */
+    public static void writeMoveSequence(final DataOutput output, final MoveSequence moveSequence,
+                                         final CheckersBoard checkersBoard) throws IOException {
+        final long move = BitMove.fromMoveSequence(moveSequence, checkersBoard.toBitBoard(checkersBoard.getActivePlayerId()));
+        if(move == 0) throw new RuntimeException("the move sequence is not legal on the board");
+
+        writeMove(output, move);
+    }
+
+    /**
+     * reads a move and turns it into a move sequence of the active player of the board
+     * @param checkersBoard the board the move is played on, before it is played
+     * @return the sequence with a Move for every step of a capture chain and the piece ids of the board
+     * @throws IOException if the move is not a legal move on the board
+     */
+    public static MoveSequence readMoveSequence(final DataInput input, final CheckersBoard checkersBoard) throws IOException {
+        final long move = readMove(input);
+        final BitBoard position = checkersBoard.toBitBoard(checkersBoard.getActivePlayerId());
+
+        final MoveList moveList = new MoveList();
+        position.generateMoves(moveList);
+
+        for(int i = 0; i < moveList.size(); i++) {
+            final long legalMove = moveList.get(i);
+            if(BitMove.from(legalMove) == BitMove.from(move)
+                    && BitMove.to(legalMove) == BitMove.to(move)
+                    && BitMove.captures(legalMove) == BitMove.captures(move)) {
+                return BitMove.toMoveSequence(legalMove, position, checkersBoard);
+            }
+        }
+
+        throw new IOException("the move is not legal on the board");
+    }
+
+    /**
+     * writes the pieces, the player to move and the rules of a board
+     */
+    public static void writeCheckersBoard(final DataOutput output, final CheckersBoard checkersBoard) throws IOException {
+        final BitBoard position = checkersBoard.toBitBoard(checkersBoard.getActivePlayerId());
+
+        output.writeByte(VERSION);
+        output.writeInt(position.getMen(BitBoard.CREATOR));
+        output.writeInt(position.getKings(BitBoard.CREATOR));
+        output.writeInt(position.getMen(BitBoard.OPPONENT));
+        output.writeInt(position.getKings(BitBoard.OPPONENT));
+        output.writeByte(position.getSideToMove());
+        output.writeInt(packRules(checkersBoard));
+        output.writeInt(checkersBoard.getGameFlowRule().getMaxTurnsWithoutCapture());
+        output.writeLong(checkersBoard.getGameFlowRule().getMaxTurnDurationSeconds());
+    }
+
+    /**
+     * reads a board written by writeCheckersBoard. the id, the creation time and the width are left for the caller to set
+     * @param creator the player who created the game, the one who moves towards row 0
+     * @param opponent the other player
+     */
+    public static CheckersBoard readCheckersBoard(final DataInput input, final Player creator, final Player opponent) throws IOException {
+        readVersion(input);
+
+        final int creatorMen = input.readInt();
+        final int creatorKings = input.readInt();
+        final int opponentMen = input.readInt();
+        final int opponentKings = input.readInt();
+        final int sideToMove = input.readUnsignedByte();
+        final int rules = input.readInt();
+        final int maxTurnsWithoutCapture = input.readInt();
+        final long maxTurnDurationSeconds = input.readLong();
+
+        if((creatorMen & creatorKings) != 0 || (opponentMen & opponentKings) != 0
+                || ((creatorMen | creatorKings) & (opponentMen | opponentKings)) != 0
+                || sideToMove > BitBoard.OPPONENT) {
+            throw new IOException("corrupt board");
+        }
+
+        final CheckersBoard checkersBoard = new CheckersBoard();
+        checkersBoard.setCreator(creator);
+        checkersBoard.setOpponent(opponent);
+        checkersBoard.setActivePlayerId(sideToMove == BitBoard.CREATOR ? creator.getId() : opponent.getId());
+
+        checkersBoard.setNormalPieceRule(new NormalPieceRule(
+                (rules & RESTRICT_TO_FORWARD_MOVEMENT) != 0,
+                (rules & ALLOW_BACKWARD_CAPTURE) != 0,
+                (rules & PROMOTE_ONLY_AT_LAST_ROW) != 0,
+                (rules & KING_DURING_CAPTURE_CHAIN) != 0
+        ));
+        checkersBoard.setCaptureRule(new CaptureRule(
+                (rules & FORCE_CAPTURE) != 0,
+                (rules & ALLOW_MULTI_CAPTURE) != 0,
+                (rules & MUST_TAKE_LONGEST_JUMP_PATH) != 0
+        ));
+        checkersBoard.setKingPieceRule(new KingPieceRule(
+                (rules >>> 16) & 0xFF,
+                (rules >>> 24) & 0xFF,
+                (rules & CAN_CHANGE_DIRECTION_DURING_MULTI_JUMP) != 0,
+                (rules & CAN_MOVE_IMMEDIATELY_AFTER_PROMOTION) != 0
+        ));
+        checkersBoard.setGameFlowRule(new GameFlowRule(maxTurnsWithoutCapture, maxTurnDurationSeconds));
+
+        final List<Piece> pieces = new ArrayList<>();
+        addPieces(pieces, creatorMen, creator.getId(), CheckersBoard.CREATOR_PIECE_COLOR, false);
+        addPieces(pieces, creatorKings, creator.getId(), CheckersBoard.CREATOR_PIECE_COLOR, true);
+        addPieces(pieces, opponentMen, opponent.getId(), CheckersBoard.OPPONENT_PIECE_COLOR, false);
+        addPieces(pieces, opponentKings, opponent.getId(), CheckersBoard.OPPONENT_PIECE_COLOR, true);
+        checkersBoard.setPieces(pieces);
+
+        return checkersBoard;
+    }
+
+    public static void writeBoardPatch(final DataOutput output, final BoardPatch boardPatch) throws IOException {
+        output.writeByte(VERSION);
+        output.writeInt(boardPatch.getFromVersion());
+        output.writeInt(boardPatch.getToVersion());
+        output.writeLong(boardPatch.getFromHash());
+        output.writeByte((boardPatch.getSideToMove() == BitBoard.OPPONENT ? PATCH_OPPONENT_TO_MOVE : 0)
+                | (boardPatch.getCaptures() != 0 ? PATCH_CAPTURES : 0)
+                | (boardPatch.getCrowned() != 0 ? PATCH_CROWNED : 0));
+
+        output.writeByte(boardPatch.getMoves().length);
+        for(int move : boardPatch.getMoves()) output.writeShort(move);
+
+        if(boardPatch.getCaptures() != 0) output.writeInt(boardPatch.getCaptures());
+        if(boardPatch.getCrowned() != 0) output.writeInt(boardPatch.getCrowned());
+    }
+
+    public static BoardPatch readBoardPatch(final DataInput input) throws IOException {
+        readVersion(input);
+
+        final int fromVersion = input.readInt();
+        final int toVersion = input.readInt();
+        final long fromHash = input.readLong();
+        final int flags = input.readUnsignedByte();
+
+        final int[] moves = new int[input.readUnsignedByte()];
+        for(int i = 0; i < moves.length; i++) moves[i] = input.readUnsignedShort() & 0x3FF;
+
+        final int captures = (flags & PATCH_CAPTURES) != 0 ? input.readInt() : 0;
+        final int crowned = (flags & PATCH_CROWNED) != 0 ? input.readInt() : 0;
+
+        return new BoardPatch(fromVersion, toVersion, fromHash,
+                (flags & PATCH_OPPONENT_TO_MOVE) != 0 ? BitBoard.OPPONENT : BitBoard.CREATOR, moves, captures, crowned);
+    }
+
+    private static int packRules(final CheckersBoard checkersBoard) {
+        final NormalPieceRule normalPieceRule = checkersBoard.getNormalPieceRule();
+        final CaptureRule captureRule = checkersBoard.getCaptureRule();
+        final KingPieceRule kingPieceRule = checkersBoard.getKingPieceRule();
+
+        return (normalPieceRule.isRestrictToForwardMovement() ? RESTRICT_TO_FORWARD_MOVEMENT : 0)
+                | (normalPieceRule.isAllowBackwardCapture() ? ALLOW_BACKWARD_CAPTURE : 0)
+                | (normalPieceRule.isPromoteOnlyAtLastRow() ? PROMOTE_ONLY_AT_LAST_ROW : 0)
+                | (normalPieceRule.isKingDuringCaptureChain() ? KING_DURING_CAPTURE_CHAIN : 0)
+                | (captureRule.isForceCapture() ? FORCE_CAPTURE : 0)
+                | (captureRule.isAllowMultiCapture() ? ALLOW_MULTI_CAPTURE : 0)
+                | (captureRule.isMustTakeLongestJumpPath() ? MUST_TAKE_LONGEST_JUMP_PATH : 0)
+                | (kingPieceRule.isCanChangeDirectionDuringMultiJump() ? CAN_CHANGE_DIRECTION_DURING_MULTI_JUMP : 0)
+                | (kingPieceRule.isCanMoveImmediatelyAfterPromotion() ? CAN_MOVE_IMMEDIATELY_AFTER_PROMOTION : 0)
+                | (kingPieceRule.getMaxMoveSteps() & 0xFF) << 16
+                | (kingPieceRule.getMaxLandingDistanceAfterCapture() & 0xFF) << 24;
+    }
+
+    private static void addPieces(final List<Piece> pieces, int squares, final String playerId, final String color, final boolean king) {
+        while (squares != 0) {
+            final int square = Integer.numberOfTrailingZeros(squares);
+            squares &= squares - 1;
+
+            final Piece piece = new Piece();
+            piece.setId(UUID.randomUUID().toString());
+            piece.setRow(BitBoard.rowOf(square));
+            piece.setCol(BitBoard.colOf(square));
+            piece.setPlayerId(playerId);
+            piece.setColor(color);
+            piece.setKing(king);
+            pieces.add(piece);
+        }
+    }
+
+    private static void readVersion(final DataInput input) throws IOException {
+        if(input.readUnsignedByte() != VERSION) throw new IOException("unsupported codec version");
+    }
+}
@@ -1,14 +1,14 @@
 package com.gerryshom.checkersboardview.landingSpot;
 
-import android.graphics.Point;
+import com.gerryshom.checkersboardview.board.model.RowCol;
 
 public class LandingSpot {
     private String id;
 
-    private Point rowCol;
+    private RowCol rowCol;
     private boolean afterJump;
 
-    public LandingSpot(Point rowCol, boolean afterJump) {
+    public LandingSpot(RowCol rowCol, boolean afterJump) {
         this.rowCol = rowCol;
         this.afterJump = afterJump;
     }
@@ -16,11 +16,11 @@ public class LandingSpot {
     public LandingSpot() {
     }
 
-    public void setRowCol(Point rowCol) {
+    public void setRowCol(RowCol rowCol) {
         this.rowCol = rowCol;
     }
 
-    public Point getRowCol() {
+    public RowCol getRowCol() {
         return rowCol;
     }
 
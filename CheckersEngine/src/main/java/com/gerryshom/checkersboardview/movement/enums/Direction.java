@@ -1,6 +1,6 @@
 package com.gerryshom.checkersboardview.movement.enums;
 
-import android.graphics.Point;
+import com.gerryshom.checkersboardview.board.model.RowCol;
 
 public enum Direction {
     TOP_LEFT(-1, -1),
@@ -10,13 +10,18 @@ public enum Direction {
 
     public final int rowOffset;
     public final int colOffset;
+    private final RowCol rowCol;
 
     Direction(int rowOffset, int colOffset) {
         this.rowOffset = rowOffset;
         this.colOffset = colOffset;
+        this.rowCol = new RowCol(rowOffset, colOffset);
     }
 
-    public Point toPoint() {
-        return new Point(rowOffset, colOffset);
+    /**
+     * the offsets as a RowCol. the same instance is returned every time
+     */
+    public RowCol toRowCol() {
+        return rowCol;
     }
 }
@@ -0,0 +1,152 @@
+package com.gerryshom.checkersboardview.movement.model;
+
+import com.gerryshom.checkersboardview.board.model.BitBoard;
+import com.gerryshom.checkersboardview.board.model.CheckersBoard;
+import com.gerryshom.checkersboardview.piece.model.Piece;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * packs a complete BitBoard move (a single step or a whole capture chain) into a long
+ *
+ * bits 0 - 4   square the piece starts from
+ * bits 5 - 9   square the piece ends on
+ * bit  10      set when the piece is crowned by the move
+ * bits 32 - 63 mask of the squares of every captured piece
+ */
+public class BitMove {
+
+    private static final long PROMOTION = 1L << 10;
+
+    public static long encode(final int from, final int to, final int captures, final boolean promotes) {
+        return from
+                | (to << 5)
+                | (promotes ? PROMOTION : 0)
+                | ((long) captures << 32);
+    }
+
+    public static int from(final long move) {
+        return (int) (move & 31);
+    }
+
+    public static int to(final long move) {
+        return (int) ((move >>> 5) & 31);
+    }
+
+    public static int captures(final long move) {
+        return (int) (move >>> 32);
+    }
+
+    public static boolean isCapture(final long move) {
+        return captures(move) != 0;
+    }
+
+    public static boolean isPromotion(final long move) {
+        return (move & PROMOTION) != 0;
+    }
+
+    /**
+     * converts a move found on a BitBoard back into the MoveSequence the rest of the library understands
+     * @param move encoded move
+     * @param position the bit board the move was generated on, before the move was made
+     * @param checkersBoard the board the bit board was copied from. used to resolve piece ids
+     * @return the move sequence with a Move for every step of a capture chain
+     */
+    public static MoveSequence toMoveSequence(final long move, final BitBoard position, final CheckersBoard checkersBoard) {
+        final int from = from(move);
+        final Piece piece = findPieceBySquare(checkersBoard, from);
+        if(piece == null) throw new RuntimeException("no piece found on square " + from);
+
+        final int[] path = position.findPath(move);
+        final List<Move> moves = new ArrayList<>();
+
+        int current = from;
+        int remainingCaptures = captures(move);
+        for(int landing : path) {
+            final Move step = new Move();
+            step.setId(UUID.randomUUID().toString());
+            step.setPieceId(piece.getId());
+            step.setFromRow(BitBoard.rowOf(current));
+            step.setFromCol(BitBoard.colOf(current));
+            step.setToRow(BitBoard.rowOf(landing));
+            step.setToCol(BitBoard.colOf(landing));
+
+            if(isCapture(move)) {
+                final int captured = findCapturedSquareOnPath(remainingCaptures, current, landing);
+                remainingCaptures &= ~(1 << captured);
+                final Piece capturedPiece = findPieceBySquare(checkersBoard, captured);
+                if(capturedPiece != null) step.setCapturedPieceId(capturedPiece.getId());
+            }
+
+            moves.add(step);
+            current = landing;
+        }
+
+        return new MoveSequence(piece.getPlayerId(), moves);
+    }
+
+    /**
+     * the opposite of toMoveSequence. finds the encoded move a MoveSequence played
+     * @param position the bit board before the move sequence was played
+     * @return the legal move that starts and lands on the same squares as the move sequence or 0 if there is none
+     */
+    public static long fromMoveSequence(final MoveSequence moveSequence, final BitBoard position) {
+        final List<Move> steps = moveSequence.getMoves();
+        if(steps == null || steps.isEmpty()) return 0;
+
+        final int from = BitBoard.square(steps.get(0).getFromRow(), steps.get(0).getFromCol());
+
+        final MoveList moveList = new MoveList();
+        position.generateMoves(moveList);
+
+        outer:
+        for(int i = 0; i < moveList.size(); i++) {
+            final long move = moveList.get(i);
+            if(from(move) != from) continue;
+
+            final int[] path = position.findPath(move);
+            if(path.length != steps.size()) continue;
+
+            for(int j = 0; j < path.length; j++) {
+                if(path[j] != BitBoard.square(steps.get(j).getToRow(), steps.get(j).getToCol())) continue outer;
+            }
+
+            return move;
+        }
+
+        return 0;
+    }
+
+    /**
+     * finds the captured square lying on the diagonal between two consecutive landings of a chain.
+     * a king may pass back over squares it already captured so those are left out of the mask
+     * @param captures squares captured by the chain that have not been matched to a step yet
+     */
+    private static int findCapturedSquareOnPath(final int captures, final int from, final int to) {
+        final int rowDirection = Integer.compare(BitBoard.rowOf(to), BitBoard.rowOf(from));
+        final int colDirection = Integer.compare(BitBoard.colOf(to), BitBoard.colOf(from));
+
+        int row = BitBoard.rowOf(from) + rowDirection;
+        int col = BitBoard.colOf(from) + colDirection;
+
+        while (row != BitBoard.rowOf(to)) {
+            final int square = BitBoard.square(row, col);
+            if((captures & (1 << square)) != 0) return square;
+            row += rowDirection;
+            col += colDirection;
+        }
+
+        return -1;
+    }
+
+    private static Piece findPieceBySquare(final CheckersBoard checkersBoard, final int square) {
+        if(square < 0) return null;
+        for(Piece piece : checkersBoard.getPieces()) {
+            if(piece.getRow() == BitBoard.rowOf(square) && piece.getCol() == BitBoard.colOf(square)) return piece;
+        }
+        return null;
+    }
+
+}
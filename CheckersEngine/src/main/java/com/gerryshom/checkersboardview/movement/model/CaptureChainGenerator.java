@@ -0,0 +1,327 @@
+package com.gerryshom.checkersboardview.movement.model;
+
+import com.gerryshom.checkersboardview.board.model.BitBoard;
+import com.gerryshom.checkersboardview.board.model.CheckersBoard;
+import com.gerryshom.checkersboardview.piece.model.Piece;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * finds every complete capture chain of a player on a CheckersBoard without cloning the board.
+ * the jumps are walked depth first on a grid of the pieces: a jumped piece is taken off the grid while the deeper
+ * jumps are searched and put back afterwards, so the board itself is never touched.
+ *
+ * the chains are kept in flat arrays that are reused by the next generate, so once the arrays have grown
+ * to the largest position seen a generate allocates nothing. a generator is not thread safe,
+ * keep one per thread. the rules are applied the same way as BitBoard.generateCaptures
+ */
+public class CaptureChainGenerator {
+
+    // row and col steps of TOP_LEFT, TOP_RIGHT, BOTTOM_LEFT, BOTTOM_RIGHT
+    private static final int[] ROW_STEPS = {-1, -1, 1, 1};
+    private static final int[] COL_STEPS = {-1, 1, -1, 1};
+
+    private final Piece[] grid = new Piece[64];
+
+    // the chain being walked
+    private int[] pathRows = new int[16];
+    private int[] pathCols = new int[16];
+    private Piece[] pathCaptures = new Piece[16];
+
+    // the complete chains, every hop of every chain one after the other
+    private int chainCount;
+    private Piece[] chainPieces = new Piece[16];
+    private int[] chainStarts = new int[16];
+    private int[] chainLengths = new int[16];
+    private int[] chainCapturedMasks = new int[16];
+
+    private int hopCount;
+    private int[] hopRows = new int[64];
+    private int[] hopCols = new int[64];
+    private Piece[] hopCaptures = new Piece[64];
+
+    // rules of the board being generated
+    private String creatorId;
+    private boolean restrictToForwardMovement;
+    private boolean allowBackwardCapture;
+    private boolean allowMultiCapture;
+    private boolean kingDuringCaptureChain;
+    private int maxKingMoveSteps;
+    private int maxKingJumpLandingDistance;
+
+    /**
+     * replaces the chains of the last call with every complete capture chain of the player
+     * @return number of chains found
+     */
+    public int generate(final CheckersBoard checkersBoard, final String playerId) {
+        chainCount = 0;
+        hopCount = 0;
+
+        creatorId = checkersBoard.getCreator().getId();
+        restrictToForwardMovement = checkersBoard.getNormalPieceRule().isRestrictToForwardMovement();
+        allowBackwardCapture = checkersBoard.getNormalPieceRule().isAllowBackwardCapture();
+        allowMultiCapture = checkersBoard.getCaptureRule().isAllowMultiCapture();
+        kingDuringCaptureChain = checkersBoard.getNormalPieceRule().isKingDuringCaptureChain();
+        maxKingMoveSteps = checkersBoard.getKingPieceRule().getMaxMoveSteps();
+        maxKingJumpLandingDistance = checkersBoard.getKingPieceRule().getMaxLandingDistanceAfterCapture();
+
+        final List<Piece> pieces = checkersBoard.getPieces();
+        for(int i = 0; i < pieces.size(); i++) {
+            final Piece piece = pieces.get(i);
+            if(isOnBoard(piece.getRow(), piece.getCol())) grid[index(piece.getRow(), piece.getCol())] = piece;
+        }
+
+        for(int i = 0; i < pieces.size(); i++) {
+            final Piece piece = pieces.get(i);
+            if(!piece.getPlayerId().equals(playerId) || !isOnBoard(piece.getRow(), piece.getCol())) continue;
+
+            // lift the piece off the grid so the chain can pass over its starting square
+            final int start = index(piece.getRow(), piece.getCol());
+            grid[start] = null;
+            walk(piece, piece.getRow(), piece.getCol(), piece.isKing(), 0, 0);
+            grid[start] = piece;
+        }
+
+        for(int i = 0; i < pieces.size(); i++) {
+            final Piece piece = pieces.get(i);
+            if(isOnBoard(piece.getRow(), piece.getCol())) grid[index(piece.getRow(), piece.getCol())] = null;
+        }
+
+        if(checkersBoard.getCaptureRule().isMustTakeLongestJumpPath()) keepLongestChains();
+
+        return chainCount;
+    }
+
+    /**
+     * walks every jump from the square, adding the chain once the piece can no longer jump
+     * @param hops jumps made so far
+     * @param capturedMask dark squares of the pieces captured so far
+     */
+    private void walk(final Piece piece, final int row, final int col, final boolean king,
+                      final int hops, final int capturedMask) {
+
+        boolean jumped = false;
+
+        if(hops == 0 || allowMultiCapture) {
+            for(int direction = 0; direction < 4; direction++) {
+                if(!king && !isCaptureDirection(piece.getPlayerId(), direction)) continue;
+
+                final int rowStep = ROW_STEPS[direction];
+                final int colStep = COL_STEPS[direction];
+
+                // slide over empty cells until something blocks the ray
+                int enemyRow = row + rowStep;
+                int enemyCol = col + colStep;
+                if(king) {
+                    int steps = 0;
+                    while (isOnBoard(enemyRow, enemyCol) && grid[index(enemyRow, enemyCol)] == null) {
+                        steps++;
+                        if(maxKingMoveSteps != 0 && steps >= maxKingMoveSteps) break;
+                        enemyRow += rowStep;
+                        enemyCol += colStep;
+                    }
+                }
+
+                if(!isOnBoard(enemyRow, enemyCol)) continue;
+                final Piece enemy = grid[index(enemyRow, enemyCol)];
+                if(enemy == null || enemy.getPlayerId().equals(piece.getPlayerId())) continue;
+
+                int landingRow = enemyRow + rowStep;
+                int landingCol = enemyCol + colStep;
+                int landingSteps = 1;
+
+                while (isOnBoard(landingRow, landingCol) && grid[index(landingRow, landingCol)] == null) {
+                    jumped = true;
+
+                    grid[index(enemyRow, enemyCol)] = null;
+                    push(hops, landingRow, landingCol, enemy);
+
+                    walk(piece, landingRow, landingCol,
+                            king || (kingDuringCaptureChain && isPromotionRow(piece.getPlayerId(), landingRow)),
+                            hops + 1, capturedMask | 1 << BitBoard.square(enemyRow, enemyCol));
+
+                    grid[index(enemyRow, enemyCol)] = enemy;
+
+                    // a man lands right behind the piece it jumps
+                    if(!king || maxKingJumpLandingDistance == 1) break;
+
+                    landingSteps++;
+                    if(maxKingJumpLandingDistance != 0 && landingSteps > maxKingJumpLandingDistance) break;
+                    landingRow += rowStep;
+                    landingCol += colStep;
+                }
+            }
+        }
+
+        if(!jumped && hops > 0) addChain(piece, hops, capturedMask);
+    }
+
+    private void push(final int hop, final int row, final int col, final Piece captured) {
+        if(hop == pathRows.length) {
+            pathRows = grow(pathRows);
+            pathCols = grow(pathCols);
+            pathCaptures = grow(pathCaptures);
+        }
+        pathRows[hop] = row;
+        pathCols[hop] = col;
+        pathCaptures[hop] = captured;
+    }
+
+    /**
+     * copies the walked path into the chains unless the same piece already reaches the same square
+     * by capturing the same pieces in another order
+     */
+    private void addChain(final Piece piece, final int hops, final int capturedMask) {
+        final int row = pathRows[hops - 1];
+        final int col = pathCols[hops - 1];
+
+        for(int chain = 0; chain < chainCount; chain++) {
+            if(chainPieces[chain] == piece && chainCapturedMasks[chain] == capturedMask
+                    && getLandingRow(chain, chainLengths[chain] - 1) == row
+                    && getLandingCol(chain, chainLengths[chain] - 1) == col) return;
+        }
+
+        if(chainCount == chainPieces.length) {
+            chainPieces = grow(chainPieces);
+            chainStarts = grow(chainStarts);
+            chainLengths = grow(chainLengths);
+            chainCapturedMasks = grow(chainCapturedMasks);
+        }
+        while (hopCount + hops > hopRows.length) {
+            hopRows = grow(hopRows);
+            hopCols = grow(hopCols);
+            hopCaptures = grow(hopCaptures);
+        }
+
+        chainPieces[chainCount] = piece;
+        chainStarts[chainCount] = hopCount;
+        chainLengths[chainCount] = hops;
+        chainCapturedMasks[chainCount] = capturedMask;
+        chainCount++;
+
+        System.arraycopy(pathRows, 0, hopRows, hopCount, hops);
+        System.arraycopy(pathCols, 0, hopCols, hopCount, hops);
+        System.arraycopy(pathCaptures, 0, hopCaptures, hopCount, hops);
+        hopCount += hops;
+    }
+
+    /**
+     * drops every chain that captures fewer pieces than the longest one
+     */
+    private void keepLongestChains() {
+        int longest = 0;
+        for(int chain = 0; chain < chainCount; chain++) longest = Math.max(longest, chainLengths[chain]);
+
+        int kept = 0;
+        for(int chain = 0; chain < chainCount; chain++) {
+            if(chainLengths[chain] != longest) continue;
+
+            chainPieces[kept] = chainPieces[chain];
+            chainStarts[kept] = chainStarts[chain];
+            chainLengths[kept] = chainLengths[chain];
+            chainCapturedMasks[kept] = chainCapturedMasks[chain];
+            kept++;
+        }
+        chainCount = kept;
+    }
+
+    /**
+     * builds the MoveSequence of a chain, one Move for every jump
+     */
+    public MoveSequence toMoveSequence(final int chain) {
+        final Piece piece = chainPieces[chain];
+        final List<Move> moves = new ArrayList<>(chainLengths[chain]);
+
+        int fromRow = piece.getRow();
+        int fromCol = piece.getCol();
+        for(int hop = 0; hop < chainLengths[chain]; hop++) {
+            final Move move = new Move();
+            move.setId(UUID.randomUUID().toString());
+            move.setPieceId(piece.getId());
+            move.setFromRow(fromRow);
+            move.setFromCol(fromCol);
+            move.setToRow(getLandingRow(chain, hop));
+            move.setToCol(getLandingCol(chain, hop));
+            move.setCapturedPieceId(getCapturedPiece(chain, hop).getId());
+            moves.add(move);
+
+            fromRow = move.getToRow();
+            fromCol = move.getToCol();
+        }
+
+        return new MoveSequence(piece.getPlayerId(), moves);
+    }
+
+    public int size() {
+        return chainCount;
+    }
+
+    public boolean isEmpty() {
+        return chainCount == 0;
+    }
+
+    /**
+     * the piece that makes the chain
+     */
+    public Piece getPiece(final int chain) {
+        return chainPieces[chain];
+    }
+
+    /**
+     * number of jumps, which is also the number of pieces captured
+     */
+    public int getHopCount(final int chain) {
+        return chainLengths[chain];
+    }
+
+    public int getLandingRow(final int chain, final int hop) {
+        return hopRows[chainStarts[chain] + hop];
+    }
+
+    public int getLandingCol(final int chain, final int hop) {
+        return hopCols[chainStarts[chain] + hop];
+    }
+
+    public Piece getCapturedPiece(final int chain, final int hop) {
+        return hopCaptures[chainStarts[chain] + hop];
+    }
+
+    /**
+     * dark squares of every piece the chain captures, as BitBoard squares
+     */
+    public int getCapturedMask(final int chain) {
+        return chainCapturedMasks[chain];
+    }
+
+    private boolean isCaptureDirection(final String playerId, final int direction) {
+        if(allowBackwardCapture || !restrictToForwardMovement) return true;
+        // the creator moves up the board, the opponent down
+        return creatorId.equals(playerId) ? ROW_STEPS[direction] < 0 : ROW_STEPS[direction] > 0;
+    }
+
+    private boolean isPromotionRow(final String playerId, final int row) {
+        return creatorId.equals(playerId) ? row == 0 : row == 7;
+    }
+
+    private static boolean isOnBoard(final int row, final int col) {
+        return row >= 0 && row < 8 && col >= 0 && col < 8;
+    }
+
+    private static int index(final int row, final int col) {
+        return row * 8 + col;
+    }
+
+    private static int[] grow(final int[] array) {
+        final int[] grown = new int[array.length * 2];
+        System.arraycopy(array, 0, grown, 0, array.length);
+        return grown;
+    }
+
+    private static Piece[] grow(final Piece[] array) {
+        final Piece[] grown = new Piece[array.length * 2];
+        System.arraycopy(array, 0, grown, 0, array.length);
+        return grown;
+    }
+}
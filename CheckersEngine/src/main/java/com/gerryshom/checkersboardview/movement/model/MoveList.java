@@ -0,0 +1,99 @@
+package com.gerryshom.checkersboardview.movement.model;
+
+/**
+ * reusable buffer of encoded BitMoves.
+ * the search keeps one per ply so generating moves does not allocate once the buffers have grown
+ */
+public class MoveList {
+    private long[] moves = new long[64];
+    private int[] scores = new int[64];
+    private int size;
+
+    public void add(final long move) {
+        if(size == moves.length) {
+            final long[] grown = new long[moves.length * 2];
+            System.arraycopy(moves, 0, grown, 0, size);
+            moves = grown;
+            final int[] grownScores = new int[grown.length];
+            System.arraycopy(scores, 0, grownScores, 0, size);
+            scores = grownScores;
+        }
+        moves[size++] = move;
+    }
+
+    /**
+     * adds the move only if it is not in the list yet.
+     * two capture paths that take the same pieces and end on the same square are the same move
+     */
+    public void addUnique(final long move) {
+        for(int i = 0; i < size; i++) {
+            if(moves[i] == move) return;
+        }
+        add(move);
+    }
+
+    public long get(final int index) {
+        return moves[index];
+    }
+
+    public void set(final int index, final long move) {
+        moves[index] = move;
+    }
+
+    public void swap(final int first, final int second) {
+        final long move = moves[first];
+        moves[first] = moves[second];
+        moves[second] = move;
+
+        final int score = scores[first];
+        scores[first] = scores[second];
+        scores[second] = score;
+    }
+
+    /**
+     * ordering score of a move. moves with higher scores are searched first
+     */
+    public void setScore(final int index, final int score) {
+        scores[index] = score;
+    }
+
+    public int getScore(final int index) {
+        return scores[index];
+    }
+
+    /**
+     * sorts the moves by their scores, highest first. moves with the same score keep their order.
+     * an insertion sort since a position rarely has more than a dozen moves
+     */
+    public void sortByScore() {
+        for(int i = 1; i < size; i++) {
+            final long move = moves[i];
+            final int score = scores[i];
+
+            int j = i - 1;
+            while (j >= 0 && scores[j] < score) {
+                moves[j + 1] = moves[j];
+                scores[j + 1] = scores[j];
+                j--;
+            }
+            moves[j + 1] = move;
+            scores[j + 1] = score;
+        }
+    }
+
+    public void truncate(final int size) {
+        this.size = size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+}
@@ -99,6 +99,9 @@ public class Piece {
         return row;
     }
 
+    /**
+     * for a piece on a board use CheckersBoard.movePiece instead, the board finds its pieces by square
+     */
     public void setRow(int row) {
         this.row = row;
     }
@@ -107,6 +110,9 @@ public class Piece {
         return col;
     }
 
+    /**
+     * for a piece on a board use CheckersBoard.movePiece instead, the board finds its pieces by square
+     */
     public void setCol(int col) {
         this.col = col;
     }
@@ -0,0 +1,171 @@
+package com.gerryshom.checkersboardview.sync;
+
+import com.gerryshom.checkersboardview.board.model.BitBoard;
+import com.gerryshom.checkersboardview.board.model.CheckersBoard;
+import com.gerryshom.checkersboardview.piece.model.Piece;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * the difference between two versions of a position: the pieces that moved, the pieces that were captured,
+ * the pieces that were crowned and the side to move after it. applying it to a board at the older version brings
+ * the board to the newer one without replacing the board, so a client that missed a few moves only needs the patch.
+ *
+ * the patch knows squares, not piece ids. when several moves are folded into one patch, a piece that moved twice
+ * is one move from its first square to its last
+ */
+public class BoardPatch {
+
+    private final int fromVersion;
+    private final int toVersion;
+    private final long fromHash;
+    private final int sideToMove;
+    private final int[] moves;
+    private final int captures;
+    private final int crowned;
+
+    /**
+     * @param fromHash zobrist hash of the position at fromVersion
+     * @param moves from square | to square << 5 of every piece that moved
+     * @param captures mask of the squares the captured pieces stood on at fromVersion
+     * @param crowned mask of the squares of the crowned pieces at toVersion
+     */
+    public BoardPatch(final int fromVersion, final int toVersion, final long fromHash, final int sideToMove,
+                      final int[] moves, final int captures, final int crowned) {
+        this.fromVersion = fromVersion;
+        this.toVersion = toVersion;
+        this.fromHash = fromHash;
+        this.sideToMove = sideToMove;
+        this.moves = moves;
+        this.captures = captures;
+        this.crowned = crowned;
+    }
+
+    /**
+     * works out the patch that turns one position into another
+     * @return the patch or null if the change can not be told as moves, captures and crowns.
+     * for example a king that became a man or a side that gained pieces. the whole board has to be sent then
+     */
+    public static BoardPatch between(final int fromVersion, final BitBoard from, final int toVersion, final BitBoard to) {
+        final int[] moves = new int[24];
+        int moveCount = 0;
+        int captures = 0;
+        int crowned = 0;
+
+        for(int side = BitBoard.CREATOR; side <= BitBoard.OPPONENT; side++) {
+            // a square that holds a king before and a man after, or the other way round, was left by one piece
+            // and reached by another
+            int kingsLeft = from.getKings(side) & ~to.getKings(side);
+            int menLeft = from.getMen(side) & ~to.getMen(side);
+            int kingsArrived = to.getKings(side) & ~from.getKings(side);
+            int menArrived = to.getMen(side) & ~from.getMen(side);
+
+            // every square a piece arrived on is matched with a square a piece of the same side left.
+            // kings with kings first, then men with men and last men with the kings they were crowned to
+            while (kingsArrived != 0 && kingsLeft != 0) {
+                moves[moveCount++] = Integer.numberOfTrailingZeros(kingsLeft) | Integer.numberOfTrailingZeros(kingsArrived) << 5;
+                kingsLeft &= kingsLeft - 1;
+                kingsArrived &= kingsArrived - 1;
+            }
+
+            while (menArrived != 0) {
+                if(menLeft == 0) return null;
+                moves[moveCount++] = Integer.numberOfTrailingZeros(menLeft) | Integer.numberOfTrailingZeros(menArrived) << 5;
+                menLeft &= menLeft - 1;
+                menArrived &= menArrived - 1;
+            }
+
+            while (kingsArrived != 0) {
+                if(menLeft == 0) return null;
+                final int source = Integer.numberOfTrailingZeros(menLeft);
+                final int target = Integer.numberOfTrailingZeros(kingsArrived);
+                if(source != target) moves[moveCount++] = source | target << 5;
+                crowned |= 1 << target;
+                menLeft &= menLeft - 1;
+                kingsArrived &= kingsArrived - 1;
+            }
+
+            // the squares left without a piece arriving somewhere else were captured
+            captures |= kingsLeft | menLeft;
+        }
+
+        return new BoardPatch(fromVersion, toVersion, from.getHash(), to.getSideToMove(),
+                Arrays.copyOf(moves, moveCount), captures, crowned);
+    }
+
+    /**
+     * plays the patch on a board at the version the patch starts from
+     * @return the pieces that were captured, already taken off the board
+     */
+    public List<Piece> applyTo(final CheckersBoard checkersBoard) {
+        if(checkersBoard.toBitBoard(checkersBoard.getActivePlayerId()).getHash() != fromHash) {
+            throw new RuntimeException("the board is not at version " + fromVersion + " of the patch");
+        }
+
+        final List<Piece> capturedPieces = new ArrayList<>();
+        int squares = captures;
+        while (squares != 0) {
+            final int square = Integer.numberOfTrailingZeros(squares);
+            squares &= squares - 1;
+            capturedPieces.add(checkersBoard.findPieceByRowAndCol(BitBoard.rowOf(square), BitBoard.colOf(square)));
+        }
+
+        // every moving piece is found before any of them moves since one may move onto a square another one left
+        final Piece[] movedPieces = new Piece[moves.length];
+        for(int i = 0; i < moves.length; i++) {
+            movedPieces[i] = checkersBoard.findPieceByRowAndCol(BitBoard.rowOf(moves[i] & 31), BitBoard.colOf(moves[i] & 31));
+        }
+
+        for(Piece capturedPiece : capturedPieces) checkersBoard.removePiece(capturedPiece);
+
+        for(int i = 0; i < moves.length; i++) {
+            final int target = moves[i] >>> 5;
+            checkersBoard.movePiece(movedPieces[i], BitBoard.rowOf(target), BitBoard.colOf(target));
+        }
+
+        squares = crowned;
+        while (squares != 0) {
+            final int square = Integer.numberOfTrailingZeros(squares);
+            squares &= squares - 1;
+            checkersBoard.findPieceByRowAndCol(BitBoard.rowOf(square), BitBoard.colOf(square)).setKing(true);
+        }
+
+        checkersBoard.setActivePlayerId(sideToMove == BitBoard.CREATOR
+                ? checkersBoard.getCreator().getId() : checkersBoard.getOpponent().getId());
+
+        return capturedPieces;
+    }
+
+    public int getFromVersion() {
+        return fromVersion;
+    }
+
+    public int getToVersion() {
+        return toVersion;
+    }
+
+    public long getFromHash() {
+        return fromHash;
+    }
+
+    public int getSideToMove() {
+        return sideToMove;
+    }
+
+    /**
+     * from square | to square << 5 of every piece that moved
+     */
+    public int[] getMoves() {
+        return moves;
+    }
+
+    public int getCaptures() {
+        return captures;
+    }
+
+    public int getCrowned() {
+        return crowned;
+    }
+}
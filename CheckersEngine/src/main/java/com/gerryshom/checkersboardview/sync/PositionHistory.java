@@ -0,0 +1,72 @@
+package com.gerryshom.checkersboardview.sync;
+
+import com.gerryshom.checkersboardview.board.model.BitBoard;
+
+/**
+ * the last positions of a game by version, kept on the server so a client that reconnects can be sent
+ * a patch from the version it knows instead of the whole board.
+ * the first position recorded is version 0 and every position after it the next version.
+ * safe to use from several threads at once
+ */
+public class PositionHistory {
+
+    public static final int DEFAULT_CAPACITY = 64;
+
+    private final BitBoard[] positions;
+    private int version = -1;
+
+    public PositionHistory() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity number of versions kept. a client further behind than this gets the whole board
+     */
+    public PositionHistory(final int capacity) {
+        if(capacity < 1) throw new RuntimeException("capacity must be at least 1");
+        positions = new BitBoard[capacity];
+    }
+
+    /**
+     * keeps a copy of the position as the next version
+     * @return the version of the position
+     */
+    public synchronized int record(final BitBoard position) {
+        version++;
+        positions[version % positions.length] = new BitBoard(position);
+        return version;
+    }
+
+    /**
+     * @return the version of the last position recorded or -1 if none was
+     */
+    public synchronized int getVersion() {
+        return version;
+    }
+
+    /**
+     * @return a copy of the position of a version or null if it is no longer kept
+     */
+    public synchronized BitBoard getPosition(final int version) {
+        if(!isKept(version)) return null;
+        return new BitBoard(positions[version % positions.length]);
+    }
+
+    /**
+     * the patch that brings a client at a known version to the last version
+     * @return the patch or null if the version is no longer kept or the change can not be told as a patch.
+     * the whole board has to be sent then
+     */
+    public synchronized BoardPatch diff(final int knownVersion) {
+        if(!isKept(knownVersion)) return null;
+
+        return BoardPatch.between(
+                knownVersion, positions[knownVersion % positions.length],
+                version, positions[version % positions.length]
+        );
+    }
+
+    private boolean isKept(final int version) {
+        return version >= 0 && version <= this.version && this.version - version < positions.length;
+    }
+}
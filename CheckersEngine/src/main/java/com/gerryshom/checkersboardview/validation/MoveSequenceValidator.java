@@ -0,0 +1,207 @@
+package com.gerryshom.checkersboardview.validation;
+
+import com.gerryshom.checkersboardview.board.model.BitBoard;
+import com.gerryshom.checkersboardview.board.model.CheckersBoard;
+import com.gerryshom.checkersboardview.movement.model.BitMove;
+import com.gerryshom.checkersboardview.movement.model.Move;
+import com.gerryshom.checkersboardview.movement.model.MoveList;
+import com.gerryshom.checkersboardview.movement.model.MoveSequence;
+import com.gerryshom.checkersboardview.piece.model.Piece;
+import com.gerryshom.checkersboardview.validation.enums.RejectionReason;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * checks move sequences sent by players against the rules of the board they were played on, without a view.
+ * meant for a server that has to trust no client: every move must belong to the player whose turn it is,
+ * follow on from the move before it and capture the pieces it says it captures, and the sequence as a whole
+ * must be one of the legal moves of the position under the capture rule of the board.
+ *
+ * the legal moves come from the BitBoard generator, the same one the engine searches with
+ */
+public class MoveSequenceValidator {
+
+    // games validated by one task of a batch
+    private static final int BATCH_CHUNK_SIZE = 256;
+
+    private static final ThreadLocal<MoveList> MOVE_LISTS = new ThreadLocal<MoveList>() {
+        @Override
+        protected MoveList initialValue() {
+            return new MoveList();
+        }
+    };
+
+    private ForkJoinPool forkJoinPool = ForkJoinPool.commonPool();
+
+    /**
+     * validates a move sequence played by the active player of the board. the board is not changed
+     * @return the board after the sequence when it is legal, otherwise why it is not
+     */
+    public ValidationResult validate(final CheckersBoard checkersBoard, final MoveSequence moveSequence) {
+        final List<Move> moves = moveSequence == null ? null : moveSequence.getMoves();
+        if(moves == null || moves.isEmpty()) return ValidationResult.rejected(RejectionReason.EMPTY_SEQUENCE, -1);
+
+        final String pieceId = moves.get(0).getPieceId();
+        final Piece piece = pieceId == null ? null : checkersBoard.findPieceById(pieceId);
+        if(piece == null) return ValidationResult.rejected(RejectionReason.UNKNOWN_PIECE, 0);
+
+        final String playerId = checkersBoard.getActivePlayerId();
+        if(!piece.getPlayerId().equals(playerId)) return ValidationResult.rejected(RejectionReason.NOT_ACTIVE_PLAYER, 0);
+
+        final boolean capture = moves.get(0).isCapture();
+        final int[] landings = new int[moves.size()];
+        final Set<String> capturedPieceIds = new HashSet<>();
+
+        int row = piece.getRow();
+        int col = piece.getCol();
+        for(int i = 0; i < moves.size(); i++) {
+            final Move move = moves.get(i);
+
+            if(!pieceId.equals(move.getPieceId())) return ValidationResult.rejected(RejectionReason.MIXED_PIECES, i);
+
+            if(move.getFromRow() != row || move.getFromCol() != col) {
+                return ValidationResult.rejected(RejectionReason.DISCONNECTED_MOVE, i);
+            }
+
+            // a plain move is a single step and a capture chain has nothing but captures
+            if(move.isCapture() != capture || (!capture && i > 0)) return ValidationResult.rejected(RejectionReason.ILLEGAL_MOVE, i);
+
+            landings[i] = BitBoard.square(move.getToRow(), move.getToCol());
+            if(landings[i] < 0) return ValidationResult.rejected(RejectionReason.ILLEGAL_MOVE, i);
+
+            if(capture) {
+                final Piece capturedPiece = checkersBoard.findPieceById(move.getCapturedPieceId());
+                if(capturedPiece == null || capturedPiece.getPlayerId().equals(playerId) || !capturedPieceIds.add(capturedPiece.getId())) {
+                    return ValidationResult.rejected(RejectionReason.UNKNOWN_CAPTURED_PIECE, i);
+                }
+            }
+
+            row = move.getToRow();
+            col = move.getToCol();
+        }
+
+        final BitBoard position = checkersBoard.toBitBoard(playerId);
+        final int from = BitBoard.square(piece.getRow(), piece.getCol());
+        final int to = landings[landings.length - 1];
+
+        int captures = 0;
+        if(capture) {
+            final int[] capturedSquares = new int[landings.length];
+            captures = position.followPath(from, landings, landings.length, capturedSquares);
+            if(captures == 0) {
+                return ValidationResult.rejected(RejectionReason.ILLEGAL_MOVE, findUnreachableLanding(position, from, landings));
+            }
+
+            for(int i = 0; i < moves.size(); i++) {
+                final Piece capturedPiece = checkersBoard.findPieceById(moves.get(i).getCapturedPieceId());
+                if(BitBoard.square(capturedPiece.getRow(), capturedPiece.getCol()) != capturedSquares[i]) {
+                    return ValidationResult.rejected(RejectionReason.WRONG_CAPTURED_PIECE, i);
+                }
+            }
+        }
+
+        final MoveList moveList = MOVE_LISTS.get();
+        position.generateMoves(moveList);
+
+        long legalMove = 0;
+        boolean capturesAvailable = false;
+        for(int i = 0; i < moveList.size(); i++) {
+            final long candidate = moveList.get(i);
+            capturesAvailable |= BitMove.isCapture(candidate);
+            if(BitMove.from(candidate) == from && BitMove.to(candidate) == to && BitMove.captures(candidate) == captures) {
+                legalMove = candidate;
+                break;
+            }
+        }
+
+        if(legalMove == 0) {
+            // the capture rule only leaves captures in the list when it forces them
+            if(!capture && capturesAvailable) return ValidationResult.rejected(RejectionReason.CAPTURE_REQUIRED, 0);
+            return ValidationResult.rejected(RejectionReason.ILLEGAL_MOVE, moves.size() - 1);
+        }
+
+        position.makeMove(legalMove);
+        return ValidationResult.accepted(legalMove, play(checkersBoard, moves, legalMove), position);
+    }
+
+    /**
+     * validates many games at once, split over the fork join pool
+     * @param checkersBoards board of every game
+     * @param moveSequences move sequence played on the board at the same index
+     * @return the result of every game in the order of the boards
+     */
+    public List<ValidationResult> validateAll(final List<CheckersBoard> checkersBoards, final List<MoveSequence> moveSequences) {
+        if(checkersBoards.size() != moveSequences.size()) {
+            throw new RuntimeException(checkersBoards.size() + " boards were given for " + moveSequences.size() + " move sequences");
+        }
+
+        final ValidationResult[] results = new ValidationResult[checkersBoards.size()];
+
+        if(forkJoinPool == null || results.length <= BATCH_CHUNK_SIZE) {
+            validateRange(checkersBoards, moveSequences, results, 0, results.length);
+            return Arrays.asList(results);
+        }
+
+        final List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for(int start = 0; start < results.length; start += BATCH_CHUNK_SIZE) {
+            final int chunkStart = start;
+            final int chunkEnd = Math.min(start + BATCH_CHUNK_SIZE, results.length);
+            tasks.add(forkJoinPool.submit(() -> validateRange(checkersBoards, moveSequences, results, chunkStart, chunkEnd)));
+        }
+
+        for(ForkJoinTask<?> task : tasks) task.join();
+        return Arrays.asList(results);
+    }
+
+    private void validateRange(final List<CheckersBoard> checkersBoards, final List<MoveSequence> moveSequences,
+                               final ValidationResult[] results, final int start, final int end) {
+        for(int i = start; i < end; i++) results[i] = validate(checkersBoards.get(i), moveSequences.get(i));
+    }
+
+    /**
+     * index of the first landing of a chain that can not be reached from the landing before it
+     */
+    private static int findUnreachableLanding(final BitBoard position, final int from, final int[] landings) {
+        final int[] capturedSquares = new int[landings.length];
+        for(int length = 1; length < landings.length; length++) {
+            if(position.followPath(from, landings, length, capturedSquares) == 0) return length - 1;
+        }
+        return landings.length - 1;
+    }
+
+    /**
+     * plays a validated sequence on a copy of the board and passes the turn to the other player
+     */
+    private static CheckersBoard play(final CheckersBoard checkersBoard, final List<Move> moves, final long legalMove) {
+        final CheckersBoard result = checkersBoard.deepClone();
+        final Piece piece = result.findPieceById(moves.get(0).getPieceId());
+
+        for(Move move : moves) {
+            if(move.isCapture()) result.removePiece(result.findPieceById(move.getCapturedPieceId()));
+            result.movePiece(piece, move.getToRow(), move.getToCol());
+        }
+
+        if(BitMove.isPromotion(legalMove)) piece.setKing(true);
+        result.setActivePlayerId(result.identifyOpponentPlayerId(piece.getPlayerId()));
+
+        return result;
+    }
+
+    public ForkJoinPool getForkJoinPool() {
+        return forkJoinPool;
+    }
+
+    /**
+     * pool the games of a batch are validated on. null validates on the calling thread
+     */
+    public MoveSequenceValidator setForkJoinPool(ForkJoinPool forkJoinPool) {
+        this.forkJoinPool = forkJoinPool;
+        return this;
+    }
+}
@@ -0,0 +1,85 @@
+package com.gerryshom.checkersboardview.validation;
+
+import com.gerryshom.checkersboardview.board.model.BitBoard;
+import com.gerryshom.checkersboardview.board.model.CheckersBoard;
+import com.gerryshom.checkersboardview.validation.enums.RejectionReason;
+
+/**
+ * outcome of validating one move sequence. an accepted sequence carries the board after it was played,
+ * a rejected one the reason and the move of the sequence that broke the rules
+ */
+public class ValidationResult {
+
+    private final RejectionReason rejectionReason;
+    private final int moveIndex;
+    private final long move;
+    private final CheckersBoard checkersBoard;
+    private final BitBoard position;
+
+    private ValidationResult(final RejectionReason rejectionReason, final int moveIndex, final long move,
+                             final CheckersBoard checkersBoard, final BitBoard position) {
+        this.rejectionReason = rejectionReason;
+        this.moveIndex = moveIndex;
+        this.move = move;
+        this.checkersBoard = checkersBoard;
+        this.position = position;
+    }
+
+    static ValidationResult accepted(final long move, final CheckersBoard checkersBoard, final BitBoard position) {
+        return new ValidationResult(null, -1, move, checkersBoard, position);
+    }
+
+    /**
+     * @param moveIndex index of the move at fault or -1 when the sequence as a whole is at fault
+     */
+    static ValidationResult rejected(final RejectionReason rejectionReason, final int moveIndex) {
+        return new ValidationResult(rejectionReason, moveIndex, 0, null, null);
+    }
+
+    public boolean isValid() {
+        return rejectionReason == null;
+    }
+
+    /**
+     * why the sequence was rejected. null when it is valid
+     */
+    public RejectionReason getRejectionReason() {
+        return rejectionReason;
+    }
+
+    /**
+     * index of the move in the sequence that was rejected. -1 when the sequence is valid or was rejected as a whole
+     */
+    public int getMoveIndex() {
+        return moveIndex;
+    }
+
+    /**
+     * the BitMove encoding of the whole sequence. 0 when it was rejected
+     */
+    public long getMove() {
+        return move;
+    }
+
+    /**
+     * copy of the validated board with the sequence played and the turn passed to the other player.
+     * null when the sequence was rejected
+     */
+    public CheckersBoard getCheckersBoard() {
+        return checkersBoard;
+    }
+
+    /**
+     * the bit board after the sequence, for callers that go on generating or searching from it.
+     * null when the sequence was rejected
+     */
+    public BitBoard getPosition() {
+        return position;
+    }
+
+    @Override
+    public String toString() {
+        if(isValid()) return "valid";
+        return moveIndex < 0 ? rejectionReason.name() : rejectionReason.name() + " at move " + moveIndex;
+    }
+}
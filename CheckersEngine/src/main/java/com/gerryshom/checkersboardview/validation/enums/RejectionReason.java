@@ -0,0 +1,49 @@
+package com.gerryshom.checkersboardview.validation.enums;
+
+public enum RejectionReason {
+    /**
+     * the move sequence has no moves
+     */
+    EMPTY_SEQUENCE,
+
+    /**
+     * the piece moved is not on the board
+     */
+    UNKNOWN_PIECE,
+
+    /**
+     * the piece moved does not belong to the active player of the board
+     */
+    NOT_ACTIVE_PLAYER,
+
+    /**
+     * the moves of the sequence move more than one piece
+     */
+    MIXED_PIECES,
+
+    /**
+     * a move does not start where the piece stands or on a square of the board
+     */
+    DISCONNECTED_MOVE,
+
+    /**
+     * a capture names a piece that is not an enemy piece on the board, or names it twice
+     */
+    UNKNOWN_CAPTURED_PIECE,
+
+    /**
+     * a capture names a different piece than the one it jumps
+     */
+    WRONG_CAPTURED_PIECE,
+
+    /**
+     * a plain move was played while the capture rule forces one of the captures on the board
+     */
+    CAPTURE_REQUIRED,
+
+    /**
+     * the rules do not allow the move. for example a man moving backwards, a blocked square,
+     * a capture chain that stops early or one shorter than the longest when the longest has to be taken
+     */
+    ILLEGAL_MOVE
+}
@@ -0,0 +1,78 @@
+package com.gerryshom.checkersboardview;
+
+import com.gerryshom.checkersboardview.board.model.BitBoard;
+import com.gerryshom.checkersboardview.board.model.CheckersBoard;
+import com.gerryshom.checkersboardview.piece.model.Piece;
+import com.gerryshom.checkersboardview.player.Player;
+import com.gerryshom.checkersboardview.rules.model.CaptureRule;
+import com.gerryshom.checkersboardview.rules.model.NormalPieceRule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * boards and pieces shared by the tests. the human is always the creator
+ */
+public class TestBoards {
+
+    public static final String HUMAN = Player.human().getId();
+    public static final String COMPUTER = Player.computer().getId();
+
+    private TestBoards() {
+    }
+
+    public static Piece piece(final String id, final String playerId, final int row, final int col) {
+        return piece(id, playerId, row, col, false);
+    }
+
+    public static Piece piece(final String id, final String playerId, final int row, final int col, final boolean king) {
+        final Piece piece = new Piece();
+        piece.setId(id);
+        piece.setPlayerId(playerId);
+        piece.setRow(row);
+        piece.setCol(col);
+        piece.setKing(king);
+        return piece;
+    }
+
+    /**
+     * a board with the default rules where the human moves first
+     */
+    public static CheckersBoard createBoard(final Piece... pieces) {
+        final CheckersBoard checkersBoard = new CheckersBoard();
+        checkersBoard.setCreator(Player.human());
+        checkersBoard.setOpponent(Player.computer());
+        checkersBoard.setActivePlayerId(HUMAN);
+        checkersBoard.setPieces(new ArrayList<>(Arrays.asList(pieces)));
+        return checkersBoard;
+    }
+
+    /**
+     * up to maxPieces pieces of either player on random squares, a random player to move
+     * and random capture and promotion rules. a man on its promotion row is always a king
+     */
+    public static CheckersBoard createRandomBoard(final Random random, final int maxPieces) {
+        final CheckersBoard checkersBoard = createBoard();
+        checkersBoard.setActivePlayerId(random.nextBoolean() ? HUMAN : COMPUTER);
+        checkersBoard.setNormalPieceRule(new NormalPieceRule(random.nextBoolean(), random.nextBoolean(), true, random.nextBoolean()));
+        checkersBoard.setCaptureRule(new CaptureRule(random.nextBoolean(), random.nextInt(4) != 0, random.nextBoolean()));
+
+        final List<Piece> pieces = new ArrayList<>();
+        int used = 0;
+        for(int i = 0; i < maxPieces; i++) {
+            final int square = random.nextInt(32);
+            if((used & 1 << square) != 0) continue;
+            used |= 1 << square;
+
+            final String playerId = random.nextBoolean() ? HUMAN : COMPUTER;
+            final boolean king = random.nextInt(3) == 0
+                    || BitBoard.isPromotionSquare(playerId.equals(HUMAN) ? BitBoard.CREATOR : BitBoard.OPPONENT, square);
+            pieces.add(piece("piece" + i, playerId, BitBoard.rowOf(square), BitBoard.colOf(square), king));
+        }
+        checkersBoard.setPieces(pieces);
+
+        return checkersBoard;
+    }
+}
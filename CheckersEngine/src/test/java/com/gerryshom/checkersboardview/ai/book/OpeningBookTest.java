@@ -0,0 +1,178 @@
+package com.gerryshom.checkersboardview.ai.book;
+
+import com.gerryshom.checkersboardview.board.model.BitBoard;
+import com.gerryshom.checkersboardview.board.model.CheckersBoard;
+import com.gerryshom.checkersboardview.movement.model.BitMove;
+import com.gerryshom.checkersboardview.movement.model.MoveList;
+import com.gerryshom.checkersboardview.player.Player;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import static com.gerryshom.checkersboardview.TestBoards.HUMAN;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class OpeningBookTest {
+
+    private static final int GAMES = 50;
+    private static final int MAX_PLY = 8;
+
+    @Test
+    public void read_returnsTheBookThatWasWritten() throws IOException {
+        final BitBoard start = createStart();
+        final OpeningBook book = createBook(start, new Random(1));
+
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        book.write(outputStream);
+        final OpeningBook read = OpeningBook.read(new ByteArrayInputStream(outputStream.toByteArray()));
+
+        assertEquals(book.size(), read.size());
+        assertEquals(book.getRulesKey(), read.getRulesKey());
+
+        // the same seed picks the same move from both books
+        final Random random = new Random(2);
+        for(int game = 0; game < GAMES; game++) {
+            final BitBoard position = new BitBoard(start);
+            for(int ply = 0; ply < MAX_PLY; ply++) {
+                final long seed = random.nextLong();
+                final long move = book.probe(position, new Random(seed));
+                assertEquals(move, read.probe(position, new Random(seed)));
+                if(move == 0) break;
+
+                position.makeMove(move);
+            }
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void read_rejectsOtherFiles() throws IOException {
+        OpeningBook.read(new ByteArrayInputStream(new byte[16]));
+    }
+
+    @Test
+    public void probe_onlyPicksMovesOfThePosition() {
+        final BitBoard start = createStart();
+        final OpeningBook book = createBook(start, new Random(3));
+        final MoveList moveList = new MoveList();
+
+        final Random random = new Random(4);
+        for(int game = 0; game < GAMES; game++) {
+            final BitBoard position = new BitBoard(start);
+            for(int ply = 0; ply < MAX_PLY; ply++) {
+                final long move = book.probe(position, random);
+                if(move == 0) break;
+
+                position.generateMoves(moveList);
+                assertTrue(contains(moveList, move));
+                position.makeMove(move);
+            }
+        }
+    }
+
+    @Test
+    public void probe_leavesOutMovesOfCollidingPositions() {
+        final BitBoard start = createStart();
+        final MoveList moveList = new MoveList();
+        start.generateMoves(moveList);
+        final long legal = moveList.get(0);
+
+        // a move of the other side shares the hash, like a position whose hash collides with the start
+        final long illegal = BitMove.encode(9, 13, 0, false);
+        assertFalse(contains(moveList, illegal));
+
+        final long hash = start.getHash();
+        final OpeningBook book = new OpeningBook(
+                start.getRulesKey(),
+                new long[]{hash, hash},
+                new long[]{illegal, legal},
+                new int[]{OpeningBook.MAX_WEIGHT, 1}
+        );
+
+        final Random random = new Random(5);
+        for(int i = 0; i < 100; i++) {
+            assertEquals(legal, book.probe(start, random));
+        }
+
+        final OpeningBook illegalOnly = new OpeningBook(
+                start.getRulesKey(), new long[]{hash}, new long[]{illegal}, new int[]{1}
+        );
+        assertEquals(0, illegalOnly.probe(start, random));
+        assertFalse(illegalOnly.contains(start));
+    }
+
+    @Test
+    public void probe_leavesOutBooksOfOtherRules() {
+        final BitBoard start = createStart();
+        final OpeningBook book = createBook(start, new Random(6));
+        assertTrue(book.contains(start));
+
+        final OpeningBook otherRules = new OpeningBook(
+                start.getRulesKey() + 1, new long[]{start.getHash()}, new long[]{book.probe(start, new Random())}, new int[]{1}
+        );
+        assertFalse(otherRules.contains(start));
+    }
+
+    @Test
+    public void probe_picksMovesByWeight() {
+        final BitBoard start = createStart();
+        final MoveList moveList = new MoveList();
+        start.generateMoves(moveList);
+
+        final long hash = start.getHash();
+        final OpeningBook book = new OpeningBook(
+                start.getRulesKey(),
+                new long[]{hash, hash},
+                new long[]{moveList.get(0), moveList.get(1)},
+                new int[]{3, 1}
+        );
+
+        final Random random = new Random(7);
+        int first = 0;
+        for(int i = 0; i < 4000; i++) {
+            if(book.probe(start, random) == moveList.get(0)) first++;
+        }
+        assertEquals(3000, first, 150);
+    }
+
+    /**
+     * book of random games from the starting layout
+     */
+    private static OpeningBook createBook(final BitBoard start, final Random random) {
+        final OpeningBookBuilder builder = new OpeningBookBuilder(MAX_PLY);
+        final MoveList moveList = new MoveList();
+
+        for(int game = 0; game < GAMES; game++) {
+            final BitBoard position = new BitBoard(start);
+            final long[] moves = new long[MAX_PLY];
+            int ply = 0;
+            while (ply < MAX_PLY) {
+                position.generateMoves(moveList);
+                if(moveList.isEmpty()) break;
+
+                moves[ply] = moveList.get(random.nextInt(moveList.size()));
+                position.makeMove(moves[ply++]);
+            }
+            builder.addGame(start, Arrays.copyOf(moves, ply));
+        }
+
+        return builder.build();
+    }
+
+    private static BitBoard createStart() {
+        return CheckersBoard.createCheckersBoard(HUMAN, Player.human(), Player.computer()).toBitBoard(HUMAN);
+    }
+
+    private static boolean contains(final MoveList moveList, final long move) {
+        for(int i = 0; i < moveList.size(); i++) {
+            if(moveList.get(i) == move) return true;
+        }
+        return false;
+    }
+}
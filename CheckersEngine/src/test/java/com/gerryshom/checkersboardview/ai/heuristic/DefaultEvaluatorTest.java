@@ -0,0 +1,55 @@
+package com.gerryshom.checkersboardview.ai.heuristic;
+
+import com.gerryshom.checkersboardview.board.model.BitBoard;
+import com.gerryshom.checkersboardview.board.model.CheckersBoard;
+import com.gerryshom.checkersboardview.movement.model.MoveList;
+import com.gerryshom.checkersboardview.player.Player;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static com.gerryshom.checkersboardview.TestBoards.createRandomBoard;
+import static org.junit.Assert.assertEquals;
+
+public class DefaultEvaluatorTest {
+
+    private final DefaultEvaluator evaluator = DefaultEvaluator.getInstance();
+
+    @Test
+    public void evaluate_readsTheSumsTheBoardKeeps() {
+        final Random random = new Random(14);
+        final MoveList moveList = new MoveList();
+
+        for(int game = 0; game < 200; game++) {
+            final CheckersBoard checkersBoard = createRandomBoard(random, 12);
+            final BitBoard position = checkersBoard.toBitBoard(checkersBoard.getActivePlayerId());
+            position.setPieceSquareTable(evaluator.getPieceSquareTable());
+
+            for(int ply = 0; ply < 20; ply++) {
+                position.generateMoves(moveList);
+                if(moveList.isEmpty()) break;
+                position.makeMove(moveList.get(random.nextInt(moveList.size())));
+
+                final BitBoard fromScratch = new BitBoard(position);
+                fromScratch.setPieceSquareTable(null);
+                for(int maximizer = 0; maximizer < 2; maximizer++) {
+                    assertEquals(evaluator.evaluate(fromScratch, maximizer), evaluator.evaluate(position, maximizer), 0);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void heuristicFunction_scoresForTheComputer() {
+        final Random random = new Random(16);
+
+        for(int i = 0; i < 200; i++) {
+            final CheckersBoard checkersBoard = createRandomBoard(random, 12);
+            final BitBoard position = checkersBoard.toBitBoard(checkersBoard.getActivePlayerId());
+
+            assertEquals(evaluator.evaluate(position, position.sideOf(Player.computer().getId())),
+                    HeuristicFunction.apply(checkersBoard), 0);
+        }
+    }
+}
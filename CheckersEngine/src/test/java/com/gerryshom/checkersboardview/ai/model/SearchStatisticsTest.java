@@ -0,0 +1,45 @@
+package com.gerryshom.checkersboardview.ai.model;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class SearchStatisticsTest {
+
+    @Test
+    public void effectiveBranchingFactor_comparesTheLastTwoIterations() {
+        final SearchStatistics statistics = new SearchStatistics();
+        statistics.addIteration(iteration(10, 500));
+        statistics.addIteration(iteration(40, 2000));
+        statistics.addIteration(iteration(120, 100));
+        statistics.setDepth(3);
+
+        assertEquals(3.0, statistics.getEffectiveBranchingFactor(), 1e-9);
+        assertEquals(2770, statistics.getNodes());
+        assertEquals(2600, statistics.getQuiescenceNodes());
+    }
+
+    @Test
+    public void effectiveBranchingFactor_leavesOutQuiescenceNodesOfASingleSearch() {
+        final SearchStatistics statistics = iteration(64, 5000);
+        statistics.setDepth(3);
+
+        assertEquals(4.0, statistics.getEffectiveBranchingFactor(), 1e-9);
+    }
+
+    @Test
+    public void effectiveBranchingFactor_survivesTheCopy() {
+        final SearchStatistics statistics = new SearchStatistics();
+        statistics.addIteration(iteration(10, 0));
+        statistics.addIteration(iteration(25, 0));
+
+        assertEquals(2.5, new SearchStatistics(statistics).getEffectiveBranchingFactor(), 1e-9);
+    }
+
+    private static SearchStatistics iteration(final int mainNodes, final int quiescenceNodes) {
+        final SearchStatistics statistics = new SearchStatistics();
+        for(int i = 0; i < mainNodes; i++) statistics.countNode(1);
+        for(int i = 0; i < quiescenceNodes; i++) statistics.countQuiescenceNode(2);
+        return statistics;
+    }
+}
@@ -0,0 +1,58 @@
+package com.gerryshom.checkersboardview.ai.perft;
+
+import com.gerryshom.checkersboardview.ai.enums.SearchMode;
+import com.gerryshom.checkersboardview.board.model.CheckersBoard;
+import com.gerryshom.checkersboardview.player.Player;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static com.gerryshom.checkersboardview.TestBoards.createRandomBoard;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * both move generators have to find the published counts of the starting layout
+ * and the same counts as each other under any capture rules
+ */
+public class PerftTest {
+
+    private static final int MAX_DEPTH = 6;
+
+    @Test
+    public void makeUnmake_matchesStartingPositionCounts() {
+        assertStartingPositionCounts(SearchMode.MAKE_UNMAKE);
+    }
+
+    @Test
+    public void snapshot_matchesStartingPositionCounts() {
+        assertStartingPositionCounts(SearchMode.SNAPSHOT);
+    }
+
+    @Test
+    public void snapshot_matchesMakeUnmakeUnderRandomRules() {
+        final Random random = new Random(19);
+
+        for(int i = 0; i < 300; i++) {
+            final CheckersBoard checkersBoard = createRandomBoard(random, 12);
+            final String playerId = checkersBoard.getActivePlayerId();
+
+            final long expected = new Perft(checkersBoard, playerId).setForkJoinPool(null)
+                    .setSearchMode(SearchMode.MAKE_UNMAKE).run(3);
+            final long actual = new Perft(checkersBoard, playerId).setForkJoinPool(null)
+                    .setSearchMode(SearchMode.SNAPSHOT).run(3);
+            assertEquals("position " + i, expected, actual);
+        }
+    }
+
+    private static void assertStartingPositionCounts(final SearchMode searchMode) {
+        final CheckersBoard checkersBoard = CheckersBoard.createCheckersBoard(
+                Player.human().getId(), Player.human(), Player.computer()
+        );
+
+        final Perft perft = new Perft(checkersBoard).setSearchMode(searchMode);
+        for(int depth = 0; depth <= MAX_DEPTH; depth++) {
+            assertEquals(searchMode + " depth " + depth, Perft.STARTING_POSITION_COUNTS[depth], perft.run(depth));
+        }
+    }
+}
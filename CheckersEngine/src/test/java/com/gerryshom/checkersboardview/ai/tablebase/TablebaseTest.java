@@ -0,0 +1,175 @@
+package com.gerryshom.checkersboardview.ai.tablebase;
+
+import com.gerryshom.checkersboardview.board.model.BitBoard;
+import com.gerryshom.checkersboardview.board.model.CheckersBoard;
+import com.gerryshom.checkersboardview.movement.model.MoveList;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.gerryshom.checkersboardview.TestBoards.HUMAN;
+import static com.gerryshom.checkersboardview.TestBoards.createBoard;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * the values of a generated file have to agree with the moves of every position they hold:
+ * a win in n has a move into a loss in n - 1 and none into a quicker one, a loss in n only has moves
+ * into wins in at most n - 1, and a draw has neither a move into a loss nor only moves into wins.
+ * the values with no moves are losses in 0, so by induction every value in the file is the perfect play one
+ */
+public class TablebaseTest {
+
+    private static final int MAX_PIECES = 3;
+
+    private static File file;
+    private static Tablebase tablebase;
+
+    @BeforeClass
+    public static void generate() throws IOException {
+        file = File.createTempFile("tablebase", ".bin");
+        new TablebaseGenerator(MAX_PIECES).generate().write(file);
+        tablebase = Tablebase.open(file);
+    }
+
+    @AfterClass
+    public static void delete() {
+        file.delete();
+    }
+
+    @Test
+    public void index_roundTripsEveryPositionOfASignature() {
+        final BitBoard position = createRules();
+
+        for(int signature : signatures(MAX_PIECES)) {
+            int positions = 0;
+            for(long index = 0; index < TablebaseIndex.sizeOf(signature); index++) {
+                if(!TablebaseIndex.setPosition(position, signature, index)) continue;
+                positions++;
+
+                assertEquals(signature, TablebaseIndex.signatureOf(position));
+                assertEquals(index, TablebaseIndex.indexOf(position, signature));
+                assertEquals(0, position.getMen(BitBoard.CREATOR) & 0xF);
+                assertEquals(0, position.getMen(BitBoard.OPPONENT) & 0xF0000000);
+            }
+            assertTrue(positions > 0);
+        }
+    }
+
+    @Test
+    public void probe_agreesWithTheMovesOfEveryPosition() {
+        final BitBoard position = createRules();
+        final MoveList moveList = new MoveList();
+
+        for(int signature : signatures(MAX_PIECES)) {
+            for(long index = 0; index < TablebaseIndex.sizeOf(signature); index++) {
+                if(!TablebaseIndex.setPosition(position, signature, index)) continue;
+
+                final int value = tablebase.probe(position);
+                assertTrue(value != Tablebase.NOT_FOUND);
+
+                position.generateMoves(moveList);
+
+                // quickest loss and slowest win the side to move can play into, -1 if there is none
+                int quickestLoss = -1;
+                int slowestWin = -1;
+                boolean everyMoveWins = true;
+                for(int i = 0; i < moveList.size(); i++) {
+                    final long move = moveList.get(i);
+                    final long undo = position.makeMove(move);
+                    final int childValue = probeChild(position);
+                    position.unmakeMove(move, undo);
+
+                    if(Tablebase.isLoss(childValue)) {
+                        final int distance = Tablebase.distanceOf(childValue);
+                        if(quickestLoss < 0 || distance < quickestLoss) quickestLoss = distance;
+                    }
+                    if(Tablebase.isWin(childValue)) slowestWin = Math.max(slowestWin, Tablebase.distanceOf(childValue));
+                    else everyMoveWins = false;
+                }
+
+                final String message = "signature " + signature + " index " + index;
+                if(quickestLoss >= 0) {
+                    assertEquals(message, quickestLoss + 1, value);
+                } else if(everyMoveWins) {
+                    // no moves at all is a loss in 0
+                    assertEquals(message, -(slowestWin + 1) - 1, value);
+                } else {
+                    assertEquals(message, Tablebase.DRAW, value);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void probe_leavesOutPositionsTheFileDoesNotHold() {
+        final BitBoard position = createRules();
+
+        // four pieces
+        position.setPieces(1 << 28 | 1 << 29, 0, 1 << 2 | 1 << 3, 0, BitBoard.CREATOR);
+        assertEquals(Tablebase.NOT_FOUND, tablebase.probe(position));
+
+        // a side without pieces
+        position.setPieces(1 << 28, 1 << 10, 0, 0, BitBoard.CREATOR);
+        assertEquals(Tablebase.NOT_FOUND, tablebase.probe(position));
+
+        // other rules
+        final CheckersBoard checkersBoard = createBoard();
+        checkersBoard.getCaptureRule().setForceCapture(false);
+        final BitBoard otherRules = checkersBoard.toBitBoard(HUMAN);
+        otherRules.setPieces(1 << 28, 0, 1 << 2, 0, BitBoard.CREATOR);
+        assertEquals(Tablebase.NOT_FOUND, tablebase.probe(otherRules));
+    }
+
+    @Test
+    public void scoreOf_prefersTheShortestWholeLine() {
+        final int winIn3 = 3;
+        final int lossIn4 = -4 - 1;
+
+        assertTrue(Tablebase.scoreOf(winIn3, 2) > Tablebase.scoreOf(winIn3, 4));
+        assertTrue(Tablebase.scoreOf(lossIn4, 4) > Tablebase.scoreOf(lossIn4, 2));
+        assertEquals(Tablebase.scoreOf(winIn3, 2), Tablebase.scoreOf(winIn3 + 2, 0), 0);
+
+        final float score = Tablebase.scoreOf(winIn3, 5);
+        assertEquals(score - 2, Tablebase.fromTableScore(Tablebase.toTableScore(score, 5), 7), 0);
+        assertEquals(-score + 2, Tablebase.fromTableScore(Tablebase.toTableScore(-score, 5), 7), 0);
+        assertEquals(42, Tablebase.fromTableScore(Tablebase.toTableScore(42, 5), 7), 0);
+    }
+
+    /**
+     * value of a position reached by a move. a side left without pieces has lost
+     */
+    private static int probeChild(final BitBoard position) {
+        if(position.pieces(position.getSideToMove()) == 0) return -1;
+        return tablebase.probe(position);
+    }
+
+    /**
+     * every signature of 2 to maxPieces pieces where both sides have a piece
+     */
+    private static List<Integer> signatures(final int maxPieces) {
+        final List<Integer> signatures = new ArrayList<>();
+        for(int creatorMen = 0; creatorMen <= maxPieces; creatorMen++) {
+            for(int creatorKings = 0; creatorMen + creatorKings <= maxPieces; creatorKings++) {
+                for(int opponentMen = 0; creatorMen + creatorKings + opponentMen <= maxPieces; opponentMen++) {
+                    for(int opponentKings = 0; creatorMen + creatorKings + opponentMen + opponentKings <= maxPieces; opponentKings++) {
+                        if(creatorMen + creatorKings == 0 || opponentMen + opponentKings == 0) continue;
+
+                        signatures.add(TablebaseIndex.signatureOf(creatorMen, creatorKings, opponentMen, opponentKings));
+                    }
+                }
+            }
+        }
+        return signatures;
+    }
+
+    private static BitBoard createRules() {
+        return createBoard().toBitBoard(HUMAN);
+    }
+}
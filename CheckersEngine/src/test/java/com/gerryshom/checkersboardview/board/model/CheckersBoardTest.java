@@ -0,0 +1,66 @@
+package com.gerryshom.checkersboardview.board.model;
+
+import com.gerryshom.checkersboardview.piece.model.Piece;
+import com.gerryshom.checkersboardview.player.Player;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.gerryshom.checkersboardview.TestBoards.HUMAN;
+import static com.gerryshom.checkersboardview.TestBoards.piece;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class CheckersBoardTest {
+
+    @Test
+    public void findPieceByRowAndCol_followsARemoveAndAnAdd() {
+        final CheckersBoard checkersBoard = CheckersBoard.createCheckersBoard(
+                HUMAN, Player.human(), Player.computer());
+
+        final Piece removed = checkersBoard.findPieceByRowAndCol(5, 0);
+        final Piece added = piece("added", HUMAN, 4, 1);
+
+        checkersBoard.removePiece(removed);
+        checkersBoard.addPiece(added);
+
+        assertEquals(24, checkersBoard.getPieces().size());
+        assertNull(checkersBoard.findPieceByRowAndCol(5, 0));
+        assertSame(added, checkersBoard.findPieceByRowAndCol(4, 1));
+    }
+
+    @Test
+    public void findPieceByRowAndCol_followsMovedPieces() {
+        final CheckersBoard checkersBoard = CheckersBoard.createCheckersBoard(
+                HUMAN, Player.human(), Player.computer());
+
+        final Piece piece = checkersBoard.findPieceByRowAndCol(5, 2);
+        checkersBoard.movePiece(piece, 4, 3);
+
+        assertNull(checkersBoard.findPieceByRowAndCol(5, 2));
+        assertSame(piece, checkersBoard.findPieceByRowAndCol(4, 3));
+    }
+
+    @Test
+    public void setPieces_keepsItsOwnCopy() {
+        final List<Piece> pieces = new ArrayList<>();
+        pieces.add(piece("first", HUMAN, 5, 0));
+
+        final CheckersBoard checkersBoard = new CheckersBoard();
+        checkersBoard.setPieces(pieces);
+        assertSame(pieces.get(0), checkersBoard.findPieceByRowAndCol(5, 0));
+
+        pieces.set(0, piece("second", HUMAN, 5, 0));
+        assertEquals("first", checkersBoard.findPieceByRowAndCol(5, 0).getId());
+        assertEquals(1, checkersBoard.getPieces().size());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void getPieces_cannotBeChanged() {
+        CheckersBoard.createCheckersBoard(HUMAN, Player.human(), Player.computer())
+                .getPieces().add(piece("added", HUMAN, 4, 1));
+    }
+}
@@ -0,0 +1,79 @@
+package com.gerryshom.checkersboardview.board.model;
+
+import com.gerryshom.checkersboardview.movement.model.MoveList;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static com.gerryshom.checkersboardview.TestBoards.createRandomBoard;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * the sums a board keeps while moves are made and taken back have to match the sums worked out from scratch
+ */
+public class PieceSquareTableTest {
+
+    @Test
+    public void scores_followMakeAndUnmake() {
+        final Random random = new Random(13);
+        final PieceSquareTable table = createRandomTable(random);
+        final MoveList moveList = new MoveList();
+
+        for(int game = 0; game < 200; game++) {
+            final CheckersBoard checkersBoard = createRandomBoard(random, 12);
+            final BitBoard position = checkersBoard.toBitBoard(checkersBoard.getActivePlayerId());
+            position.setPieceSquareTable(table);
+            assertScores(table, position);
+
+            final long[] moves = new long[20];
+            final long[] undos = new long[moves.length];
+            int ply = 0;
+            while (ply < moves.length) {
+                position.generateMoves(moveList);
+                if(moveList.isEmpty()) break;
+
+                moves[ply] = moveList.get(random.nextInt(moveList.size()));
+                undos[ply] = position.makeMove(moves[ply]);
+                ply++;
+                assertScores(table, position);
+                assertScores(table, new BitBoard(position));
+            }
+
+            while (ply > 0) {
+                ply--;
+                position.unmakeMove(moves[ply], undos[ply]);
+                assertScores(table, position);
+            }
+        }
+    }
+
+    @Test
+    public void material_onlyCountsThePieceTypes() {
+        final CheckersBoard checkersBoard = createRandomBoard(new Random(14), 12);
+        final BitBoard position = checkersBoard.toBitBoard(checkersBoard.getActivePlayerId());
+        position.setPieceSquareTable(PieceSquareTable.material(10, 25));
+
+        for(int side = 0; side < 2; side++) {
+            assertEquals(Integer.bitCount(position.getMen(side)) * 10 + Integer.bitCount(position.getKings(side)) * 25,
+                    position.getPieceSquareScore(side));
+        }
+    }
+
+    private static void assertScores(final PieceSquareTable table, final BitBoard position) {
+        for(int side = 0; side < 2; side++) {
+            assertEquals(table.sum(side, position.getMen(side), position.getKings(side)), position.getPieceSquareScore(side));
+        }
+    }
+
+    private static PieceSquareTable createRandomTable(final Random random) {
+        final PieceSquareTable table = new PieceSquareTable();
+        for(int side = 0; side < 2; side++) {
+            for(int square = 0; square < 32; square++) {
+                table.set(side, false, square, random.nextInt(100));
+                table.set(side, true, square, random.nextInt(100));
+            }
+        }
+        return table;
+    }
+}
@@ -0,0 +1,225 @@
+package com.gerryshom.checkersboardview.codec;
+
+import com.gerryshom.checkersboardview.TestBoards;
+import com.gerryshom.checkersboardview.board.model.BitBoard;
+import com.gerryshom.checkersboardview.board.model.CheckersBoard;
+import com.gerryshom.checkersboardview.movement.model.BitMove;
+import com.gerryshom.checkersboardview.movement.model.Move;
+import com.gerryshom.checkersboardview.movement.model.MoveList;
+import com.gerryshom.checkersboardview.movement.model.MoveSequence;
+import com.gerryshom.checkersboardview.piece.model.Piece;
+import com.gerryshom.checkersboardview.player.Player;
+import com.gerryshom.checkersboardview.rules.model.CaptureRule;
+import com.gerryshom.checkersboardview.rules.model.GameFlowRule;
+import com.gerryshom.checkersboardview.rules.model.KingPieceRule;
+import com.gerryshom.checkersboardview.rules.model.NormalPieceRule;
+import com.gerryshom.checkersboardview.sync.BoardPatch;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import static com.gerryshom.checkersboardview.TestBoards.COMPUTER;
+import static com.gerryshom.checkersboardview.TestBoards.HUMAN;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BinaryCodecTest {
+
+    @Test
+    public void move_roundTrips() throws IOException {
+        final long[] moves = {
+                BitMove.encode(21, 17, 0, false),
+                BitMove.encode(5, 0, 0, true),
+                BitMove.encode(22, 5, (1 << 18) | (1 << 9), false),
+                BitMove.encode(9, 30, 1 << 13 | 1 << 26, true)
+        };
+
+        for(long move : moves) {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            BinaryCodec.writeMove(new DataOutputStream(bytes), move);
+
+            assertEquals(BitMove.isCapture(move) ? 7 : 3, bytes.size());
+            assertEquals(move, BinaryCodec.readMove(input(bytes.toByteArray())));
+        }
+    }
+
+    @Test
+    public void moveSequence_roundTripsEveryGeneratedMove() throws IOException {
+        final Random random = new Random(24);
+
+        for(int i = 0; i < 200; i++) {
+            final CheckersBoard checkersBoard = createRandomBoard(random);
+            final BitBoard position = checkersBoard.toBitBoard(checkersBoard.getActivePlayerId());
+            final MoveList moveList = new MoveList();
+            position.generateMoves(moveList);
+
+            for(int j = 0; j < moveList.size(); j++) {
+                final long move = moveList.get(j);
+
+                final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                BinaryCodec.writeMoveSequence(new DataOutputStream(bytes), BitMove.toMoveSequence(move, position, checkersBoard), checkersBoard);
+
+                final MoveSequence moveSequence = BinaryCodec.readMoveSequence(input(bytes.toByteArray()), checkersBoard);
+                assertEquals(move, BitMove.fromMoveSequence(moveSequence, position));
+            }
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void readMoveSequence_rejectsIllegalMove() throws IOException {
+        final CheckersBoard checkersBoard = CheckersBoard.createCheckersBoard(HUMAN, Player.human(), Player.computer());
+
+        // a creator man moving backwards
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BinaryCodec.writeMove(new DataOutputStream(bytes), BitMove.encode(BitBoard.square(5, 0), BitBoard.square(6, 1), 0, false));
+
+        BinaryCodec.readMoveSequence(input(bytes.toByteArray()), checkersBoard);
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void writeMoveSequence_rejectsIllegalMoveSequence() throws IOException {
+        final CheckersBoard checkersBoard = CheckersBoard.createCheckersBoard(HUMAN, Player.human(), Player.computer());
+        final Piece piece = checkersBoard.findPieceByRowAndCol(5, 0);
+
+        final Move move = new Move();
+        move.setPieceId(piece.getId());
+        move.setFromRow(5);
+        move.setFromCol(0);
+        move.setToRow(3);
+        move.setToCol(2);
+
+        BinaryCodec.writeMoveSequence(new DataOutputStream(new ByteArrayOutputStream()),
+                new MoveSequence(COMPUTER, Arrays.asList(move)), checkersBoard);
+    }
+
+    @Test
+    public void checkersBoard_roundTrips() throws IOException {
+        final Random random = new Random(240);
+
+        for(int i = 0; i < 200; i++) {
+            final CheckersBoard checkersBoard = createRandomBoard(random);
+
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            BinaryCodec.writeCheckersBoard(new DataOutputStream(bytes), checkersBoard);
+            assertEquals(34, bytes.size());
+
+            final CheckersBoard decoded = BinaryCodec.readCheckersBoard(input(bytes.toByteArray()), Player.human(), Player.computer());
+
+            assertEquals(checkersBoard.getActivePlayerId(), decoded.getActivePlayerId());
+            assertEquals(checkersBoard.getPieces().size(), decoded.getPieces().size());
+            assertTrue(checkersBoard.toBitBoard(checkersBoard.getActivePlayerId())
+                    .isSamePosition(decoded.toBitBoard(decoded.getActivePlayerId())));
+            assertEquals(checkersBoard.toBitBoard(HUMAN).getRulesKey(), decoded.toBitBoard(HUMAN).getRulesKey());
+            assertEquals(checkersBoard.getNormalPieceRule().isPromoteOnlyAtLastRow(), decoded.getNormalPieceRule().isPromoteOnlyAtLastRow());
+            assertEquals(checkersBoard.getKingPieceRule().isCanChangeDirectionDuringMultiJump(),
+                    decoded.getKingPieceRule().isCanChangeDirectionDuringMultiJump());
+            assertEquals(checkersBoard.getKingPieceRule().isCanMoveImmediatelyAfterPromotion(),
+                    decoded.getKingPieceRule().isCanMoveImmediatelyAfterPromotion());
+            assertEquals(checkersBoard.getGameFlowRule().getMaxTurnsWithoutCapture(), decoded.getGameFlowRule().getMaxTurnsWithoutCapture());
+            assertEquals(checkersBoard.getGameFlowRule().getMaxTurnDurationSeconds(), decoded.getGameFlowRule().getMaxTurnDurationSeconds());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void readCheckersBoard_rejectsOverlappingPieces() throws IOException {
+        final CheckersBoard checkersBoard = CheckersBoard.createCheckersBoard(HUMAN, Player.human(), Player.computer());
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BinaryCodec.writeCheckersBoard(new DataOutputStream(bytes), checkersBoard);
+
+        // put an opponent man on square 24, where a creator man already stands
+        final byte[] data = bytes.toByteArray();
+        data[9] |= 0x01;
+
+        BinaryCodec.readCheckersBoard(input(data), Player.human(), Player.computer());
+    }
+
+    @Test(expected = IOException.class)
+    public void readCheckersBoard_rejectsUnknownSideToMove() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BinaryCodec.writeCheckersBoard(new DataOutputStream(bytes),
+                CheckersBoard.createCheckersBoard(HUMAN, Player.human(), Player.computer()));
+
+        // the side to move follows the version byte and the four masks
+        final byte[] data = bytes.toByteArray();
+        data[17] = 2;
+
+        BinaryCodec.readCheckersBoard(input(data), Player.human(), Player.computer());
+    }
+
+    @Test(expected = IOException.class)
+    public void readCheckersBoard_rejectsUnknownVersion() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BinaryCodec.writeCheckersBoard(new DataOutputStream(bytes),
+                CheckersBoard.createCheckersBoard(HUMAN, Player.human(), Player.computer()));
+
+        BinaryCodec.readCheckersBoard(input(withVersion(bytes.toByteArray(), BinaryCodec.VERSION + 1)), Player.human(), Player.computer());
+    }
+
+    @Test(expected = IOException.class)
+    public void readMove_rejectsUnknownVersion() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BinaryCodec.writeMove(new DataOutputStream(bytes), BitMove.encode(21, 17, 0, false));
+
+        BinaryCodec.readMove(input(withVersion(bytes.toByteArray(), BinaryCodec.VERSION + 1)));
+    }
+
+    @Test
+    public void boardPatch_roundTrips() throws IOException {
+        final BoardPatch[] boardPatches = {
+                new BoardPatch(4, 5, 0x1234_5678_9ABC_DEF0L, BitBoard.OPPONENT, new int[] {21 | 17 << 5}, 0, 0),
+                new BoardPatch(0, 7, -1L, BitBoard.CREATOR, new int[] {22 | 5 << 5, 9 | 13 << 5}, 1 << 18 | 1 << 9, 1 << 5)
+        };
+
+        for(BoardPatch boardPatch : boardPatches) {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            BinaryCodec.writeBoardPatch(new DataOutputStream(bytes), boardPatch);
+
+            final BoardPatch decoded = BinaryCodec.readBoardPatch(input(bytes.toByteArray()));
+            assertEquals(boardPatch.getFromVersion(), decoded.getFromVersion());
+            assertEquals(boardPatch.getToVersion(), decoded.getToVersion());
+            assertEquals(boardPatch.getFromHash(), decoded.getFromHash());
+            assertEquals(boardPatch.getSideToMove(), decoded.getSideToMove());
+            assertArrayEquals(boardPatch.getMoves(), decoded.getMoves());
+            assertEquals(boardPatch.getCaptures(), decoded.getCaptures());
+            assertEquals(boardPatch.getCrowned(), decoded.getCrowned());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void readBoardPatch_rejectsUnknownVersion() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BinaryCodec.writeBoardPatch(new DataOutputStream(bytes), new BoardPatch(0, 1, 0, BitBoard.OPPONENT, new int[0], 0, 0));
+
+        BinaryCodec.readBoardPatch(input(withVersion(bytes.toByteArray(), 0)));
+    }
+
+    /**
+     * a random board where every rule the codec writes is random too
+     */
+    private static CheckersBoard createRandomBoard(final Random random) {
+        final CheckersBoard checkersBoard = TestBoards.createRandomBoard(random, 16);
+        checkersBoard.setNormalPieceRule(new NormalPieceRule(random.nextBoolean(), random.nextBoolean(), random.nextBoolean(), random.nextBoolean()));
+        checkersBoard.setKingPieceRule(new KingPieceRule(random.nextInt(3), random.nextInt(3), random.nextBoolean(), random.nextBoolean()));
+        checkersBoard.setCaptureRule(new CaptureRule(random.nextBoolean(), random.nextBoolean(), random.nextBoolean()));
+        checkersBoard.setGameFlowRule(new GameFlowRule(random.nextInt(100), random.nextInt(1000)));
+        return checkersBoard;
+    }
+
+    private static byte[] withVersion(final byte[] data, final int version) {
+        data[0] = (byte) version;
+        return data;
+    }
+
+    private static DataInputStream input(final byte[] data) {
+        return new DataInputStream(new ByteArrayInputStream(data));
+    }
+}
@@ -0,0 +1,65 @@
+package com.gerryshom.checkersboardview.movement.model;
+
+import com.gerryshom.checkersboardview.board.model.BitBoard;
+import com.gerryshom.checkersboardview.board.model.CheckersBoard;
+import com.gerryshom.checkersboardview.piece.model.Piece;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static com.gerryshom.checkersboardview.TestBoards.createRandomBoard;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * the chains walked on a CheckersBoard have to be the captures BitBoard.generateCaptures finds under the same rules
+ */
+public class CaptureChainGeneratorTest {
+
+    @Test
+    public void generate_findsTheCapturesOfTheBitBoard() {
+        final Random random = new Random(19);
+        final CaptureChainGenerator captureChains = new CaptureChainGenerator();
+        final MoveList moveList = new MoveList();
+
+        for(int i = 0; i < 2000; i++) {
+            final CheckersBoard checkersBoard = createRandomBoard(random, 12);
+            final String playerId = checkersBoard.getActivePlayerId();
+            final BitBoard position = checkersBoard.toBitBoard(playerId);
+
+            moveList.clear();
+            position.generateCaptures(moveList, position.sideOf(playerId));
+
+            final int chainCount = captureChains.generate(checkersBoard, playerId);
+            assertEquals("position " + i, moveList.size(), chainCount);
+
+            final Set<Long> expected = new HashSet<>();
+            for(int move = 0; move < moveList.size(); move++) expected.add(withoutPromotion(moveList.get(move)));
+
+            for(int chain = 0; chain < chainCount; chain++) {
+                final Piece piece = captureChains.getPiece(chain);
+                final int hops = captureChains.getHopCount(chain);
+                final int capturedMask = captureChains.getCapturedMask(chain);
+                assertEquals(hops, Integer.bitCount(capturedMask));
+
+                final long move = BitMove.encode(
+                        BitBoard.square(piece.getRow(), piece.getCol()),
+                        BitBoard.square(captureChains.getLandingRow(chain, hops - 1), captureChains.getLandingCol(chain, hops - 1)),
+                        capturedMask, false
+                );
+                assertTrue("position " + i + " chain " + chain, expected.remove(move));
+            }
+        }
+    }
+
+    /**
+     * a flying king can take the same pieces to the same square along more than one path and both generators keep
+     * only one of them, so chains are compared by where they start and stop and what they capture
+     */
+    private static long withoutPromotion(final long move) {
+        return BitMove.encode(BitMove.from(move), BitMove.to(move), BitMove.captures(move), false);
+    }
+}
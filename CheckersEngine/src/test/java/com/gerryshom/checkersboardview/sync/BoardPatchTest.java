@@ -0,0 +1,106 @@
+package com.gerryshom.checkersboardview.sync;
+
+import com.gerryshom.checkersboardview.board.model.BitBoard;
+import com.gerryshom.checkersboardview.board.model.CheckersBoard;
+import com.gerryshom.checkersboardview.movement.model.BitMove;
+import com.gerryshom.checkersboardview.movement.model.MoveList;
+import com.gerryshom.checkersboardview.player.Player;
+import com.gerryshom.checkersboardview.validation.MoveSequenceValidator;
+import com.gerryshom.checkersboardview.validation.ValidationResult;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.gerryshom.checkersboardview.TestBoards.COMPUTER;
+import static com.gerryshom.checkersboardview.TestBoards.HUMAN;
+import static com.gerryshom.checkersboardview.TestBoards.createBoard;
+import static com.gerryshom.checkersboardview.TestBoards.piece;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class BoardPatchTest {
+
+    @Test
+    public void between_pairsKingsWithKings() {
+        final CheckersBoard from = createBoard(
+                piece("king", COMPUTER, 0, 1, true),
+                piece("man", COMPUTER, 2, 1, false),
+                piece("human", HUMAN, 5, 0, false));
+        final CheckersBoard to = createBoard(
+                piece("king", COMPUTER, 3, 4, true),
+                piece("man", COMPUTER, 3, 0, false),
+                piece("human", HUMAN, 5, 0, false));
+
+        final BoardPatch boardPatch = BoardPatch.between(0, from.toBitBoard(HUMAN), 1, to.toBitBoard(HUMAN));
+        assertNotNull(boardPatch);
+        assertEquals(2, boardPatch.getMoves().length);
+        assertEquals(0, boardPatch.getCaptures());
+        assertEquals(0, boardPatch.getCrowned());
+
+        boardPatch.applyTo(from);
+        assertEquals("king", from.findPieceByRowAndCol(3, 4).getId());
+        assertEquals("man", from.findPieceByRowAndCol(3, 0).getId());
+    }
+
+    @Test
+    public void between_pairsAKingThatLandsWhereAManLeft() {
+        // the man on 6,1 is crowned on 7,2 while the other man is crowned and comes back to 6,1 as a king
+        final CheckersBoard from = createBoard(
+                piece("runner", COMPUTER, 6, 1, false),
+                piece("other", COMPUTER, 5, 2, false),
+                piece("human", HUMAN, 5, 0, false));
+        final CheckersBoard to = createBoard(
+                piece("runner", COMPUTER, 7, 2, true),
+                piece("other", COMPUTER, 6, 1, true),
+                piece("human", HUMAN, 5, 0, false));
+
+        final BoardPatch boardPatch = BoardPatch.between(0, from.toBitBoard(HUMAN), 1, to.toBitBoard(HUMAN));
+        assertNotNull(boardPatch);
+
+        boardPatch.applyTo(from);
+        assertTrue(to.toBitBoard(HUMAN).isSamePosition(from.toBitBoard(HUMAN)));
+    }
+
+    @Test
+    public void applyTo_catchesUpFromEveryKeptVersion() {
+        final Random random = new Random(25);
+        final MoveSequenceValidator validator = new MoveSequenceValidator().setForkJoinPool(null);
+
+        for(int game = 0; game < 20; game++) {
+            CheckersBoard checkersBoard = CheckersBoard.createCheckersBoard(HUMAN, Player.human(), Player.computer());
+            final PositionHistory positionHistory = new PositionHistory(16);
+            final List<CheckersBoard> versions = new ArrayList<>();
+
+            positionHistory.record(checkersBoard.toBitBoard(checkersBoard.getActivePlayerId()));
+            versions.add(checkersBoard.deepClone());
+
+            for(int ply = 0; ply < 80; ply++) {
+                final BitBoard position = checkersBoard.toBitBoard(checkersBoard.getActivePlayerId());
+                final MoveList moveList = new MoveList();
+                position.generateMoves(moveList);
+                if(moveList.isEmpty()) break;
+
+                final ValidationResult result = validator.validate(checkersBoard,
+                        BitMove.toMoveSequence(moveList.get(random.nextInt(moveList.size())), position, checkersBoard));
+                checkersBoard = result.getCheckersBoard();
+                final int version = positionHistory.record(result.getPosition());
+                versions.add(checkersBoard.deepClone());
+
+                for(int knownVersion = Math.max(0, version - 15); knownVersion < version; knownVersion++) {
+                    final BoardPatch boardPatch = positionHistory.diff(knownVersion);
+                    assertNotNull("version " + knownVersion + " to " + version, boardPatch);
+
+                    final CheckersBoard client = versions.get(knownVersion).deepClone();
+                    boardPatch.applyTo(client);
+                    assertEquals(checkersBoard.getActivePlayerId(), client.getActivePlayerId());
+                    assertEquals(checkersBoard.getPieces().size(), client.getPieces().size());
+                    assertTrue(result.getPosition().isSamePosition(client.toBitBoard(client.getActivePlayerId())));
+                }
+            }
+        }
+    }
+}
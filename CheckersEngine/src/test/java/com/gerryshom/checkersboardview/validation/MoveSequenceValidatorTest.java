@@ -0,0 +1,195 @@
+package com.gerryshom.checkersboardview.validation;
+
+import com.gerryshom.checkersboardview.board.model.BitBoard;
+import com.gerryshom.checkersboardview.board.model.CheckersBoard;
+import com.gerryshom.checkersboardview.movement.model.BitMove;
+import com.gerryshom.checkersboardview.movement.model.Move;
+import com.gerryshom.checkersboardview.movement.model.MoveList;
+import com.gerryshom.checkersboardview.movement.model.MoveSequence;
+import com.gerryshom.checkersboardview.player.Player;
+import com.gerryshom.checkersboardview.validation.enums.RejectionReason;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static com.gerryshom.checkersboardview.TestBoards.COMPUTER;
+import static com.gerryshom.checkersboardview.TestBoards.HUMAN;
+import static com.gerryshom.checkersboardview.TestBoards.createBoard;
+import static com.gerryshom.checkersboardview.TestBoards.piece;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class MoveSequenceValidatorTest {
+
+    private final MoveSequenceValidator validator = new MoveSequenceValidator().setForkJoinPool(null);
+
+    @Test
+    public void validate_acceptsEveryGeneratedMove() {
+        final Random random = new Random(23);
+
+        for(int game = 0; game < 20; game++) {
+            CheckersBoard checkersBoard = CheckersBoard.createCheckersBoard(HUMAN, Player.human(), Player.computer());
+
+            for(int ply = 0; ply < 60; ply++) {
+                final BitBoard position = checkersBoard.toBitBoard(checkersBoard.getActivePlayerId());
+                final MoveList moveList = new MoveList();
+                position.generateMoves(moveList);
+                if(moveList.isEmpty()) break;
+
+                ValidationResult played = null;
+                for(int i = 0; i < moveList.size(); i++) {
+                    final long move = moveList.get(i);
+                    final ValidationResult result = validator.validate(checkersBoard, BitMove.toMoveSequence(move, position, checkersBoard));
+                    assertTrue(result.toString(), result.isValid());
+
+                    final BitBoard expected = new BitBoard(position);
+                    expected.makeMove(move);
+                    assertTrue(expected.isSamePosition(result.getPosition()));
+                    assertTrue(expected.isSamePosition(result.getCheckersBoard().toBitBoard(result.getCheckersBoard().getActivePlayerId())));
+
+                    if(random.nextInt(moveList.size() - i) == 0 && played == null) played = result;
+                }
+
+                checkersBoard = played.getCheckersBoard();
+            }
+        }
+    }
+
+    @Test
+    public void validate_playsACaptureChain() {
+        final CheckersBoard checkersBoard = createCaptureBoard();
+
+        final ValidationResult result = validator.validate(checkersBoard, sequence(
+                move("capturer", 5, 2, 3, 4, "first"),
+                move("capturer", 3, 4, 1, 6, "second")
+        ));
+
+        assertTrue(result.toString(), result.isValid());
+        assertEquals(COMPUTER, result.getCheckersBoard().getActivePlayerId());
+        assertNull(result.getCheckersBoard().findPieceById("first"));
+        assertNull(result.getCheckersBoard().findPieceById("second"));
+        assertEquals(1, result.getCheckersBoard().findPieceById("capturer").getRow());
+        assertEquals(6, result.getCheckersBoard().findPieceById("capturer").getCol());
+
+        // the board that was validated is left as it was
+        assertEquals(5, checkersBoard.findPieceById("capturer").getRow());
+        assertEquals(5, checkersBoard.getPieces().size());
+    }
+
+    @Test
+    public void validate_rejectsWrongCapturedPiece() {
+        final ValidationResult result = validator.validate(createCaptureBoard(), sequence(
+                move("capturer", 5, 2, 3, 4, "side"),
+                move("capturer", 3, 4, 1, 6, "second")
+        ));
+
+        assertRejected(result, RejectionReason.WRONG_CAPTURED_PIECE, 0);
+    }
+
+    @Test
+    public void validate_rejectsDisconnectedHop() {
+        final ValidationResult result = validator.validate(createCaptureBoard(), sequence(
+                move("capturer", 5, 2, 3, 4, "first"),
+                move("capturer", 3, 0, 1, 6, "second")
+        ));
+
+        assertRejected(result, RejectionReason.DISCONNECTED_MOVE, 1);
+    }
+
+    @Test
+    public void validate_rejectsSkippedForcedCapture() {
+        final ValidationResult result = validator.validate(createCaptureBoard(), sequence(
+                move("runner", 6, 7, 5, 6, null)
+        ));
+
+        assertRejected(result, RejectionReason.CAPTURE_REQUIRED, 0);
+    }
+
+    @Test
+    public void validate_rejectsChainThatStopsEarly() {
+        final ValidationResult result = validator.validate(createCaptureBoard(), sequence(
+                move("capturer", 5, 2, 3, 4, "first")
+        ));
+
+        assertRejected(result, RejectionReason.ILLEGAL_MOVE, 0);
+    }
+
+    @Test
+    public void validate_rejectsShorterChainWhenTheLongestMustBeTaken() {
+        final CheckersBoard checkersBoard = createCaptureBoard();
+        final MoveSequence shorterChain = sequence(move("capturer", 5, 2, 3, 0, "side"));
+
+        assertTrue(validator.validate(checkersBoard, shorterChain).isValid());
+
+        checkersBoard.getCaptureRule().setMustTakeLongestJumpPath(true);
+        assertRejected(validator.validate(checkersBoard, shorterChain), RejectionReason.ILLEGAL_MOVE, 0);
+    }
+
+    @Test
+    public void validate_rejectsMoveOfTheWrongPlayer() {
+        final ValidationResult result = validator.validate(createCaptureBoard(), sequence(
+                move("first", 4, 3, 5, 4, null)
+        ));
+
+        assertRejected(result, RejectionReason.NOT_ACTIVE_PLAYER, 0);
+    }
+
+    @Test
+    public void validateAll_keepsTheOrderOfTheGames() {
+        final List<CheckersBoard> checkersBoards = new ArrayList<>();
+        final List<MoveSequence> moveSequences = new ArrayList<>();
+        for(int i = 0; i < 600; i++) {
+            checkersBoards.add(createCaptureBoard());
+            moveSequences.add(i % 2 == 0
+                    ? sequence(move("capturer", 5, 2, 3, 4, "first"), move("capturer", 3, 4, 1, 6, "second"))
+                    : sequence(move("runner", 6, 7, 5, 6, null)));
+        }
+
+        final List<ValidationResult> results = new MoveSequenceValidator().validateAll(checkersBoards, moveSequences);
+
+        assertEquals(600, results.size());
+        for(int i = 0; i < results.size(); i++) assertEquals(i % 2 == 0, results.get(i).isValid());
+    }
+
+    /**
+     * the creator's man on 5,2 can capture twice through 3,4 to 1,6 or once to 3,0.
+     * the man on 6,7 has a plain move that the capture rule forbids
+     */
+    private static CheckersBoard createCaptureBoard() {
+        return createBoard(
+                piece("capturer", HUMAN, 5, 2),
+                piece("runner", HUMAN, 6, 7),
+                piece("first", COMPUTER, 4, 3),
+                piece("second", COMPUTER, 2, 5),
+                piece("side", COMPUTER, 4, 1)
+        );
+    }
+
+    private static Move move(final String pieceId, final int fromRow, final int fromCol, final int toRow, final int toCol,
+                             final String capturedPieceId) {
+        final Move move = new Move();
+        move.setPieceId(pieceId);
+        move.setFromRow(fromRow);
+        move.setFromCol(fromCol);
+        move.setToRow(toRow);
+        move.setToCol(toCol);
+        move.setCapturedPieceId(capturedPieceId);
+        return move;
+    }
+
+    private static MoveSequence sequence(final Move... moves) {
+        return new MoveSequence(COMPUTER, new ArrayList<>(Arrays.asList(moves)));
+    }
+
+    private static void assertRejected(final ValidationResult result, final RejectionReason rejectionReason, final int moveIndex) {
+        assertFalse(result.isValid());
+        assertEquals(rejectionReason, result.getRejectionReason());
+        assertEquals(moveIndex, result.getMoveIndex());
+    }
+}
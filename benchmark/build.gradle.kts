@@ -0,0 +1,39 @@
+plugins {
+    alias(libs.plugins.android.library)
+    alias(libs.plugins.androidx.benchmark)
+}
+
+android {
+    namespace = "com.gerryshom.checkersboardview.benchmark"
+    compileSdk = 35
+
+    defaultConfig {
+        minSdk = 21
+        testInstrumentationRunner = "androidx.benchmark.junit4.AndroidBenchmarkRunner"
+    }
+
+    // measure the code the way it ships in the release aar
+    testBuildType = "release"
+    buildTypes {
+        release {
+            isMinifyEnabled = false
+            isDefault = true
+            signingConfig = signingConfigs.getByName("debug")
+        }
+    }
+
+    compileOptions {
+        sourceCompatibility = JavaVersion.VERSION_1_8
+        targetCompatibility = JavaVersion.VERSION_1_8
+    }
+
+}
+
+dependencies {
+
+    androidTestImplementation(project(":CheckersBoardView"))
+
+    androidTestImplementation(libs.benchmark.junit4)
+    androidTestImplementation(libs.ext.junit)
+    androidTestImplementation(libs.junit)
+}
@@ -0,0 +1,93 @@
+package com.gerryshom.checkersboardview.benchmark;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+
+import com.gerryshom.checkersboardview.ai.heuristic.DefaultEvaluator;
+import com.gerryshom.checkersboardview.board.model.BitBoard;
+import com.gerryshom.checkersboardview.movement.model.MoveList;
+import com.gerryshom.checkersboardview.player.Player;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * the BitBoard calls the make/unmake search makes at every node and the evaluation it makes at every leaf.
+ * the position keeps the sums of the default piece square table like a searched one does
+ */
+@RunWith(Parameterized.class)
+public class BitBoardBenchmark {
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    @Parameterized.Parameter
+    public String positionName;
+
+    private final DefaultEvaluator evaluator = DefaultEvaluator.getInstance();
+    private final MoveList moveList = new MoveList();
+
+    private BitBoard position;
+    private int maximizer;
+    private long[] moves;
+
+    // keeps the results alive so the work is not optimized away
+    private int sink;
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Collection<Object[]> positions() {
+        final List<Object[]> parameters = new ArrayList<>();
+        for(String name : Positions.NAMES) parameters.add(new Object[]{name});
+        return parameters;
+    }
+
+    @Before
+    public void setUp() {
+        position = Positions.create(positionName).toBitBoard(Player.computer().getId());
+        position.setPieceSquareTable(evaluator.getPieceSquareTable());
+        maximizer = position.sideOf(Player.computer().getId());
+
+        position.generateMoves(moveList);
+        moves = new long[moveList.size()];
+        for(int i = 0; i < moves.length; i++) moves[i] = moveList.get(i);
+    }
+
+    @Test
+    public void generateMoves() {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            position.generateMoves(moveList);
+            sink += moveList.size();
+        }
+    }
+
+    /**
+     * makes and takes back every move of the position
+     */
+    @Test
+    public void makeUnmakeMove() {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            for(long move : moves) {
+                final long undo = position.makeMove(move);
+                sink += position.occupied();
+                position.unmakeMove(move, undo);
+            }
+        }
+    }
+
+    @Test
+    public void evaluate() {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            sink += (int) evaluator.evaluate(position, maximizer);
+        }
+    }
+}
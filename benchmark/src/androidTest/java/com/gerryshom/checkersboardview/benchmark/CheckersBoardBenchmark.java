@@ -0,0 +1,87 @@
+package com.gerryshom.checkersboardview.benchmark;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+
+import com.gerryshom.checkersboardview.board.model.CheckersBoard;
+import com.gerryshom.checkersboardview.piece.model.Piece;
+import com.gerryshom.checkersboardview.player.Player;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * the CheckersBoard queries the snapshot search and the view call for every move.
+ * every benchmark reports the time and the allocations of one operation
+ */
+@RunWith(Parameterized.class)
+public class CheckersBoardBenchmark {
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    @Parameterized.Parameter
+    public String positionName;
+
+    private CheckersBoard checkersBoard;
+    private List<Piece> computerPieces;
+
+    // keeps the results alive so the work is not optimized away
+    private int sink;
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Collection<Object[]> positions() {
+        final List<Object[]> parameters = new ArrayList<>();
+        for(String name : Positions.NAMES) parameters.add(new Object[]{name});
+        return parameters;
+    }
+
+    @Before
+    public void setUp() {
+        checkersBoard = Positions.create(positionName);
+        computerPieces = new ArrayList<>(checkersBoard.findPiecesByPlayerId(Player.computer().getId()));
+    }
+
+    @Test
+    public void findLandingSpots() {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            for(Piece piece : computerPieces) {
+                sink += checkersBoard.findLandingSpots(piece, piece.getRow(), piece.getCol()).size();
+            }
+        }
+    }
+
+    @Test
+    public void findMoveablePiecesByPlayerId() {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            sink += checkersBoard.findMoveablePiecesByPlayerId(Player.computer().getId()).size();
+        }
+    }
+
+    @Test
+    public void pieceIsExposed() {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            for(Piece piece : computerPieces) {
+                if(checkersBoard.pieceIsExposed(piece)) sink++;
+            }
+        }
+    }
+
+    @Test
+    public void deepClone() {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            sink += checkersBoard.deepClone().getPieces().size();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.gerryshom.checkersboardview.benchmark;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+
+import com.gerryshom.checkersboardview.ai.enums.SearchMode;
+import com.gerryshom.checkersboardview.ai.model.GameTree;
+import com.gerryshom.checkersboardview.board.model.CheckersBoard;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * a whole computer turn, GameTree.build, for every position at several depths and both search modes.
+ * the snapshot search clones a board for every node so it only runs to the shallower depths
+ */
+@RunWith(Parameterized.class)
+public class GameTreeBenchmark {
+
+    private static final int[] MAKE_UNMAKE_DEPTHS = {2, 4, 6};
+    private static final int[] SNAPSHOT_DEPTHS = {2, 4};
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    @Parameterized.Parameter(0)
+    public String positionName;
+
+    @Parameterized.Parameter(1)
+    public SearchMode searchMode;
+
+    @Parameterized.Parameter(2)
+    public int depth;
+
+    private CheckersBoard checkersBoard;
+
+    @Parameterized.Parameters(name = "{0}_{1}_depth{2}")
+    public static Collection<Object[]> parameters() {
+        final List<Object[]> parameters = new ArrayList<>();
+        for(String name : Positions.NAMES) {
+            for(int depth : MAKE_UNMAKE_DEPTHS) parameters.add(new Object[]{name, SearchMode.MAKE_UNMAKE, depth});
+            for(int depth : SNAPSHOT_DEPTHS) parameters.add(new Object[]{name, SearchMode.SNAPSHOT, depth});
+        }
+        return parameters;
+    }
+
+    @Before
+    public void setUp() {
+        checkersBoard = Positions.create(positionName);
+    }
+
+    @Test
+    public void build() {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            new GameTree(checkersBoard, depth, searchMode).build();
+        }
+    }
+}
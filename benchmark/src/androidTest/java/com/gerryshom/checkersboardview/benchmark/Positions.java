@@ -0,0 +1,77 @@
+package com.gerryshom.checkersboardview.benchmark;
+
+import com.gerryshom.checkersboardview.board.model.CheckersBoard;
+import com.gerryshom.checkersboardview.piece.model.Piece;
+import com.gerryshom.checkersboardview.player.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * the positions every benchmark runs on, one from each phase of a game.
+ * the computer is to move in all of them, h and H are the human's men and kings, c and C the computer's
+ */
+final class Positions {
+
+    static final String OPENING = "opening";
+    static final String MIDDLEGAME = "middlegame";
+    static final String ENDGAME = "endgame";
+
+    static final String[] NAMES = {OPENING, MIDDLEGAME, ENDGAME};
+
+    private static final String[] MIDDLEGAME_ROWS = {
+            ".c.c.c.c",
+            "c...c...",
+            ".c...c..",
+            "..c.....",
+            ".h.h....",
+            "h...h.h.",
+            ".h...h.h",
+            "h.h....."
+    };
+
+    private static final String[] ENDGAME_ROWS = {
+            "........",
+            "..C.....",
+            "........",
+            "....c...",
+            ".H......",
+            "......h.",
+            "...H....",
+            "........"
+    };
+
+    private Positions() {
+    }
+
+    static CheckersBoard create(final String name) {
+        final CheckersBoard checkersBoard = CheckersBoard.createCheckersBoard(
+                Player.computer().getId(), Player.human(), Player.computer()
+        );
+
+        if(MIDDLEGAME.equals(name)) checkersBoard.setPieces(parse(MIDDLEGAME_ROWS));
+        else if(ENDGAME.equals(name)) checkersBoard.setPieces(parse(ENDGAME_ROWS));
+        else if(!OPENING.equals(name)) throw new RuntimeException("unknown position " + name);
+
+        return checkersBoard;
+    }
+
+    private static List<Piece> parse(final String[] rows) {
+        final List<Piece> pieces = new ArrayList<>();
+        for(int row = 0; row < rows.length; row++) {
+            for(int col = 0; col < rows[row].length(); col++) {
+                final char symbol = rows[row].charAt(col);
+                if(symbol == '.') continue;
+
+                final Piece piece = new Piece();
+                piece.setId(row + ":" + col);
+                piece.setRow(row);
+                piece.setCol(col);
+                piece.setKing(Character.isUpperCase(symbol));
+                piece.setPlayerId(Character.toLowerCase(symbol) == 'c' ? Player.computer().getId() : Player.human().getId());
+                pieces.add(piece);
+            }
+        }
+        return pieces;
+    }
+}
@@ -22,3 +22,5 @@ dependencyResolutionManagement {
 rootProject.name = "CheckersSampleApp"
 include(":app")
 include(":CheckersBoardView")
+include(":CheckersEngine")
+include(":benchmark")